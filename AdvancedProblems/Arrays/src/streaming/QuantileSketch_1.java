@@ -0,0 +1,393 @@
+package streaming;
+
+import java.util.Arrays;
+
+/**
+ * A mergeable streaming quantile sketch for ints (KLL: Karnin, Lang and
+ * Liberty, "Optimal Quantile Approximation in Streams").
+ *
+ * The sketch keeps a hierarchy of compactors. Level h holds items that each
+ * stand for 2^h stream elements. When a level is full it is sorted and every
+ * other item, starting at a random offset of 0 or 1, is promoted to the next
+ * level; the rest are discarded. The total weight is preserved and the random
+ * offset makes the rank error of every compaction zero on average. Capacities
+ * shrink by a factor of 2/3 going down from the top level, so the lower
+ * levels, which see the most traffic, stay small.
+ *
+ * With the default k = 200 the normalized rank error is about 1.65 / k, i.e.
+ * a reported p99 is, with high probability, a value whose true rank is
+ * within about 1% of 99%.
+ *
+ * Approaches:
+ * 1. Exact - Store everything, sort once, read quantiles by index:
+ *    O(n) memory, O(n log n) time.
+ * 2. Sketch - This class: O(k log(n / k)) memory, O(1) amortized update,
+ *    approximate answers.
+ *
+ * Threading: a sketch is not thread-safe. Give every thread its own sketch
+ * and combine them with {@link #merge}, which only reads the other sketch.
+ *
+ * Time Complexity:
+ * - update: O(1) amortized (O(log k) amortized with the sorting of compactions).
+ * - quantile / rank: O(m log m) for the m retained items.
+ *
+ * Space Complexity: O(k + log(n / k)) retained items.
+ */
+public class QuantileSketch_1 {
+
+    public static final int DEFAULT_K = 200;
+
+    /**
+     * The smallest capacity of any level.
+     */
+    static final int MIN_CAPACITY = 8;
+
+    /**
+     * Capacity ratio between a level and the one above it.
+     */
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final int k;
+
+    /**
+     * levels[h][0...sizes[h]-1] are the items of level h; each weighs 2^h.
+     */
+    private int[][] levels;
+    private int[] sizes;
+    private int levelCount;
+
+    /**
+     * Items stored over all levels, and the sum of the level capacities.
+     * A compaction happens when retained reaches totalCapacity.
+     */
+    private int retained;
+    private int totalCapacity;
+
+    private long count;
+    private int minimum = Integer.MAX_VALUE;
+    private int maximum = Integer.MIN_VALUE;
+
+    /**
+     * State of the xorshift generator that picks compaction offsets.
+     */
+    private long randomState;
+
+    /**
+     * Creates a sketch with the default accuracy parameter.
+     */
+    public QuantileSketch_1() {
+        this(DEFAULT_K, System.nanoTime());
+    }
+
+    /**
+     * Creates a sketch.
+     *
+     * @param k    The accuracy parameter (at least MIN_CAPACITY): the error is about 1.65 / k.
+     * @param seed Seed of the coin flips, for reproducible results.
+     */
+    public QuantileSketch_1(int k, long seed) {
+        if (k < MIN_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_CAPACITY + ", got " + k);
+        }
+        this.k = k;
+        this.levels = new int[][] { new int[k] };
+        this.sizes = new int[1];
+        this.levelCount = 1;
+        this.totalCapacity = k;
+        this.randomState = seed == 0 ? 0x9E3779B97F4A7C15L : seed;
+    }
+
+    /**
+     * Adds one value to the sketch.
+     *
+     * @param value The value.
+     */
+    public void update(int value) {
+        count++;
+        minimum = Math.min(minimum, value);
+        maximum = Math.max(maximum, value);
+        if (retained >= totalCapacity) {
+            compress();
+        }
+        ensureLevelCapacity(0, sizes[0] + 1);
+        levels[0][sizes[0]++] = value;
+        retained++;
+    }
+
+    /**
+     * Adds nums[from...to-1] to the sketch. Equivalent to calling
+     * {@link #update(int)} for every element, but copies whole blocks into
+     * level 0.
+     *
+     * @param nums The values.
+     * @param from The first index (inclusive).
+     * @param to   The end index (exclusive).
+     */
+    public void update(int[] nums, int from, int to) {
+        while (from < to) {
+            if (retained >= totalCapacity) {
+                compress();
+            }
+            int block = Math.min(to - from, totalCapacity - retained);
+            ensureLevelCapacity(0, sizes[0] + block);
+            System.arraycopy(nums, from, levels[0], sizes[0], block);
+            for (int i = from; i < from + block; i++) {
+                minimum = Math.min(minimum, nums[i]);
+                maximum = Math.max(maximum, nums[i]);
+            }
+            sizes[0] += block;
+            retained += block;
+            count += block;
+            from += block;
+        }
+    }
+
+    /**
+     * Adds every element of the array to the sketch.
+     *
+     * @param nums The values.
+     */
+    public void update(int[] nums) {
+        update(nums, 0, nums.length);
+    }
+
+    /**
+     * Folds another sketch into this one. The other sketch is not modified;
+     * it must not be updated concurrently.
+     *
+     * @param other The sketch to merge.
+     * @return This sketch.
+     */
+    public QuantileSketch_1 merge(QuantileSketch_1 other) {
+        if (other.count == 0) {
+            return this;
+        }
+        while (levelCount < other.levelCount) {
+            addLevel();
+        }
+        for (int h = 0; h < other.levelCount; h++) {
+            ensureLevelCapacity(h, sizes[h] + other.sizes[h]);
+            System.arraycopy(other.levels[h], 0, levels[h], sizes[h], other.sizes[h]);
+            sizes[h] += other.sizes[h];
+        }
+        retained += other.retained;
+        count += other.count;
+        minimum = Math.min(minimum, other.minimum);
+        maximum = Math.max(maximum, other.maximum);
+
+        while (retained >= totalCapacity) {
+            compress();
+        }
+        return this;
+    }
+
+    /**
+     * @return The number of values added, including merged sketches.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The number of items the sketch currently stores.
+     */
+    public int getRetained() {
+        return retained;
+    }
+
+    /**
+     * Returns the approximate quantile: a value whose rank is close to
+     * ceil(p * n). quantile(0) and quantile(1) are the exact minimum and
+     * maximum.
+     *
+     * @param p The quantile, between 0 and 1.
+     * @return The estimated value.
+     */
+    public int quantile(double p) {
+        return quantiles(p)[0];
+    }
+
+    /**
+     * Computes several quantiles at once, sorting the retained items only
+     * once.
+     *
+     * @param probabilities The quantiles, each between 0 and 1.
+     * @return The estimated values, in the order of probabilities.
+     */
+    public int[] quantiles(double... probabilities) {
+        if (count == 0) {
+            throw new IllegalStateException("The sketch is empty");
+        }
+        long[] sorted = sortedWeightedItems();
+
+        int[] result = new int[probabilities.length];
+        for (int q = 0; q < probabilities.length; q++) {
+            double p = probabilities[q];
+            if (!(p >= 0 && p <= 1)) {
+                throw new IllegalArgumentException("Quantile must be between 0 and 1, got " + p);
+            }
+            if (p == 0) {
+                result[q] = minimum;
+                continue;
+            }
+            if (p == 1) {
+                result[q] = maximum;
+                continue;
+            }
+            long target = (long) Math.ceil(p * count);
+            long cumulative = 0;
+            int value = maximum;
+            for (long item : sorted) {
+                cumulative += 1L << (item & 0x3F);
+                if (cumulative >= target) {
+                    value = (int) (item >> 32);
+                    break;
+                }
+            }
+            result[q] = value;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the approximate fraction of values that are <= value.
+     *
+     * @param value The value.
+     * @return The estimated normalized rank, between 0 and 1.
+     */
+    public double rank(int value) {
+        if (count == 0) {
+            throw new IllegalStateException("The sketch is empty");
+        }
+        long weight = 0;
+        for (int h = 0; h < levelCount; h++) {
+            int[] level = levels[h];
+            for (int i = 0; i < sizes[h]; i++) {
+                if (level[i] <= value) {
+                    weight += 1L << h;
+                }
+            }
+        }
+        return (double) weight / count;
+    }
+
+    /**
+     * Returns every retained item packed as (value << 32) | level, sorted by
+     * value. Packing keeps the pairs in a single primitive array.
+     */
+    private long[] sortedWeightedItems() {
+        long[] items = new long[retained];
+        int index = 0;
+        for (int h = 0; h < levelCount; h++) {
+            int[] level = levels[h];
+            for (int i = 0; i < sizes[h]; i++) {
+                items[index++] = ((long) level[i] << 32) | h;
+            }
+        }
+        Arrays.sort(items);
+        return items;
+    }
+
+    /**
+     * Returns the capacity of level h given the current number of levels:
+     * k at the top, shrinking by 2/3 per level below, never below
+     * MIN_CAPACITY.
+     */
+    private int capacity(int h) {
+        int depth = levelCount - 1 - h;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    /**
+     * Compacts the lowest level that has reached its capacity into the one
+     * above it, adding a level when the top one is compacted. Since the sketch
+     * as a whole is full, at least one level is.
+     */
+    private void compress() {
+        for (int h = 0; h < levelCount; h++) {
+            if (sizes[h] >= capacity(h)) {
+                if (h + 1 == levelCount) {
+                    addLevel();
+                }
+                compact(h);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sorts level h and promotes every other item to level h + 1. With an odd
+     * number of items the smallest one stays behind, so the promoted items
+     * always come in pairs and the total weight is unchanged.
+     */
+    private void compact(int h) {
+        int[] level = levels[h];
+        int size = sizes[h];
+        Arrays.sort(level, 0, size);
+
+        int start = size & 1;
+        int offset = nextBit();
+        int promoted = (size - start) / 2;
+        ensureLevelCapacity(h + 1, sizes[h + 1] + promoted);
+        int[] upper = levels[h + 1];
+        int upperSize = sizes[h + 1];
+        for (int i = start + offset; i < size; i += 2) {
+            upper[upperSize++] = level[i];
+        }
+        sizes[h + 1] = upperSize;
+        sizes[h] = start;
+        retained -= promoted;
+    }
+
+    private void ensureLevelCapacity(int h, int capacity) {
+        if (levels[h].length < capacity) {
+            levels[h] = Arrays.copyOf(levels[h], Math.max(capacity, levels[h].length * 2));
+        }
+    }
+
+    private void addLevel() {
+        if (levelCount == levels.length) {
+            levels = Arrays.copyOf(levels, levelCount * 2);
+            sizes = Arrays.copyOf(sizes, levelCount * 2);
+        }
+        levels[levelCount] = new int[MIN_CAPACITY];
+        sizes[levelCount] = 0;
+        levelCount++;
+        totalCapacity = 0;
+        for (int h = 0; h < levelCount; h++) {
+            totalCapacity += capacity(h);
+        }
+    }
+
+    /**
+     * Returns a pseudo-random bit from an xorshift64 generator.
+     */
+    private int nextBit() {
+        long x = randomState;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        randomState = x;
+        return (int) (x >>> 63);
+    }
+
+    public static void main(String[] args) {
+        QuantileSketch_1 first = new QuantileSketch_1(DEFAULT_K, 1);
+        QuantileSketch_1 second = new QuantileSketch_1(DEFAULT_K, 2);
+        for (int i = 1; i <= 500_000; i++) {
+            first.update(i);
+        }
+        int[] batch = new int[500_000];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = 500_001 + i;
+        }
+        second.update(batch);
+
+        first.merge(second);
+        int[] percentiles = first.quantiles(0.5, 0.9, 0.99);
+        System.out.println("Values: " + first.getCount() + ", retained: " + first.getRetained());
+        System.out.println("p50 = " + percentiles[0] + " (exact 500000)");
+        System.out.println("p90 = " + percentiles[1] + " (exact 900000)");
+        System.out.println("p99 = " + percentiles[2] + " (exact 990000)");
+    }
+}
@@ -0,0 +1,146 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import jmh.VariantBenchmark;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the variants of {@link BenchmarkSuites} under JMH, the entry point of
+ * the jar built by Benchmarks/pom.xml.
+ *
+ * Variants are selected with the same -sizes, -dist and -filter options as
+ * BenchmarkRunner, and every variant keeps its size limit. Each combination
+ * is measured by jmh.VariantBenchmark in its own forks, with the GC profiler
+ * for allocation. After JMH's own output a summary is printed:
+ * - ns/op and its 99.9% confidence interval across all forks and iterations.
+ * - B/op: gc.alloc.rate.norm from the GC profiler.
+ * - scaling: the empirical exponent against the previous size, as in BenchmarkRunner.
+ *
+ * Command line options (all optional), besides -sizes, -dist and -filter:
+ * -forks 3         Forks per combination.
+ * -iterations 5    Warmup and measurement iterations per fork.
+ * -time 1000       Length of one iteration in milliseconds.
+ *
+ * Example:
+ * java -Xmx8g -Xss64m -jar target/benchmarks.jar -sizes 1K,1M -dist RANDOM -filter MergeSort_4
+ */
+public class JmhBenchmarks {
+
+    public static void main(String[] args) throws RunnerException {
+        int forks = 3;
+        int iterations = 5;
+        long iterationMillis = 1_000;
+        List<String> runnerArgs = new ArrayList<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "-forks":
+                    forks = Integer.parseInt(value);
+                    break;
+                case "-iterations":
+                    iterations = Integer.parseInt(value);
+                    break;
+                case "-time":
+                    iterationMillis = Long.parseLong(value);
+                    break;
+                case "-sizes":
+                case "-dist":
+                case "-filter":
+                    runnerArgs.add(args[i]);
+                    runnerArgs.add(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        BenchmarkRunner runner = new BenchmarkRunner(runnerArgs.toArray(new String[0]));
+        BenchmarkSuites.register(runner);
+
+        List<RunResult> results = new ArrayList<>();
+        for (BenchmarkRunner.Variant variant : runner.selectedVariants()) {
+            Options options = new OptionsBuilder()
+                    .include(Pattern.quote(VariantBenchmark.class.getName()) + "\\.run$")
+                    .param("variant", variant.name)
+                    .param("size", toStrings(runner.sizesFor(variant)))
+                    .param("distribution", distributionNames(runner.distributionsFor(variant)))
+                    .forks(forks)
+                    .warmupIterations(iterations)
+                    .warmupTime(TimeValue.milliseconds(iterationMillis))
+                    .measurementIterations(iterations)
+                    .measurementTime(TimeValue.milliseconds(iterationMillis))
+                    .addProfiler(GCProfiler.class)
+                    .build();
+            results.addAll(new Runner(options).run());
+        }
+        printSummary(results);
+    }
+
+    private static String[] toStrings(int[] sizes) {
+        String[] result = new String[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            result[i] = String.valueOf(sizes[i]);
+        }
+        return result;
+    }
+
+    private static String[] distributionNames(InputGenerator.Distribution[] distributions) {
+        String[] result = new String[distributions.length];
+        for (int i = 0; i < distributions.length; i++) {
+            result[i] = distributions[i] == null ? "-" : distributions[i].name();
+        }
+        return result;
+    }
+
+    /**
+     * Prints one row per combination, grouped by variant and distribution in
+     * order of size. Combinations that failed in JMH (for example out of
+     * memory) have no result and no row.
+     */
+    private static void printSummary(Collection<RunResult> results) {
+        List<RunResult> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparing((RunResult r) -> r.getParams().getParam("variant"))
+                .thenComparing(r -> r.getParams().getParam("distribution"))
+                .thenComparingInt(r -> Integer.parseInt(r.getParams().getParam("size"))));
+
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-56s %-12s %11s %14s %14s %14s %8s",
+                "benchmark", "dist", "size", "ns/op", "error (99.9%)", "B/op", "scaling"));
+        Map<String, double[]> previousResult = new HashMap<>();
+        for (RunResult result : sorted) {
+            String name = result.getParams().getParam("variant");
+            String dist = result.getParams().getParam("distribution");
+            int size = Integer.parseInt(result.getParams().getParam("size"));
+            double nanosPerOp = result.getPrimaryResult().getScore();
+            Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            String bytesPerOp = allocation == null
+                    ? "-"
+                    : String.format(Locale.ROOT, "%.1f", allocation.getScore());
+
+            String key = name + "|" + dist;
+            double[] previous = previousResult.get(key);
+            String scaling = "";
+            if (previous != null && previous[0] != size) {
+                double exponent = Math.log(nanosPerOp / previous[1]) / Math.log(size / previous[0]);
+                scaling = String.format(Locale.ROOT, "n^%.2f", exponent);
+            }
+            previousResult.put(key, new double[] { size, nanosPerOp });
+
+            System.out.println(String.format(Locale.ROOT, "%-56s %-12s %11d %14.1f %14.1f %14s %8s",
+                    name, dist, size, nanosPerOp, result.getPrimaryResult().getScoreError(), bytesPerOp, scaling));
+        }
+    }
+}
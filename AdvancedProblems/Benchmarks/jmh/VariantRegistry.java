@@ -0,0 +1,56 @@
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Looks up the variants registered in {@link BenchmarkSuites} by name, for
+ * jmh.VariantBenchmark.
+ *
+ * JMH rejects benchmark classes in the default package, and a class in a
+ * named package cannot refer to the default package, where the suites and the
+ * code under test live. VariantBenchmark therefore calls these methods
+ * reflectively, once per trial, and gets back plain JDK types.
+ */
+public class VariantRegistry {
+
+    private static final BenchmarkRunner RUNNER = createRunner();
+
+    private static BenchmarkRunner createRunner() {
+        BenchmarkRunner runner = new BenchmarkRunner(new String[0]);
+        BenchmarkSuites.register(runner);
+        return runner;
+    }
+
+    /**
+     * Creates the input template of a variant.
+     *
+     * @param name         The variant name.
+     * @param size         The input size.
+     * @param distribution A distribution name, or "-" for a fixed-shape variant.
+     * @return The template; the benchmark copies it before every invocation.
+     */
+    public static int[] createInput(String name, int size, String distribution) {
+        InputGenerator.Distribution parsed = distribution.equals("-")
+                ? null
+                : InputGenerator.Distribution.valueOf(distribution.toUpperCase(Locale.ROOT));
+        return RUNNER.find(name).inputs.create(size, parsed);
+    }
+
+    /**
+     * @param name The variant name.
+     * @return The untimed step that runs on the copied input before every invocation.
+     */
+    public static Consumer<int[]> preparer(String name) {
+        BenchmarkRunner.Preparer preparer = RUNNER.find(name).preparer;
+        return preparer::prepare;
+    }
+
+    /**
+     * @param name The variant name.
+     * @return The code to measure; its result is returned to JMH.
+     */
+    public static ToLongFunction<int[]> workload(String name) {
+        BenchmarkRunner.Workload workload = RUNNER.find(name).workload;
+        return workload::run;
+    }
+}
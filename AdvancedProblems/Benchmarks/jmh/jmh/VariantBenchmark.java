@@ -0,0 +1,72 @@
+package jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Runs one registered variant under JMH; the variant, size and distribution
+ * are parameters, which JmhBenchmarks sets for every selected variant.
+ *
+ * Like BenchmarkRunner, the input template is copied (and prepared) before
+ * every invocation outside the timed region, so workloads may mutate their
+ * input. JMH warns that per-invocation setup skews timings of invocations
+ * shorter than about a microsecond; the smallest sizes of the linear variants
+ * are affected, everything else is well above that.
+ *
+ * The workload result is returned, so JMH consumes it in a blackhole.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VariantBenchmark {
+
+    @Param("MergeSort_4.mergeSortOptimal")
+    public String variant;
+
+    @Param("100000")
+    public int size;
+
+    /**
+     * A distribution name, or "-" for a fixed-shape variant.
+     */
+    @Param("RANDOM")
+    public String distribution;
+
+    private int[] template;
+    private int[] work;
+    private Consumer<int[]> preparer;
+    private ToLongFunction<int[]> workload;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void lookUpVariant() throws ReflectiveOperationException {
+        Class<?> registry = Class.forName("VariantRegistry");
+        template = (int[]) registry.getMethod("createInput", String.class, int.class, String.class)
+                .invoke(null, variant, size, distribution);
+        preparer = (Consumer<int[]>) registry.getMethod("preparer", String.class).invoke(null, variant);
+        workload = (ToLongFunction<int[]>) registry.getMethod("workload", String.class).invoke(null, variant);
+        work = new int[template.length];
+    }
+
+    @Setup(Level.Invocation)
+    public void copyInput() {
+        System.arraycopy(template, 0, work, 0, template.length);
+        preparer.accept(work);
+    }
+
+    @Benchmark
+    public long run() {
+        return workload.applyAsLong(work);
+    }
+}
@@ -0,0 +1,409 @@
+import java.util.Arrays;
+
+import fundamentals.LargestElement_2;
+import fundamentals.LeftRotateArrayByK_6;
+import fundamentals.LeftRotateArrayByOne_5;
+import fundamentals.LinearSearch_1;
+import fundamentals.MaximumConsecutiveOnes_4;
+import fundamentals.SecondLargestElement_3;
+import hardfaqs.CountInversions_4;
+import hardfaqs.MajorityElement_1;
+import hardfaqs.MarjorityElement_2;
+import hardfaqs.MaximumProductSubarray_6;
+import hardfaqs.MergeSortedArray_7;
+import hardfaqs.RepeatingMissingNumber_3;
+import hardfaqs.ReversePairs_5;
+import logicBuilding.IntersectionOfSortedArray_5;
+import logicBuilding.MissingNumber_3;
+import logicBuilding.MoveZeroes_1;
+import logicBuilding.RemoveDuplicatedSortedArray_2;
+import logicBuilding.UnionOfSortedArray_4;
+import mediumfaqs.FourSum_10;
+import mediumfaqs.LeaderInArray_1;
+import mediumfaqs.MaxSubArray_11;
+import mediumfaqs.PascalTriangle1_4;
+import mediumfaqs.PascalTriangle2_5;
+import mediumfaqs.PascalTriangle3_6;
+import mediumfaqs.RearrangeElementsBySign_2;
+import mediumfaqs.RotateMatrix_7;
+import mediumfaqs.SortArray012_11;
+import mediumfaqs.SpiralMatrix_3;
+import mediumfaqs.ThreeSum_9;
+import mediumfaqs.TwoSum_8;
+
+/**
+ * Benchmarks the Brute/Better/Optimal approaches in the Arrays module.
+ *
+ * Problems with input constraints (permutations, binary arrays, guaranteed
+ * majority elements, two sorted inputs, matrices) use their own fixed-shape
+ * inputs; the remaining ones run over every distribution. The printing-only
+ * methods pascalTriangle2Brute_1 and pascalTriangle2Optimal_1 are not measured,
+ * since their cost is dominated by System.out.
+ *
+ * Example:
+ * java -Xmx8g ArraysBenchmark -sizes 1K,100K,10M -filter MaxSubArray
+ */
+public class ArraysBenchmark {
+
+    static final int CUBIC_LIMIT = 1_000;
+    static final int QUADRATIC_LIMIT = 100_000;
+    static final int BOXED_LIMIT = 10_000_000;
+    static final int LINEAR_LIMIT = 100_000_000;
+
+    /**
+     * Holds the arrays of a two-input problem. They are rebuilt from the copied
+     * template by a preparer, outside the timed region.
+     */
+    private static class TwoArrays {
+        int[] first = new int[0];
+        int[] second = new int[0];
+
+        void split(int[] input, int firstLength, int secondOffset) {
+            if (first.length != firstLength) {
+                first = new int[firstLength];
+                second = new int[input.length - secondOffset];
+            }
+            System.arraycopy(input, 0, first, 0, firstLength);
+            System.arraycopy(input, secondOffset, second, 0, second.length);
+        }
+    }
+
+    public static void main(String[] args) {
+        BenchmarkRunner runner = new BenchmarkRunner(args);
+        register(runner);
+        runner.run();
+    }
+
+    /**
+     * Registers the variants of every Arrays package with the runner.
+     *
+     * @param runner The runner to register with.
+     */
+    static void register(BenchmarkRunner runner) {
+        registerFundamentals(runner);
+        registerLogicBuilding(runner);
+        registerMediumFaqs(runner);
+        registerHardFaqs(runner);
+    }
+
+    static BenchmarkRunner.InputFactory range(int origin, int bound) {
+        return (size, distribution) -> InputGenerator.generate(distribution, size, origin, bound,
+                InputGenerator.DEFAULT_SEED);
+    }
+
+    static BenchmarkRunner.InputFactory sortedRange(int origin, int bound) {
+        return (size, distribution) -> {
+            int[] nums = InputGenerator.generate(distribution, size, origin, bound, InputGenerator.DEFAULT_SEED);
+            Arrays.sort(nums);
+            return nums;
+        };
+    }
+
+    static void registerFundamentals(BenchmarkRunner runner) {
+        LinearSearch_1 linearSearch = new LinearSearch_1();
+        runner.add("LinearSearch_1.linearSearch (miss)", LINEAR_LIMIT,
+                nums -> linearSearch.linearSearch(nums, Integer.MAX_VALUE));
+
+        LargestElement_2 largest = new LargestElement_2();
+        runner.add("LargestElement_2.largestElementBrute", BOXED_LIMIT, largest::largestElementBrute);
+        runner.add("LargestElement_2.largestElementOptimal", LINEAR_LIMIT, largest::largestElementOptimal);
+
+        SecondLargestElement_3 secondLargest = new SecondLargestElement_3();
+        runner.add("SecondLargestElement_3.secondLargestElementBrute", BOXED_LIMIT,
+                secondLargest::secondLargestElementBrute);
+        runner.add("SecondLargestElement_3.secondLargestElementBetter", LINEAR_LIMIT,
+                secondLargest::secondLargestElementBetter);
+        runner.add("SecondLargestElement_3.secondLargestElementOptimal", LINEAR_LIMIT,
+                secondLargest::secondLargestElementOptimal);
+
+        MaximumConsecutiveOnes_4 consecutiveOnes = new MaximumConsecutiveOnes_4();
+        runner.add("MaximumConsecutiveOnes_4.maximumConsecutiveOnes", LINEAR_LIMIT, range(0, 2),
+                consecutiveOnes::maximumConsecutiveOnes);
+
+        LeftRotateArrayByOne_5 rotateByOne = new LeftRotateArrayByOne_5();
+        runner.add("LeftRotateArrayByOne_5.rotateArrayByOne", LINEAR_LIMIT, nums -> {
+            rotateByOne.rotateArrayByOne(nums);
+            return nums[0];
+        });
+
+        LeftRotateArrayByK_6 rotateByK = new LeftRotateArrayByK_6();
+        runner.add("LeftRotateArrayByK_6.rotateArrayBrute_1", BOXED_LIMIT,
+                nums -> rotateByK.rotateArrayBrute_1(nums, nums.length / 3)[0]);
+        runner.add("LeftRotateArrayByK_6.rotateArrayBrute_2", LINEAR_LIMIT, nums -> {
+            rotateByK.rotateArrayBrute_2(nums, nums.length / 3);
+            return nums[0];
+        });
+        runner.add("LeftRotateArrayByK_6.rotateArrayOptimal", LINEAR_LIMIT, nums -> {
+            rotateByK.rotateArrayOptimal(nums, nums.length / 3);
+            return nums[0];
+        });
+    }
+
+    static void registerLogicBuilding(BenchmarkRunner runner) {
+        MoveZeroes_1 moveZeroes = new MoveZeroes_1();
+        runner.add("MoveZeroes_1.moveZeroesBrute", BOXED_LIMIT, range(0, 4), nums -> {
+            moveZeroes.moveZeroesBrute(nums);
+            return nums[0];
+        });
+        runner.add("MoveZeroes_1.moveZeroesOptimal_1", LINEAR_LIMIT, range(0, 4), nums -> {
+            moveZeroes.moveZeroesOptimal_1(nums);
+            return nums[0];
+        });
+        runner.add("MoveZeroes_1.moveZeroesOptimal_2", LINEAR_LIMIT, range(0, 4), nums -> {
+            moveZeroes.moveZeroesOptimal_2(nums);
+            return nums[0];
+        });
+
+        runner.add("RemoveDuplicatedSortedArray_2.removeDuplicatesBrute", BOXED_LIMIT, sortedRange(0, 1_000),
+                nums -> new RemoveDuplicatedSortedArray_2().removeDuplicatesBrute(nums));
+        runner.add("RemoveDuplicatedSortedArray_2.removeDuplicatesOptimal", LINEAR_LIMIT, sortedRange(0, 1_000),
+                nums -> new RemoveDuplicatedSortedArray_2().removeDuplicatesOptimal(nums));
+
+        // 0..n with the last value of a shuffled permutation removed.
+        BenchmarkRunner.InputFactory missing = (size, distribution) -> Arrays
+                .copyOf(InputGenerator.permutation(size + 1, InputGenerator.DEFAULT_SEED), size);
+        MissingNumber_3 missingNumber = new MissingNumber_3();
+        runner.addFixed("MissingNumber_3.missingNumberBrute", QUADRATIC_LIMIT / 10, missing,
+                missingNumber::missingNumberBrute);
+        runner.addFixed("MissingNumber_3.missingNumberBetter", LINEAR_LIMIT, missing,
+                missingNumber::missingNumberBetter);
+        runner.addFixed("MissingNumber_3.missingNumberOptimal_1", LINEAR_LIMIT, missing,
+                missingNumber::missingNumberOptimal_1);
+        runner.addFixed("MissingNumber_3.missingNumberOptimal_2", LINEAR_LIMIT, missing,
+                missingNumber::missingNumberOptimal_2);
+
+        // Two sorted halves laid out back to back in one template.
+        BenchmarkRunner.InputFactory sortedHalves = (size, distribution) -> {
+            int[] nums = InputGenerator.generate(InputGenerator.Distribution.RANDOM, size, 0, size,
+                    InputGenerator.DEFAULT_SEED);
+            Arrays.sort(nums, 0, size / 2);
+            Arrays.sort(nums, size / 2, size);
+            return nums;
+        };
+        TwoArrays halves = new TwoArrays();
+        BenchmarkRunner.Preparer splitHalves = input -> halves.split(input, input.length / 2, input.length / 2);
+        runner.addFixed("UnionOfSortedArray_4.unionArrayBrute", BOXED_LIMIT, sortedHalves, splitHalves,
+                nums -> new UnionOfSortedArray_4().unionArrayBrute(halves.first, halves.second).length);
+        runner.addFixed("UnionOfSortedArray_4.unionArrayOptimal", BOXED_LIMIT, sortedHalves, splitHalves,
+                nums -> new UnionOfSortedArray_4().unionArrayOptimal(halves.first, halves.second).length);
+        runner.addFixed("IntersectionOfSortedArray_5.intersectionArrayBrute", QUADRATIC_LIMIT / 10, sortedHalves,
+                splitHalves,
+                nums -> new IntersectionOfSortedArray_5().intersectionArrayBrute(halves.first, halves.second).length);
+        runner.addFixed("IntersectionOfSortedArray_5.intersectionArrayOptimal", BOXED_LIMIT, sortedHalves,
+                splitHalves,
+                nums -> new IntersectionOfSortedArray_5().intersectionArrayOptimal(halves.first, halves.second).length);
+    }
+
+    static void registerMediumFaqs(BenchmarkRunner runner) {
+        LeaderInArray_1 leaders = new LeaderInArray_1();
+        runner.add("LeaderInArray_1.leadersBrute", QUADRATIC_LIMIT, nums -> leaders.leadersBrute(nums).size());
+        runner.add("LeaderInArray_1.leadersOptimal", BOXED_LIMIT, nums -> leaders.leadersOptimal(nums).size());
+
+        // Equal numbers of positives and negatives, as the problem requires.
+        BenchmarkRunner.InputFactory signs = (size, distribution) -> {
+            int[] nums = InputGenerator.generate(InputGenerator.Distribution.RANDOM, size - size % 2, 1, 1_000,
+                    InputGenerator.DEFAULT_SEED);
+            for (int i = 1; i < nums.length; i += 2) {
+                nums[i] = -nums[i];
+            }
+            return nums;
+        };
+        RearrangeElementsBySign_2 rearrange = new RearrangeElementsBySign_2();
+        runner.addFixed("RearrangeElementsBySign_2.rearrangeArrayBrute", BOXED_LIMIT, signs,
+                nums -> rearrange.rearrangeArrayBrute(nums)[0]);
+        runner.addFixed("RearrangeElementsBySign_2.rearrangeArrayOptmial", LINEAR_LIMIT, signs,
+                nums -> rearrange.rearrangeArrayOptmial(nums)[0]);
+
+        // Square matrices with side sqrt(size), kept outside the copied template.
+        int[][][] matrix = new int[1][][];
+        BenchmarkRunner.InputFactory square = (size, distribution) -> {
+            int side = Math.max(1, (int) Math.sqrt(size));
+            matrix[0] = new int[side][];
+            for (int i = 0; i < side; i++) {
+                matrix[0][i] = InputGenerator.generate(InputGenerator.Distribution.RANDOM, side, i);
+            }
+            return new int[0];
+        };
+        SpiralMatrix_3 spiral = new SpiralMatrix_3();
+        runner.addFixed("SpiralMatrix_3.spiralOrder", BOXED_LIMIT, square, nums -> spiral.spiralOrder(matrix[0]).size());
+        RotateMatrix_7 rotate = new RotateMatrix_7();
+        runner.addFixed("RotateMatrix_7.rotateMatrixBrute", BOXED_LIMIT, square, nums -> {
+            rotate.rotateMatrixBrute(matrix[0]);
+            return matrix[0][0][0];
+        });
+        runner.addFixed("RotateMatrix_7.rotateMatrixOptimal", LINEAR_LIMIT, square, nums -> {
+            rotate.rotateMatrixOptimal(matrix[0]);
+            return matrix[0][0][0];
+        });
+
+        // Pascal's triangle: the input size is used as the row / row count.
+        BenchmarkRunner.InputFactory none = (size, distribution) -> new int[0];
+        int[] rows = new int[1];
+        BenchmarkRunner.InputFactory rowCount = (size, distribution) -> {
+            rows[0] = size;
+            return new int[0];
+        };
+        PascalTriangle1_4 pascal1 = new PascalTriangle1_4();
+        runner.addFixed("PascalTriangle1_4.pascalTriangle1", 1, none, nums -> pascal1.pascalTriangle1(30, 15));
+        PascalTriangle2_5 pascal2 = new PascalTriangle2_5();
+        runner.addFixed("PascalTriangle2_5.pascalTriangle2Optimal_2", QUADRATIC_LIMIT, rowCount,
+                nums -> pascal2.pascalTriangle2Optimal_2(rows[0])[0]);
+        PascalTriangle3_6 pascal3 = new PascalTriangle3_6();
+        runner.addFixed("PascalTriangle3_6.pascalTriangle3Brute", CUBIC_LIMIT / 10, rowCount,
+                nums -> pascal3.pascalTriangle3Brute(rows[0]).size());
+        runner.addFixed("PascalTriangle3_6.pascalTriangle3Optimal", CUBIC_LIMIT, rowCount,
+                nums -> pascal3.pascalTriangle3Optimal(rows[0]).size());
+
+        TwoSum_8 twoSum = new TwoSum_8();
+        runner.add("TwoSum_8.twoSumBrute (miss)", QUADRATIC_LIMIT, range(0, 1 << 20),
+                nums -> twoSum.twoSumBrute(nums, -1)[0]);
+        runner.add("TwoSum_8.twoSumBetter (miss)", BOXED_LIMIT, range(0, 1 << 20),
+                nums -> twoSum.twoSumBetter(nums, -1)[0]);
+        runner.add("TwoSum_8.twoSumOptimal (miss)", BOXED_LIMIT, range(0, 1 << 20),
+                nums -> twoSum.twoSumOptimal(nums, -1)[0]);
+
+        ThreeSum_9 threeSum = new ThreeSum_9();
+        runner.add("ThreeSum_9.threeSumBrute", CUBIC_LIMIT / 4, range(-1_000, 1_000),
+                nums -> threeSum.threeSumBrute(nums).size());
+        runner.add("ThreeSum_9.threeSumBetter", CUBIC_LIMIT * 4, range(-1_000, 1_000),
+                nums -> threeSum.threeSumBetter(nums).size());
+        runner.add("ThreeSum_9.threeSumOptimal", CUBIC_LIMIT * 10, range(-1_000, 1_000),
+                nums -> threeSum.threeSumOptimal(nums).size());
+
+        FourSum_10 fourSum = new FourSum_10();
+        runner.add("FourSum_10.fourSumBrute", CUBIC_LIMIT / 20, range(-1_000, 1_000),
+                nums -> fourSum.fourSumBrute(nums, 0).size());
+        runner.add("FourSum_10.fourSumBetter", CUBIC_LIMIT / 4, range(-1_000, 1_000),
+                nums -> fourSum.fourSumBetter(nums, 0).size());
+        runner.add("FourSum_10.fourSumOptimal", CUBIC_LIMIT, range(-1_000, 1_000),
+                nums -> fourSum.fourSumOptimal(nums, 0).size());
+
+        MaxSubArray_11 maxSubArray = new MaxSubArray_11();
+        runner.add("MaxSubArray_11.maxSubArrayBrute", CUBIC_LIMIT, range(-100, 100), maxSubArray::maxSubArrayBrute);
+        runner.add("MaxSubArray_11.maxSubArrayBetter", QUADRATIC_LIMIT, range(-100, 100),
+                maxSubArray::maxSubArrayBetter);
+        runner.add("MaxSubArray_11.maxSubArrayOptimal_1", LINEAR_LIMIT, range(-100, 100),
+                maxSubArray::maxSubArrayOptimal_1);
+        runner.add("MaxSubArray_11.maxSubArrayOptimal_2", LINEAR_LIMIT, range(-100, 100),
+                maxSubArray::maxSubArrayOptimal_2);
+
+        SortArray012_11 sort012 = new SortArray012_11();
+        runner.add("SortArray012_11.sortZeroOneTwoBrute", BOXED_LIMIT, range(0, 3), nums -> {
+            sort012.sortZeroOneTwoBrute(nums);
+            return nums[0];
+        });
+        runner.add("SortArray012_11.sortZeroOneTwoBetter", LINEAR_LIMIT, range(0, 3), nums -> {
+            sort012.sortZeroOneTwoBetter(nums);
+            return nums[0];
+        });
+        runner.add("SortArray012_11.sortZeroOneTwoOptimal", LINEAR_LIMIT, range(0, 3), nums -> {
+            sort012.sortZeroOneTwoOptimal(nums);
+            return nums[0];
+        });
+    }
+
+    static void registerHardFaqs(BenchmarkRunner runner) {
+        // More than n/2 copies of one value.
+        BenchmarkRunner.InputFactory majority = (size, distribution) -> {
+            int[] nums = InputGenerator.generate(InputGenerator.Distribution.RANDOM, size, 0, size,
+                    InputGenerator.DEFAULT_SEED);
+            for (int i = 0; i < size; i += 2) {
+                nums[i] = 7;
+            }
+            nums[Math.min(1, size - 1)] = 7;
+            return nums;
+        };
+        MajorityElement_1 majority1 = new MajorityElement_1();
+        runner.addFixed("MajorityElement_1.majorityElementBrute", QUADRATIC_LIMIT / 10, majority,
+                majority1::majorityElementBrute);
+        runner.addFixed("MajorityElement_1.majorityElementBetter", BOXED_LIMIT, majority,
+                majority1::majorityElementBetter);
+        runner.addFixed("MajorityElement_1.majorityElementOptimal", LINEAR_LIMIT, majority,
+                majority1::majorityElementOptimal);
+
+        // Two values with 2n/5 copies each, both above the n/3 threshold.
+        BenchmarkRunner.InputFactory twoMajorities = (size, distribution) -> {
+            int[] nums = InputGenerator.generate(InputGenerator.Distribution.RANDOM, size, 0, size,
+                    InputGenerator.DEFAULT_SEED);
+            for (int i = 0; i < size; i++) {
+                int slot = i % 5;
+                if (slot < 2) {
+                    nums[i] = 7;
+                } else if (slot < 4) {
+                    nums[i] = 9;
+                }
+            }
+            return nums;
+        };
+        MarjorityElement_2 majority2 = new MarjorityElement_2();
+        runner.addFixed("MarjorityElement_2.majorityElementTwoBrute", QUADRATIC_LIMIT / 10, twoMajorities,
+                nums -> majority2.majorityElementTwoBrute(nums).size());
+        runner.addFixed("MarjorityElement_2.findMajorityElementsBetter", BOXED_LIMIT, twoMajorities,
+                nums -> majority2.findMajorityElementsBetter(nums).size());
+        runner.addFixed("MarjorityElement_2.findMajorityElementsOptimal", LINEAR_LIMIT, twoMajorities,
+                nums -> majority2.findMajorityElementsOptimal(nums).size());
+
+        // 1..n with one value duplicated and one missing.
+        BenchmarkRunner.InputFactory repeatingMissing = (size, distribution) -> {
+            int[] nums = InputGenerator.permutation(size, InputGenerator.DEFAULT_SEED);
+            for (int i = 0; i < size; i++) {
+                nums[i]++;
+            }
+            nums[0] = nums[size - 1];
+            return nums;
+        };
+        RepeatingMissingNumber_3 repeating = new RepeatingMissingNumber_3();
+        runner.addFixed("RepeatingMissingNumber_3.findRepeatingMissingNumberBrute", QUADRATIC_LIMIT / 10,
+                repeatingMissing, nums -> repeating.findRepeatingMissingNumberBrute(nums)[0]);
+        runner.addFixed("RepeatingMissingNumber_3.findRepeatingMissingNumberBetter", LINEAR_LIMIT,
+                repeatingMissing, nums -> repeating.findRepeatingMissingNumberBetter(nums)[0]);
+        runner.addFixed("RepeatingMissingNumber_3.findRepeatingMissingNumberOptimal_1", LINEAR_LIMIT,
+                repeatingMissing, nums -> repeating.findRepeatingMissingNumberOptimal_1(nums)[0]);
+
+        CountInversions_4 inversions = new CountInversions_4();
+        runner.add("CountInversions_4.countInversionsBrute", QUADRATIC_LIMIT, inversions::countInversionsBrute);
+        runner.add("CountInversions_4.countInversionsOptimal", BOXED_LIMIT, inversions::countInversionsOptimal);
+
+        ReversePairs_5 reversePairs = new ReversePairs_5();
+        runner.add("ReversePairs_5.reversePairsBrute", QUADRATIC_LIMIT, reversePairs::reversePairsBrute);
+        runner.add("ReversePairs_5.reversePairsOptimal", BOXED_LIMIT, reversePairs::reversePairsOptimal);
+
+        MaximumProductSubarray_6 maxProduct = new MaximumProductSubarray_6();
+        runner.add("MaximumProductSubarray_6.maxProductBrute", CUBIC_LIMIT, range(-3, 4), maxProduct::maxProductBrute);
+        runner.add("MaximumProductSubarray_6.maxProductBetter", QUADRATIC_LIMIT, range(-3, 4),
+                maxProduct::maxProductBetter);
+        runner.add("MaximumProductSubarray_6.maxProductOptimal", LINEAR_LIMIT, range(-3, 4),
+                maxProduct::maxProductOptimal);
+
+        // nums1 holds m sorted values plus n free slots, followed by the n sorted values of nums2.
+        BenchmarkRunner.InputFactory mergeInputs = (size, distribution) -> {
+            int half = size / 2;
+            int[] nums = InputGenerator.generate(InputGenerator.Distribution.RANDOM, half * 3, 0, size,
+                    InputGenerator.DEFAULT_SEED);
+            Arrays.sort(nums, 0, half);
+            Arrays.fill(nums, half, 2 * half, 0);
+            Arrays.sort(nums, 2 * half, 3 * half);
+            return nums;
+        };
+        TwoArrays merge = new TwoArrays();
+        BenchmarkRunner.Preparer splitMerge = input -> merge.split(input, input.length / 3 * 2, input.length / 3 * 2);
+        MergeSortedArray_7 mergeSorted = new MergeSortedArray_7();
+        runner.addFixed("MergeSortedArray_7.mergeSortedArrayBrute", BOXED_LIMIT, mergeInputs, splitMerge, nums -> {
+            int half = merge.second.length;
+            mergeSorted.mergeSortedArrayBrute(merge.first, half, merge.second, half);
+            return merge.first[0];
+        });
+        runner.addFixed("MergeSortedArray_7.mergeSortedArrayOptimal_1", BOXED_LIMIT, mergeInputs, splitMerge,
+                nums -> {
+                    int half = merge.second.length;
+                    mergeSorted.mergeSortedArrayOptimal_1(merge.first, half, merge.second, half);
+                    return merge.first[0];
+                });
+        runner.addFixed("MergeSortedArray_7.mergeSortedArrayOptimal_2", BOXED_LIMIT, mergeInputs, splitMerge,
+                nums -> {
+                    int half = merge.second.length;
+                    mergeSorted.mergeSortedArrayOptimal_2(merge.first, half, merge.second, half);
+                    return merge.first[0];
+                });
+    }
+}
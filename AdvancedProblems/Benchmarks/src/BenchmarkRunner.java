@@ -0,0 +1,623 @@
+import java.io.BufferedReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A small, dependency-free micro-benchmark harness.
+ *
+ * Each registered variant is executed for every requested input size and
+ * distribution. Every combination runs in its own freshly started JVM (a
+ * fork), so the JIT profile and heap left behind by one variant cannot slow
+ * down the next. The fork warms the code up, then measures individual
+ * invocations; the result of every invocation is folded into a sink so the
+ * JIT cannot eliminate the work. The runner reports:
+ * - ns/op: mean wall time of one invocation (input copying excluded),
+ *   averaged over the forks.
+ * - min ns/op: fastest invocation, a useful lower bound on noisy machines.
+ * - spread: (slowest - fastest) / mean ns/op across the forks.
+ * - B/op: bytes allocated by the benchmark thread per invocation.
+ * - MB/s: allocation rate while the workload is running.
+ * - gc: garbage collections (count / ms) during the measurement phase.
+ * - scaling: empirical exponent between this size and the previous one,
+ *   i.e. t ~ n^x, so 1.0 is linear and 2.0 is quadratic.
+ *
+ * Command line options (all optional):
+ * -sizes 1K,10K,100K     Input sizes; K/M suffixes are accepted.
+ * -dist RANDOM,SORTED    Distributions, see {@link InputGenerator.Distribution}.
+ * -filter text           Only run variants whose name contains the text.
+ * -warmup 300            Warmup time per combination in milliseconds.
+ * -time 1000             Measurement time per combination in milliseconds.
+ * -forks 1               JVMs started per combination; 0 measures in this JVM.
+ * -csv results.csv       Also append every result row to a CSV file.
+ *
+ * Large sizes need a big heap, e.g. java -Xmx8g. Forks are started with the
+ * same JVM options and class path as the runner, and run
+ * {@link BenchmarkSuites}, where every variant is registered under a unique
+ * name.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * The code under measurement. The returned value is consumed by the runner
+     * so the JIT cannot eliminate the work.
+     */
+    public interface Workload {
+        long run(int[] input);
+    }
+
+    /**
+     * Creates the input template for a variant. The runner copies the template
+     * before every invocation, so workloads may mutate their input freely.
+     */
+    public interface InputFactory {
+        int[] create(int size, InputGenerator.Distribution distribution);
+    }
+
+    /**
+     * Untimed hook that runs after the template has been copied and before the
+     * workload, e.g. to split the copied input into the arrays a method expects.
+     */
+    public interface Preparer {
+        void prepare(int[] input);
+    }
+
+    private static final Preparer NO_PREPARATION = input -> {
+    };
+
+    /**
+     * The measurements of one combination, from one JVM or combined over forks.
+     */
+    private static class Result {
+        final double nanosPerOp;
+        final long minNanos;
+        final double bytesPerOp;
+        final double allocRate;
+        final long gcCount;
+        final long gcTime;
+        final double spread;
+
+        Result(double nanosPerOp, long minNanos, double bytesPerOp, double allocRate, long gcCount, long gcTime,
+                double spread) {
+            this.nanosPerOp = nanosPerOp;
+            this.minNanos = minNanos;
+            this.bytesPerOp = bytesPerOp;
+            this.allocRate = allocRate;
+            this.gcCount = gcCount;
+            this.gcTime = gcTime;
+            this.spread = spread;
+        }
+    }
+
+    /**
+     * A single benchmarked implementation.
+     */
+    static class Variant {
+        final String name;
+        final int maxSize;
+        final boolean distributionAware;
+        final InputFactory inputs;
+        final Preparer preparer;
+        final Workload workload;
+
+        Variant(String name, int maxSize, boolean distributionAware, InputFactory inputs, Preparer preparer,
+                Workload workload) {
+            this.name = name;
+            this.maxSize = maxSize;
+            this.distributionAware = distributionAware;
+            this.inputs = inputs;
+            this.preparer = preparer;
+            this.workload = workload;
+        }
+    }
+
+    public static final int[] DEFAULT_SIZES = { 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000 };
+
+    /**
+     * Every workload result is folded into this field, so no result is dead code.
+     */
+    private static volatile long sink;
+
+    /**
+     * Start of the line a fork prints with its result, or with the error that made it skip.
+     */
+    private static final String RESULT_PREFIX = "fork-result ";
+    private static final String SKIPPED_PREFIX = "fork-skipped ";
+
+    /**
+     * Bytes the allocation counter itself allocates per reading; subtracted so
+     * that an allocation-free workload reports 0 B/op.
+     */
+    private static final long ALLOCATION_PROBE_OVERHEAD = probeOverhead();
+
+    private final List<Variant> variants = new ArrayList<>();
+    private final Map<String, double[]> previousResult = new HashMap<>();
+    private int[] sizes = DEFAULT_SIZES;
+    private InputGenerator.Distribution[] distributions = InputGenerator.Distribution.values();
+    private String filter = "";
+    private long warmupNanos = 300_000_000L;
+    private long measureNanos = 1_000_000_000L;
+    private int forks = 1;
+    private PrintWriter csv;
+
+    /**
+     * Set in a fork: the name of the only variant to measure.
+     */
+    private String forkedVariant;
+
+    /**
+     * Creates a runner configured from command line arguments.
+     *
+     * @param args The command line arguments.
+     */
+    public BenchmarkRunner(String[] args) {
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "-sizes":
+                    sizes = parseSizes(value);
+                    break;
+                case "-dist":
+                    String[] names = value.split(",");
+                    distributions = new InputGenerator.Distribution[names.length];
+                    for (int j = 0; j < names.length; j++) {
+                        distributions[j] = InputGenerator.Distribution.valueOf(names[j].trim().toUpperCase(Locale.ROOT));
+                    }
+                    break;
+                case "-filter":
+                    filter = value;
+                    break;
+                case "-warmup":
+                    warmupNanos = Long.parseLong(value) * 1_000_000L;
+                    break;
+                case "-time":
+                    measureNanos = Long.parseLong(value) * 1_000_000L;
+                    break;
+                case "-forks":
+                    forks = Integer.parseInt(value);
+                    if (forks < 0) {
+                        throw new IllegalArgumentException("Forks must not be negative, got " + forks);
+                    }
+                    break;
+                case "-fork":
+                    forkedVariant = value;
+                    break;
+                case "-csv":
+                    try {
+                        csv = new PrintWriter(new FileWriter(value, true));
+                    } catch (IOException e) {
+                        throw new IllegalArgumentException("Cannot open CSV file: " + value, e);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+    }
+
+    /**
+     * Registers a variant that runs on generated data of every distribution.
+     *
+     * @param name     The display name, e.g. "MergeSort_4.mergeSort".
+     * @param maxSize  The largest input size that is practical for the variant.
+     * @param workload The code to measure.
+     */
+    public void add(String name, int maxSize, Workload workload) {
+        InputFactory inputs = (size, distribution) -> InputGenerator.generate(distribution, size,
+                InputGenerator.DEFAULT_SEED);
+        register(new Variant(name, maxSize, true, inputs, NO_PREPARATION, workload));
+    }
+
+    /**
+     * Registers a variant with a custom, distribution-aware input factory.
+     *
+     * @param name     The display name.
+     * @param maxSize  The largest input size that is practical for the variant.
+     * @param inputs   Creates the input template.
+     * @param workload The code to measure.
+     */
+    public void add(String name, int maxSize, InputFactory inputs, Workload workload) {
+        register(new Variant(name, maxSize, true, inputs, NO_PREPARATION, workload));
+    }
+
+    /**
+     * Registers a variant whose input has a fixed shape (for example a
+     * permutation or a binary array), so it is only run once per size.
+     *
+     * @param name     The display name.
+     * @param maxSize  The largest input size that is practical for the variant.
+     * @param inputs   Creates the input template; the distribution argument is null.
+     * @param workload The code to measure.
+     */
+    public void addFixed(String name, int maxSize, InputFactory inputs, Workload workload) {
+        addFixed(name, maxSize, inputs, NO_PREPARATION, workload);
+    }
+
+    /**
+     * Registers a fixed-shape variant with an untimed preparation step.
+     *
+     * @param name     The display name.
+     * @param maxSize  The largest input size that is practical for the variant.
+     * @param inputs   Creates the input template; the distribution argument is null.
+     * @param preparer Runs before every invocation, outside the timed region.
+     * @param workload The code to measure.
+     */
+    public void addFixed(String name, int maxSize, InputFactory inputs, Preparer preparer, Workload workload) {
+        register(new Variant(name, maxSize, false, inputs, preparer, workload));
+    }
+
+    /**
+     * Adds a variant; names must be unique, since a fork finds its variant by name.
+     */
+    private void register(Variant variant) {
+        for (Variant existing : variants) {
+            if (existing.name.equals(variant.name)) {
+                throw new IllegalArgumentException("Duplicate variant name: " + variant.name);
+            }
+        }
+        variants.add(variant);
+    }
+
+    /**
+     * Returns the registered variant with the given name.
+     */
+    Variant find(String name) {
+        for (Variant variant : variants) {
+            if (variant.name.equals(name)) {
+                return variant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown variant: " + name);
+    }
+
+    /**
+     * Returns the variants whose name contains the -filter text, in registration order.
+     */
+    List<Variant> selectedVariants() {
+        List<Variant> selected = new ArrayList<>();
+        for (Variant variant : variants) {
+            if (variant.name.contains(filter)) {
+                selected.add(variant);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the -dist distributions for a distribution-aware variant, or a
+     * single null for a fixed-shape one.
+     */
+    InputGenerator.Distribution[] distributionsFor(Variant variant) {
+        return variant.distributionAware ? distributions.clone() : new InputGenerator.Distribution[] { null };
+    }
+
+    /**
+     * @return The input sizes given with -sizes, or the defaults.
+     */
+    public int[] getSizes() {
+        return sizes.clone();
+    }
+
+    /**
+     * Runs every registered variant and prints one row per combination.
+     */
+    public void run() {
+        if (forkedVariant != null) {
+            runFork();
+            return;
+        }
+        String header = String.format(Locale.ROOT, "%-56s %-12s %11s %14s %14s %8s %14s %10s %12s %8s",
+                "benchmark", "dist", "size", "ns/op", "min ns/op", "spread", "B/op", "MB/s", "gc(n/ms)",
+                "scaling");
+        System.out.println(header);
+        if (csv != null) {
+            csv.println("benchmark,dist,size,ns_per_op,min_ns_per_op,spread,bytes_per_op,alloc_mb_per_s,gc_count,"
+                    + "gc_ms,scaling");
+        }
+
+        for (Variant variant : selectedVariants()) {
+            for (InputGenerator.Distribution distribution : distributionsFor(variant)) {
+                for (int size : sizesFor(variant)) {
+                    try {
+                        Result result = forks == 0
+                                ? measure(variant, distribution, size)
+                                : measureForked(variant, distribution, size);
+                        report(variant, distribution, size, result);
+                    } catch (OutOfMemoryError e) {
+                        System.out.println(variant.name + " size " + size + ": skipped (out of memory, raise -Xmx)");
+                    } catch (StackOverflowError e) {
+                        System.out.println(variant.name + " size " + size + ": skipped (recursion too deep, raise -Xss)");
+                    }
+                }
+            }
+        }
+
+        if (csv != null) {
+            csv.close();
+        }
+    }
+
+    /**
+     * Returns the requested sizes that the variant can handle. If every
+     * requested size is above the variant's limit, the limit itself is used so
+     * the variant is still covered.
+     */
+    int[] sizesFor(Variant variant) {
+        int count = 0;
+        for (int size : sizes) {
+            if (size <= variant.maxSize) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return new int[] { variant.maxSize };
+        }
+        int[] result = new int[count];
+        int index = 0;
+        for (int size : sizes) {
+            if (size <= variant.maxSize) {
+                result[index++] = size;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Measures one combination in this JVM; what a fork does.
+     */
+    private Result measure(Variant variant, InputGenerator.Distribution distribution, int size) {
+        int[] template = variant.inputs.create(size, distribution);
+        int[] work = new int[template.length];
+        long consumed = 0;
+
+        long deadline = System.nanoTime() + warmupNanos;
+        do {
+            System.arraycopy(template, 0, work, 0, template.length);
+            variant.preparer.prepare(work);
+            consumed += variant.workload.run(work);
+        } while (System.nanoTime() < deadline);
+
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTime();
+        long totalNanos = 0;
+        long minNanos = Long.MAX_VALUE;
+        long totalBytes = 0;
+        long iterations = 0;
+
+        deadline = System.nanoTime() + measureNanos;
+        do {
+            System.arraycopy(template, 0, work, 0, template.length);
+            variant.preparer.prepare(work);
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            consumed += variant.workload.run(work);
+            long elapsed = System.nanoTime() - start;
+            long bytesAfter = allocatedBytes();
+
+            totalNanos += elapsed;
+            minNanos = Math.min(minNanos, elapsed);
+            totalBytes += Math.max(0, bytesAfter - bytesBefore - ALLOCATION_PROBE_OVERHEAD);
+            iterations++;
+        } while (System.nanoTime() < deadline);
+        sink += consumed;
+
+        long gcCount = gcCount() - gcCountBefore;
+        long gcTime = gcTime() - gcTimeBefore;
+        double nanosPerOp = (double) totalNanos / iterations;
+        double bytesPerOp = (double) totalBytes / iterations;
+        double allocRate = totalNanos == 0 ? 0 : totalBytes / (totalNanos / 1e9) / (1024 * 1024);
+        return new Result(nanosPerOp, minNanos, bytesPerOp, allocRate, gcCount, gcTime, Double.NaN);
+    }
+
+    /**
+     * Measures one combination in forks started one after the other and
+     * combines their results: mean ns/op, B/op and MB/s, the fastest
+     * invocation, and the total garbage collection count and time.
+     */
+    private Result measureForked(Variant variant, InputGenerator.Distribution distribution, int size) {
+        double totalNanosPerOp = 0;
+        double slowest = 0;
+        double fastest = Double.MAX_VALUE;
+        long minNanos = Long.MAX_VALUE;
+        double totalBytesPerOp = 0;
+        double totalAllocRate = 0;
+        long gcCount = 0;
+        long gcTime = 0;
+        for (int fork = 0; fork < forks; fork++) {
+            Result result = fork(variant, distribution, size);
+            totalNanosPerOp += result.nanosPerOp;
+            slowest = Math.max(slowest, result.nanosPerOp);
+            fastest = Math.min(fastest, result.nanosPerOp);
+            minNanos = Math.min(minNanos, result.minNanos);
+            totalBytesPerOp += result.bytesPerOp;
+            totalAllocRate += result.allocRate;
+            gcCount += result.gcCount;
+            gcTime += result.gcTime;
+        }
+        double nanosPerOp = totalNanosPerOp / forks;
+        double spread = forks == 1 ? Double.NaN : (slowest - fastest) / nanosPerOp;
+        return new Result(nanosPerOp, minNanos, totalBytesPerOp / forks, totalAllocRate / forks, gcCount, gcTime,
+                spread);
+    }
+
+    /**
+     * Starts a JVM with this JVM's options and class path that measures one
+     * combination, and reads its result line. Anything else the fork prints is
+     * passed through. A fork that ran out of heap or stack reports it, and the
+     * same error is thrown here so the combination is skipped.
+     */
+    private Result fork(Variant variant, InputGenerator.Distribution distribution, int size) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(BenchmarkSuites.class.getName());
+        command.add("-fork");
+        command.add(variant.name);
+        command.add("-sizes");
+        command.add(String.valueOf(size));
+        if (distribution != null) {
+            command.add("-dist");
+            command.add(distribution.name());
+        }
+        command.add("-warmup");
+        command.add(String.valueOf(warmupNanos / 1_000_000L));
+        command.add("-time");
+        command.add(String.valueOf(measureNanos / 1_000_000L));
+
+        String resultLine = null;
+        int exitCode;
+        try {
+            Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            try (BufferedReader output = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    if (line.startsWith(RESULT_PREFIX) || line.startsWith(SKIPPED_PREFIX)) {
+                        resultLine = line;
+                    } else {
+                        System.out.println(line);
+                    }
+                }
+            }
+            exitCode = process.waitFor();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot start a forked JVM: " + command, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a forked JVM", e);
+        }
+
+        if (resultLine == null || exitCode != 0) {
+            throw new IllegalStateException("Forked JVM for " + variant.name + " exited with code " + exitCode
+                    + " and no result");
+        }
+        if (resultLine.startsWith(SKIPPED_PREFIX)) {
+            String error = resultLine.substring(SKIPPED_PREFIX.length());
+            if (error.equals(StackOverflowError.class.getSimpleName())) {
+                throw new StackOverflowError("In a forked JVM");
+            }
+            throw new OutOfMemoryError("In a forked JVM");
+        }
+        String[] fields = resultLine.substring(RESULT_PREFIX.length()).split(" ");
+        return new Result(Double.parseDouble(fields[0]), Long.parseLong(fields[1]), Double.parseDouble(fields[2]),
+                Double.parseDouble(fields[3]), Long.parseLong(fields[4]), Long.parseLong(fields[5]), Double.NaN);
+    }
+
+    /**
+     * The work of a fork: measures the single combination given on its command
+     * line and prints the result line that {@link #fork} reads.
+     */
+    private void runFork() {
+        Variant variant = find(forkedVariant);
+        InputGenerator.Distribution distribution = variant.distributionAware ? distributions[0] : null;
+        try {
+            Result result = measure(variant, distribution, sizes[0]);
+            System.out.println(String.format(Locale.ROOT, "%s%.3f %d %.3f %.3f %d %d", RESULT_PREFIX,
+                    result.nanosPerOp, result.minNanos, result.bytesPerOp, result.allocRate, result.gcCount,
+                    result.gcTime));
+        } catch (OutOfMemoryError | StackOverflowError e) {
+            System.out.println(SKIPPED_PREFIX + e.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Prints the row of one combination, with its scaling against the previous
+     * size, and appends it to the CSV file.
+     */
+    private void report(Variant variant, InputGenerator.Distribution distribution, int size, Result result) {
+        double nanosPerOp = result.nanosPerOp;
+        String dist = distribution == null ? "-" : distribution.name();
+        String key = variant.name + "|" + dist;
+        double[] previous = previousResult.get(key);
+        String scaling = "";
+        if (previous != null && previous[0] != size) {
+            double exponent = Math.log(nanosPerOp / previous[1]) / Math.log(size / previous[0]);
+            scaling = String.format(Locale.ROOT, "n^%.2f", exponent);
+        }
+        previousResult.put(key, new double[] { size, nanosPerOp });
+
+        String spread = Double.isNaN(result.spread)
+                ? "-"
+                : String.format(Locale.ROOT, "%.1f%%", 100 * result.spread);
+
+        System.out.println(String.format(Locale.ROOT, "%-56s %-12s %11d %14.1f %14d %8s %14.1f %10.1f %12s %8s",
+                variant.name, dist, size, nanosPerOp, result.minNanos, spread, result.bytesPerOp, result.allocRate,
+                result.gcCount + "/" + result.gcTime, scaling));
+        if (csv != null) {
+            csv.println(String.format(Locale.ROOT, "%s,%s,%d,%.1f,%d,%s,%.1f,%.1f,%d,%d,%s",
+                    variant.name, dist, size, nanosPerOp, result.minNanos, spread, result.bytesPerOp,
+                    result.allocRate, result.gcCount, result.gcTime, scaling));
+            csv.flush();
+        }
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private static long probeOverhead() {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 1_000; i++) {
+            long before = allocatedBytes();
+            long after = allocatedBytes();
+            overhead = Math.min(overhead, after - before);
+        }
+        return overhead;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, bean.getCollectionTime());
+        }
+        return time;
+    }
+
+    /**
+     * Parses a comma separated list of sizes such as "1K,10K,1M".
+     *
+     * @param value The list to parse.
+     * @return The parsed sizes.
+     */
+    public static int[] parseSizes(String value) {
+        String[] parts = value.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim().toUpperCase(Locale.ROOT);
+            int multiplier = 1;
+            if (part.endsWith("K")) {
+                multiplier = 1_000;
+                part = part.substring(0, part.length() - 1);
+            } else if (part.endsWith("M")) {
+                multiplier = 1_000_000;
+                part = part.substring(0, part.length() - 1);
+            }
+            result[i] = Integer.parseInt(part) * multiplier;
+        }
+        return result;
+    }
+}
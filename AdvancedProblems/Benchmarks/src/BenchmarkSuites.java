@@ -0,0 +1,33 @@
+/**
+ * Registers the variants of every benchmark suite with one runner.
+ *
+ * This is the program a {@link BenchmarkRunner} fork runs: it finds the
+ * variant to measure by name, which is why names must be unique across the
+ * suites. Run directly, it benchmarks every suite in one go; the reports the
+ * suites print before their timed runs (probe counts, sketch accuracy) are
+ * left to the suites' own main methods.
+ *
+ * Example:
+ * java -Xmx8g -Xss64m BenchmarkSuites -sizes 1K,1M -filter Optimal -forks 3
+ */
+public class BenchmarkSuites {
+
+    public static void main(String[] args) {
+        BenchmarkRunner runner = new BenchmarkRunner(args);
+        register(runner);
+        runner.run();
+    }
+
+    /**
+     * Registers the variants of every suite with the runner.
+     *
+     * @param runner The runner to register with.
+     */
+    static void register(BenchmarkRunner runner) {
+        ArraysBenchmark.register(runner);
+        SortingBenchmark.register(runner);
+        BinarySearchBenchmark.register(runner);
+        HashingBenchmark.register(runner);
+        StreamingBenchmark.register(runner);
+    }
+}
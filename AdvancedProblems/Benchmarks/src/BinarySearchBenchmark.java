@@ -0,0 +1,377 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import fundamentals.BinarySearch_1;
+import fundamentals.EytzingerIndex;
+import fundamentals.LearnedIndex;
+import fundamentals.MappedSortedIntFile;
+import fundamentals.LowerBound_2;
+import fundamentals.UpperBound_3;
+import logicBuilding.FirstLastXOccurence_3;
+import logicBuilding.FloorCeilSortedArray_2;
+import logicBuilding.RankSelect;
+import logicBuilding.SearchIndexPosition_1;
+import logicBuilding.SortedIntIndex;
+
+/**
+ * Benchmarks every search in the BinarySearch module.
+ *
+ * One invocation performs {@link #LOOKUPS} lookups against the same sorted
+ * array, so ns/op must be divided by LOOKUPS to get the cost of one search.
+ * Keys are spread over the array with a multiplicative hash and alternate
+ * between values that are present and values that are probably missing.
+ * Searches only make sense on sorted data, so the distribution argument
+ * controls the values (RANDOM vs FEW_UNIQUES) while the array is always sorted.
+ *
+ * Lookups per second are LOOKUPS * 1e9 / (ns/op). To see each level of the
+ * memory hierarchy, pick sizes whose int arrays fit in L1 (4K = 16 KB),
+ * L2 (64K = 256 KB), the last-level cache (1M = 4 MB) and DRAM only (100M).
+ *
+ * Before the timed runs a probe report compares LearnedIndex with plain
+ * binary search: model segments, mean prediction error and the estimated
+ * probes per lookup (segment search plus the gallop around the prediction)
+ * against log2(n).
+ *
+ * Example:
+ * java -Xmx8g BinarySearchBenchmark -sizes 1K,1M,100M -dist RANDOM
+ * java -Xmx8g BinarySearchBenchmark -sizes 4K,64K,1M,100M -dist RANDOM -filter Search_1.
+ */
+public class BinarySearchBenchmark {
+
+    static final int LOOKUPS = 1024;
+    static final int LINEAR_LIMIT = 1_000_000;
+    static final int[] PROBE_REPORT_SIZES = { 1_000, 1_000_000, 16_000_000 };
+
+    public static void main(String[] args) {
+        BenchmarkRunner runner = new BenchmarkRunner(args);
+        printProbeReport();
+        register(runner);
+        runner.run();
+    }
+
+    /**
+     * Prints, for every distribution and report size, the shape of the
+     * LearnedIndex model and the probes a lookup needs compared with binary
+     * search.
+     */
+    static void printProbeReport() {
+        System.out.printf("%-12s %12s %10s %12s %14s %14s%n", "distribution", "size", "segments", "mean error",
+                "learned probes", "binary probes");
+        LowerBound_2 lowerBound = new LowerBound_2();
+        for (InputGenerator.Distribution distribution : InputGenerator.Distribution.values()) {
+            for (int size : PROBE_REPORT_SIZES) {
+                int[] nums = InputGenerator.generate(distribution, size, InputGenerator.DEFAULT_SEED);
+                Arrays.sort(nums);
+                LearnedIndex index = new LearnedIndex(nums);
+
+                double totalError = 0;
+                double totalProbes = 0;
+                for (int i = 0; i < LOOKUPS; i++) {
+                    int x = key(nums, i);
+                    int error = Math.abs(index.predict(x) - lowerBound.lowerBoundOptimal(nums, x));
+                    totalError += error;
+                    // One probe at the prediction, then a gallop and a binary search over ~error positions.
+                    totalProbes += 1 + 2 * log2(error + 1);
+                }
+                double segmentProbes = log2(index.getSegmentCount());
+                System.out.printf("%-12s %12d %10d %12.1f %14.1f %14.1f%n", distribution, size,
+                        index.getSegmentCount(), totalError / LOOKUPS, segmentProbes + totalProbes / LOOKUPS,
+                        log2(size + 1));
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Writes a sorted array to a temporary big-endian file, which is deleted
+     * on exit, and maps it.
+     */
+    static MappedSortedIntFile writeAndMap(int[] nums) {
+        try {
+            Path file = Files.createTempFile("BinarySearchBenchmark", ".bin");
+            file.toFile().deleteOnExit();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+                for (int i = 0; i < nums.length; i++) {
+                    buffer.putInt(nums[i]);
+                    if (!buffer.hasRemaining() || i == nums.length - 1) {
+                        buffer.flip();
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                        buffer.clear();
+                    }
+                }
+            }
+            return new MappedSortedIntFile(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a value span that covers about 1% of the sorted array's values.
+     */
+    static int rangeSpan(int[] nums) {
+        long span = ((long) nums[nums.length - 1] - nums[0]) / 100;
+        return (int) Math.max(1, Math.min(span, Integer.MAX_VALUE));
+    }
+
+    private static double log2(double x) {
+        return Math.ceil(Math.log(x) / Math.log(2));
+    }
+
+    /**
+     * Returns the i-th lookup key for the sorted array.
+     *
+     * @param nums The sorted array.
+     * @param i    The lookup number.
+     * @return A key that is either present or adjacent to a present value.
+     */
+    static int key(int[] nums, int i) {
+        int index = (int) (((i * 0x9E3779B97F4A7C15L) >>> 33) % nums.length);
+        return nums[index] + (i & 1);
+    }
+
+    /**
+     * Registers the search variants with the runner.
+     *
+     * @param runner The runner to register with.
+     */
+    static void register(BenchmarkRunner runner) {
+        BenchmarkRunner.InputFactory sorted = (size, distribution) -> {
+            int[] nums = InputGenerator.generate(distribution, size, InputGenerator.DEFAULT_SEED);
+            Arrays.sort(nums);
+            return nums;
+        };
+
+        BinarySearch_1 binarySearch = new BinarySearch_1();
+        runner.add("BinarySearch_1.binarySearchIterativeApproach x" + LOOKUPS, Integer.MAX_VALUE, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += binarySearch.binarySearchIterativeApproach(nums, key(nums, i));
+            }
+            return checksum;
+        });
+        runner.add("BinarySearch_1.binarySearchRecursiveApproach x" + LOOKUPS, Integer.MAX_VALUE, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += binarySearch.binarySearchRecursiveApproach(nums, key(nums, i));
+            }
+            return checksum;
+        });
+        runner.add("BinarySearch_1.binarySearchBranchless x" + LOOKUPS, Integer.MAX_VALUE, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += binarySearch.binarySearchBranchless(nums, key(nums, i));
+            }
+            return checksum;
+        });
+
+        // The index is built once per input template, outside the timed region.
+        EytzingerIndex[] eytzinger = new EytzingerIndex[1];
+        BenchmarkRunner.InputFactory indexed = (size, distribution) -> {
+            int[] nums = sorted.create(size, distribution);
+            eytzinger[0] = new EytzingerIndex(nums);
+            return nums;
+        };
+        runner.add("EytzingerIndex.search x" + LOOKUPS, Integer.MAX_VALUE, indexed, nums -> {
+            EytzingerIndex index = eytzinger[0];
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += index.search(key(nums, i));
+            }
+            return checksum;
+        });
+
+        // Batched variants search a key array built once per input template.
+        int[][] batch = new int[3][];
+        BenchmarkRunner.InputFactory withKeys = (size, distribution) -> {
+            int[] nums = sorted.create(size, distribution);
+            int[] keys = new int[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                keys[i] = key(nums, i);
+            }
+            int[] sortedKeys = keys.clone();
+            Arrays.sort(sortedKeys);
+            batch[0] = keys;
+            batch[1] = sortedKeys;
+            batch[2] = new int[LOOKUPS];
+            return nums;
+        };
+        runner.add("BinarySearch_1.binarySearchIterativeApproach keys x" + LOOKUPS, Integer.MAX_VALUE, withKeys,
+                nums -> {
+                    long checksum = 0;
+                    for (int key : batch[0]) {
+                        checksum += binarySearch.binarySearchIterativeApproach(nums, key);
+                    }
+                    return checksum;
+                });
+        runner.add("BinarySearch_1.searchAll keys x" + LOOKUPS, Integer.MAX_VALUE, withKeys,
+                nums -> binarySearch.searchAll(nums, batch[0], batch[2])[LOOKUPS - 1]);
+        runner.add("BinarySearch_1.binarySearchIterativeApproach asc x" + LOOKUPS, Integer.MAX_VALUE,
+                withKeys, nums -> {
+                    long checksum = 0;
+                    for (int key : batch[1]) {
+                        checksum += binarySearch.binarySearchIterativeApproach(nums, key);
+                    }
+                    return checksum;
+                });
+        runner.add("BinarySearch_1.searchAllSorted asc x" + LOOKUPS, Integer.MAX_VALUE, withKeys,
+                nums -> binarySearch.searchAllSorted(nums, batch[1], batch[2])[LOOKUPS - 1]);
+
+        // The sorted input is written to a temporary file and mapped once per template.
+        MappedSortedIntFile[] mapped = new MappedSortedIntFile[1];
+        BenchmarkRunner.InputFactory onDisk = (size, distribution) -> {
+            int[] nums = sorted.create(size, distribution);
+            mapped[0] = writeAndMap(nums);
+            return nums;
+        };
+        runner.add("MappedSortedIntFile.binarySearch x" + LOOKUPS, Integer.MAX_VALUE, onDisk, nums -> {
+            MappedSortedIntFile file = mapped[0];
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += file.binarySearch(key(nums, i));
+            }
+            return checksum;
+        });
+
+        LowerBound_2 lowerBound = new LowerBound_2();
+        runner.add("LowerBound_2.lowerBoundBrute x" + LOOKUPS, LINEAR_LIMIT, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += lowerBound.lowerBoundBrute(nums, key(nums, i));
+            }
+            return checksum;
+        });
+        runner.add("LowerBound_2.lowerBoundOptimal x" + LOOKUPS, Integer.MAX_VALUE, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += lowerBound.lowerBoundOptimal(nums, key(nums, i));
+            }
+            return checksum;
+        });
+
+        // The model is built once per input template, outside the timed region.
+        LearnedIndex[] learned = new LearnedIndex[1];
+        BenchmarkRunner.InputFactory modeled = (size, distribution) -> {
+            int[] nums = sorted.create(size, distribution);
+            learned[0] = new LearnedIndex(nums);
+            return nums;
+        };
+        runner.add("LearnedIndex.lowerBound x" + LOOKUPS, Integer.MAX_VALUE, modeled, nums -> {
+            LearnedIndex index = learned[0];
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += index.lowerBound(key(nums, i));
+            }
+            return checksum;
+        });
+        runner.add("LearnedIndex.interpolationLowerBound x" + LOOKUPS, Integer.MAX_VALUE, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += LearnedIndex.interpolationLowerBound(nums, key(nums, i));
+            }
+            return checksum;
+        });
+
+        UpperBound_3 upperBound = new UpperBound_3();
+        runner.add("UpperBound_3.upperBoundBruteForce x" + LOOKUPS, LINEAR_LIMIT, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += upperBound.upperBoundBruteForce(nums, key(nums, i));
+            }
+            return checksum;
+        });
+        runner.add("UpperBound_3.upperBoundBinarySearch x" + LOOKUPS, Integer.MAX_VALUE, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += upperBound.upperBoundBinarySearch(nums, key(nums, i));
+            }
+            return checksum;
+        });
+
+        SearchIndexPosition_1 searchIndex = new SearchIndexPosition_1();
+        runner.add("SearchIndexPosition_1.searchInsertPositionBrute x" + LOOKUPS, LINEAR_LIMIT, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += searchIndex.searchInsertPositionBrute(nums, key(nums, i));
+            }
+            return checksum;
+        });
+        runner.add("SearchIndexPosition_1.searchInsertPositionOptimal x" + LOOKUPS, Integer.MAX_VALUE, sorted,
+                nums -> {
+                    long checksum = 0;
+                    for (int i = 0; i < LOOKUPS; i++) {
+                        checksum += searchIndex.searchInsertPositionOptimal(nums, key(nums, i));
+                    }
+                    return checksum;
+                });
+
+        FirstLastXOccurence_3 firstLast = new FirstLastXOccurence_3();
+        runner.add("FirstLastXOccurence_3.searchRangeBrute x" + LOOKUPS, LINEAR_LIMIT, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += firstLast.searchRangeBrute(nums, key(nums, i))[1];
+            }
+            return checksum;
+        });
+        runner.add("FirstLastXOccurence_3.searchRangeUsingBounds x" + LOOKUPS, Integer.MAX_VALUE, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += firstLast.searchRangeUsingBounds(nums, key(nums, i))[1];
+            }
+            return checksum;
+        });
+
+        runner.add("SortedIntIndex.bounds x" + LOOKUPS, Integer.MAX_VALUE, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += SortedIntIndex.upper(SortedIntIndex.bounds(nums, key(nums, i)));
+            }
+            return checksum;
+        });
+
+        // Range counts over [key(i), key(i) + span), with spans of about 1% of the array.
+        RankSelect[] rankSelect = new RankSelect[1];
+        BenchmarkRunner.InputFactory ranked = (size, distribution) -> {
+            int[] nums = sorted.create(size, distribution);
+            rankSelect[0] = new RankSelect(nums);
+            return nums;
+        };
+        runner.add("SortedIntIndex.insertionPoint pair range x" + LOOKUPS, Integer.MAX_VALUE, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                int low = key(nums, i);
+                int high = (int) Math.min((long) low + rangeSpan(nums), Integer.MAX_VALUE);
+                checksum += SortedIntIndex.insertionPoint(nums, high) - SortedIntIndex.insertionPoint(nums, low);
+            }
+            return checksum;
+        });
+        runner.add("RankSelect.countInRange x" + LOOKUPS, Integer.MAX_VALUE, ranked, nums -> {
+            RankSelect index = rankSelect[0];
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                int low = key(nums, i);
+                int high = (int) Math.min((long) low + rangeSpan(nums), Integer.MAX_VALUE);
+                checksum += index.countInRange(low, high - 1);
+            }
+            return checksum;
+        });
+
+        FloorCeilSortedArray_2 floorCeil = new FloorCeilSortedArray_2();
+        runner.add("FloorCeilSortedArray_2.getFloorAndCeil x" + LOOKUPS, Integer.MAX_VALUE, sorted, nums -> {
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += floorCeil.getFloorAndCeil(nums, key(nums, i))[0];
+            }
+            return checksum;
+        });
+    }
+}
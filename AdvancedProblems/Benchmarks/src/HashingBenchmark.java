@@ -0,0 +1,263 @@
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Benchmarks every approach in the Hashing module.
+ *
+ * Subarray problems use small values so that targets are actually hit and the
+ * prefix maps see realistic collision and reuse patterns. The "wide" inputs
+ * use values up to +-1M, so almost every prefix sum is a new map entry.
+ *
+ * The prefix-sum approaches use IntIntMap and LongestConsecutiveSequence_1
+ * uses a bitmap or IntHashSet; the "(before)" rows run the same loops on
+ * HashMap<Integer, Integer> / HashSet<Integer> for comparison, and the B/op
+ * column shows the boxing and Node allocation that the primitive versions
+ * avoid. The "ids" input spans 2n values, so the optimal approach picks the
+ * bitmap; the "sparse ids" input spans the whole int range and needs the
+ * hash set.
+ *
+ * ParallelLongestConsecutive runs once on the common pool (which falls back
+ * to the sequential version when it has a single worker) and once on a pool
+ * of PARALLEL_WORKERS, which always takes the parallel path; on a machine
+ * with fewer cores that row shows the cost of the parallel bookkeeping.
+ *
+ * SubarraySumCounter is fed the input one value at a time and in chunks of
+ * STREAM_CHUNK, and with all TARGETS at once against one
+ * subArraySumOptimal pass per target.
+ *
+ * The windowed approaches run at every size in WINDOWS; on the wide input
+ * their B/op stays bounded by the window while subArraySumOptimal's grows
+ * with n.
+ *
+ * Example:
+ * java -Xmx8g HashingBenchmark -sizes 1K,100K,10M
+ */
+public class HashingBenchmark {
+
+    static final int CUBIC_LIMIT = 1_000;
+    static final int QUADRATIC_LIMIT = 100_000;
+    static final int BOXED_LIMIT = 10_000_000;
+    static final int PARALLEL_WORKERS = 4;
+    static final int STREAM_CHUNK = 4096;
+    static final long[] TARGETS = { 0, 15, -15, 100 };
+    static final int[] WINDOWS = { 16, 1024, 65536 };
+
+    public static void main(String[] args) {
+        BenchmarkRunner runner = new BenchmarkRunner(args);
+        register(runner);
+        runner.run();
+    }
+
+    /**
+     * Registers the hashing variants with the runner.
+     *
+     * @param runner The runner to register with.
+     */
+    static void register(BenchmarkRunner runner) {
+        BenchmarkRunner.InputFactory smallSigned = (size, distribution) -> InputGenerator.generate(distribution,
+                size, -10, 11, InputGenerator.DEFAULT_SEED);
+        BenchmarkRunner.InputFactory smallPositive = (size, distribution) -> InputGenerator.generate(distribution,
+                size, 1, 11, InputGenerator.DEFAULT_SEED);
+        BenchmarkRunner.InputFactory smallBits = (size, distribution) -> InputGenerator.generate(distribution,
+                size, 0, 16, InputGenerator.DEFAULT_SEED);
+        BenchmarkRunner.InputFactory wideSigned = (size, distribution) -> InputGenerator.generate(distribution,
+                size, -1_000_000, 1_000_001, InputGenerator.DEFAULT_SEED);
+        BenchmarkRunner.InputFactory ids = (size, distribution) -> InputGenerator.generate(distribution, size,
+                0, 2 * size, InputGenerator.DEFAULT_SEED);
+        BenchmarkRunner.InputFactory sparseIds = (size, distribution) -> InputGenerator.generate(distribution,
+                size, InputGenerator.DEFAULT_SEED);
+
+        LongestConsecutiveSequence_1 consecutive = new LongestConsecutiveSequence_1();
+        runner.add("LongestConsecutiveSequence_1.longestConsecutiveBrute", 10_000, ids,
+                consecutive::longestConsecutiveBrute);
+        runner.add("LongestConsecutiveSequence_1.longestConsecutiveBetter", BOXED_LIMIT, ids,
+                consecutive::longestConsecutiveBetter);
+        runner.add("LongestConsecutiveSequence_1.longestConsecutiveOptimal", BOXED_LIMIT, ids,
+                consecutive::longestConsecutiveOptimal);
+        ParallelLongestConsecutive parallel = new ParallelLongestConsecutive();
+        ParallelLongestConsecutive parallelFixed = new ParallelLongestConsecutive(
+                new ForkJoinPool(PARALLEL_WORKERS), ParallelLongestConsecutive.DEFAULT_SEQUENTIAL_THRESHOLD);
+        runner.add("ParallelLongestConsecutive.longestConsecutive", 100_000_000, ids,
+                parallel::longestConsecutive);
+        runner.add("ParallelLongestConsecutive " + PARALLEL_WORKERS + " workers", 100_000_000, ids,
+                parallelFixed::longestConsecutive);
+        runner.add("ParallelLongestConsecutive " + PARALLEL_WORKERS + " workers sparse ids", 100_000_000,
+                sparseIds, parallelFixed::longestConsecutive);
+        runner.add("LongestConsecutiveSequence_1.longestConsecutiveHashSet", BOXED_LIMIT, ids,
+                consecutive::longestConsecutiveHashSet);
+        runner.add("LongestConsecutiveSequence_1 with HashSet (before)", BOXED_LIMIT, ids,
+                HashingBenchmark::longestConsecutiveWithHashSet);
+        runner.add("LongestConsecutiveSequence_1 optimal sparse ids", BOXED_LIMIT, sparseIds,
+                consecutive::longestConsecutiveOptimal);
+        runner.add("LongestConsecutiveSequence_1 HashSet sparse (before)", BOXED_LIMIT, sparseIds,
+                HashingBenchmark::longestConsecutiveWithHashSet);
+
+        LongestSubArraySum_2 longest = new LongestSubArraySum_2();
+        runner.add("LongestSubArraySum_2.longestSubArrayBrute", CUBIC_LIMIT, smallSigned,
+                nums -> longest.longestSubArrayBrute(nums, 15));
+        runner.add("LongestSubArraySum_2.longestSubArrayOptimalPosAndNeg", BOXED_LIMIT, smallSigned,
+                nums -> longest.longestSubArrayOptimalPosAndNeg(nums, 15));
+        runner.add("LongestSubArraySum_2 PosAndNeg with HashMap (before)", BOXED_LIMIT, smallSigned,
+                nums -> longestSubArrayWithHashMap(nums, 15));
+        runner.add("LongestSubArraySum_2.longestSubArrayOptimalPos", 100_000_000, smallPositive,
+                nums -> longest.longestSubArrayOptimalPos(nums, 15));
+
+        CountSubArraySum_3 count = new CountSubArraySum_3();
+        runner.add("CountSubArraySum_3.subArraySumBrute", CUBIC_LIMIT, smallSigned,
+                nums -> count.subArraySumBrute(nums, 15));
+        runner.add("CountSubArraySum_3.subArraySumBetter", QUADRATIC_LIMIT, smallSigned,
+                nums -> count.subArraySumBetter(nums, 15));
+        runner.add("CountSubArraySum_3.subArraySumOptimal", BOXED_LIMIT, smallSigned,
+                nums -> count.subArraySumOptimal(nums, 15));
+        runner.add("CountSubArraySum_3 optimal with HashMap (before)", BOXED_LIMIT, smallSigned,
+                nums -> subArraySumWithHashMap(nums, 15));
+        runner.add("CountSubArraySum_3.subArraySumOptimal wide", BOXED_LIMIT, wideSigned,
+                nums -> count.subArraySumOptimal(nums, 15));
+        runner.add("CountSubArraySum_3 optimal with HashMap wide (before)", BOXED_LIMIT, wideSigned,
+                nums -> subArraySumWithHashMap(nums, 15));
+
+        runner.add("SubarraySumCounter.update one at a time", BOXED_LIMIT, smallSigned, nums -> {
+            SubarraySumCounter counter = new SubarraySumCounter(15);
+            for (int num : nums) {
+                counter.update(num);
+            }
+            return (int) counter.getCount(15);
+        });
+        runner.add("SubarraySumCounter.update 4K chunks", BOXED_LIMIT, smallSigned, nums -> {
+            SubarraySumCounter counter = new SubarraySumCounter(15);
+            for (int from = 0; from < nums.length; from += STREAM_CHUNK) {
+                counter.update(nums, from, Math.min(nums.length, from + STREAM_CHUNK));
+            }
+            return (int) counter.getCount(15);
+        });
+        runner.add("SubarraySumCounter " + TARGETS.length + " targets, 4K chunks", BOXED_LIMIT, smallSigned, nums -> {
+            SubarraySumCounter counter = new SubarraySumCounter(TARGETS);
+            for (int from = 0; from < nums.length; from += STREAM_CHUNK) {
+                counter.update(nums, from, Math.min(nums.length, from + STREAM_CHUNK));
+            }
+            return (int) counter.getCounts()[0];
+        });
+        runner.add("CountSubArraySum_3.subArraySumOptimal x" + TARGETS.length + " targets", BOXED_LIMIT, smallSigned,
+                nums -> {
+                    int total = 0;
+                    for (long target : TARGETS) {
+                        total += count.subArraySumOptimal(nums, (int) target);
+                    }
+                    return total;
+                });
+
+        for (int window : WINDOWS) {
+            runner.add("LongestSubArraySum_2.longestSubArrayWindowed W=" + window, BOXED_LIMIT, smallSigned,
+                    nums -> longest.longestSubArrayWindowed(nums, 15, window));
+            runner.add("CountSubArraySum_3.subArraySumWindowed W=" + window, BOXED_LIMIT, smallSigned,
+                    nums -> count.subArraySumWindowed(nums, 15, window));
+            runner.add("CountSubArraySum_3.subArraySumWindowed wide W=" + window, BOXED_LIMIT, wideSigned,
+                    nums -> count.subArraySumWindowed(nums, 15, window));
+            runner.add("SubarraySumCounter.windowed W=" + window + " 4K chunks", BOXED_LIMIT, smallSigned, nums -> {
+                SubarraySumCounter counter = SubarraySumCounter.windowed(window, 15);
+                for (int from = 0; from < nums.length; from += STREAM_CHUNK) {
+                    counter.update(nums, from, Math.min(nums.length, from + STREAM_CHUNK));
+                }
+                return (int) counter.getCount(15);
+            });
+        }
+
+        CountSubArraySumXOR_4 xor = new CountSubArraySumXOR_4();
+        runner.add("CountSubArraySumXOR_4.subArraysWithXorKBrute", CUBIC_LIMIT, smallBits,
+                nums -> xor.subArraysWithXorKBrute(nums, 6));
+        runner.add("CountSubArraySumXOR_4.subArraysWithXorKBetter", QUADRATIC_LIMIT, smallBits,
+                nums -> xor.subArraysWithXorKBetter(nums, 6));
+        runner.add("CountSubArraySumXOR_4.subArraysWithXorKOptimal", BOXED_LIMIT, smallBits,
+                nums -> xor.subArraysWithXorKOptimal(nums, 6));
+        runner.add("CountSubArraySumXOR_4 optimal with HashMap (before)", BOXED_LIMIT, smallBits,
+                nums -> subArraysWithXorKWithHashMap(nums, 6));
+        for (int window : WINDOWS) {
+            runner.add("CountSubArraySumXOR_4.subArraysWithXorKWindowed W=" + window, BOXED_LIMIT, smallBits,
+                    nums -> xor.subArraysWithXorKWindowed(nums, 6, window));
+        }
+    }
+
+    /**
+     * LongestConsecutiveSequence_1.longestConsecutiveOptimal on a HashSet, as it was before the bitmap and IntHashSet.
+     */
+    static int longestConsecutiveWithHashSet(int[] nums) {
+        if (nums.length == 0) {
+            return 0;
+        }
+        Set<Integer> elements = new HashSet<>();
+        for (int num : nums) {
+            elements.add(num);
+        }
+        int maxLength = 1;
+        for (int num : elements) {
+            if (!elements.contains(num - 1)) {
+                int currentNum = num;
+                int currentLength = 1;
+                while (elements.contains(currentNum + 1)) {
+                    currentNum++;
+                    currentLength++;
+                }
+                maxLength = Math.max(maxLength, currentLength);
+            }
+        }
+        return maxLength;
+    }
+
+    /**
+     * CountSubArraySum_3.subArraySumOptimal on a HashMap, as it was before IntIntMap.
+     */
+    static int subArraySumWithHashMap(int[] nums, int k) {
+        int currentPrefixSum = 0;
+        int subArrayCount = 0;
+        Map<Integer, Integer> prefixSumMap = new HashMap<>();
+        prefixSumMap.put(0, 1);
+        for (int num : nums) {
+            currentPrefixSum += num;
+            subArrayCount += prefixSumMap.getOrDefault(currentPrefixSum - k, 0);
+            prefixSumMap.put(currentPrefixSum, prefixSumMap.getOrDefault(currentPrefixSum, 0) + 1);
+        }
+        return subArrayCount;
+    }
+
+    /**
+     * CountSubArraySumXOR_4.subArraysWithXorKOptimal on a HashMap, as it was before IntIntMap.
+     */
+    static int subArraysWithXorKWithHashMap(int[] nums, int k) {
+        int xor = 0;
+        int count = 0;
+        Map<Integer, Integer> prefixXorFreq = new HashMap<>();
+        prefixXorFreq.put(0, 1);
+        for (int num : nums) {
+            xor ^= num;
+            count += prefixXorFreq.getOrDefault(xor ^ k, 0);
+            prefixXorFreq.put(xor, prefixXorFreq.getOrDefault(xor, 0) + 1);
+        }
+        return count;
+    }
+
+    /**
+     * LongestSubArraySum_2.longestSubArrayOptimalPosAndNeg on a HashMap, as it was before IntIntMap.
+     */
+    static int longestSubArrayWithHashMap(int[] nums, int k) {
+        int maxLength = 0;
+        int sum = 0;
+        Map<Integer, Integer> prefixSumMap = new HashMap<>();
+        for (int i = 0; i < nums.length; i++) {
+            sum += nums[i];
+            if (sum == k) {
+                maxLength = Math.max(maxLength, i + 1);
+            }
+            int remainder = sum - k;
+            if (prefixSumMap.containsKey(remainder)) {
+                maxLength = Math.max(maxLength, i - prefixSumMap.get(remainder));
+            }
+            if (!prefixSumMap.containsKey(sum)) {
+                prefixSumMap.put(sum, i);
+            }
+        }
+        return maxLength;
+    }
+}
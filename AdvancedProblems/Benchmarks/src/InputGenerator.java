@@ -0,0 +1,141 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates deterministic benchmark inputs.
+ *
+ * Every array is derived from a fixed seed so that two runs (or two variants
+ * inside one run) always see exactly the same data for a given size and
+ * distribution.
+ *
+ * Distributions:
+ * - RANDOM: uniformly random ints (full int range unless a range is given).
+ * - SORTED: RANDOM sorted ascending.
+ * - REVERSED: RANDOM sorted descending.
+ * - FEW_UNIQUES: random values drawn from only 16 distinct keys.
+ *
+ * {@link #nearlySorted} additionally creates presorted inputs with a chosen
+ * amount of disorder, such as append-only logs with late arrivals.
+ */
+public class InputGenerator {
+
+    /**
+     * Shapes of input data the benchmarks are parameterized over.
+     */
+    public enum Distribution {
+        RANDOM, SORTED, REVERSED, FEW_UNIQUES
+    }
+
+    public static final long DEFAULT_SEED = 0x5DEECE66DL;
+
+    /**
+     * Creates an array of the given size and distribution.
+     *
+     * @param distribution The shape of the data.
+     * @param size         The number of elements.
+     * @param seed         The random seed.
+     * @return A freshly allocated array.
+     */
+    public static int[] generate(Distribution distribution, int size, long seed) {
+        return generate(distribution, size, Integer.MIN_VALUE, Integer.MAX_VALUE, seed);
+    }
+
+    /**
+     * Creates an array of the given size and distribution whose values lie in
+     * the range [origin, bound). Useful for problems that need small values,
+     * such as subarray sums that should actually hit their target.
+     *
+     * @param distribution The shape of the data.
+     * @param size         The number of elements.
+     * @param origin       The smallest value (inclusive).
+     * @param bound        The upper bound (exclusive).
+     * @param seed         The random seed.
+     * @return A freshly allocated array.
+     */
+    public static int[] generate(Distribution distribution, int size, int origin, int bound, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] nums = new int[size];
+
+        if (distribution == Distribution.FEW_UNIQUES) {
+            int[] keys = new int[16];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextInt(origin, bound);
+            }
+            for (int i = 0; i < size; i++) {
+                nums[i] = keys[random.nextInt(keys.length)];
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                nums[i] = random.nextInt(origin, bound);
+            }
+        }
+
+        if (distribution == Distribution.SORTED || distribution == Distribution.REVERSED) {
+            Arrays.sort(nums);
+        }
+        if (distribution == Distribution.REVERSED) {
+            reverse(nums);
+        }
+        return nums;
+    }
+
+    /**
+     * Creates a SORTED array in which the given fraction of elements has been
+     * swapped with a random later element at most {@code maxDisplacement}
+     * positions away, modelling late arrivals in an append-only log.
+     *
+     * @param size            The number of elements.
+     * @param disorder        The fraction of elements to displace, between 0 and 1.
+     * @param maxDisplacement The largest distance an element is moved.
+     * @param seed            The random seed.
+     * @return A freshly allocated array.
+     */
+    public static int[] nearlySorted(int size, double disorder, int maxDisplacement, long seed) {
+        int[] nums = generate(Distribution.SORTED, size, seed);
+        SplittableRandom random = new SplittableRandom(seed ^ 0x9E3779B97F4A7C15L);
+        long swaps = (long) (size * disorder / 2);
+        for (long s = 0; s < swaps && size > 1; s++) {
+            int i = random.nextInt(size - 1);
+            int j = Math.min(size - 1, i + 1 + random.nextInt(maxDisplacement));
+            int temp = nums[i];
+            nums[i] = nums[j];
+            nums[j] = temp;
+        }
+        return nums;
+    }
+
+    /**
+     * Creates a random permutation of 0..size-1.
+     *
+     * @param size The number of elements.
+     * @param seed The random seed.
+     * @return A freshly allocated array.
+     */
+    public static int[] permutation(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] nums = new int[size];
+        for (int i = 0; i < size; i++) {
+            nums[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = nums[i];
+            nums[i] = nums[j];
+            nums[j] = temp;
+        }
+        return nums;
+    }
+
+    /**
+     * Reverses the array in place.
+     *
+     * @param nums The array to reverse.
+     */
+    public static void reverse(int[] nums) {
+        for (int i = 0, j = nums.length - 1; i < j; i++, j--) {
+            int temp = nums[i];
+            nums[i] = nums[j];
+            nums[j] = temp;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+import java.util.Arrays;
+
+/**
+ * Benchmarks every sorting implementation in the Sorting module.
+ *
+ * Quadratic sorts are capped at 100K elements; larger sizes are skipped for
+ * them automatically. QuickSort_5.quickSort picks the first element as pivot,
+ * so on SORTED, REVERSED and FEW_UNIQUES inputs it degrades to O(n^2) and may
+ * run out of stack, which the runner reports instead of aborting. introSort
+ * stays O(n log n) for every pivot strategy.
+ *
+ * The "blocks of" rows compare the SortingNetwork base-case kernel with
+ * insertion sort by sorting every consecutive block of an array.
+ *
+ * The "disorder" rows run the adaptive sorts on SORTED input in which a given
+ * percentage of elements arrived late (see InputGenerator.nearlySorted).
+ *
+ * Example:
+ * java -Xmx8g -Xss64m SortingBenchmark -sizes 1K,10K,100K,1M -dist RANDOM,SORTED
+ */
+public class SortingBenchmark {
+
+    static final int QUADRATIC_LIMIT = 100_000;
+
+    /**
+     * Percentages of displaced elements used for the presortedness rows.
+     */
+    static final double[] DISORDER_PERCENTAGES = { 0, 0.1, 1, 10 };
+
+    /**
+     * How far a late element may land from its sorted position.
+     */
+    static final int MAX_DISPLACEMENT = 1024;
+
+    public static void main(String[] args) {
+        BenchmarkRunner runner = new BenchmarkRunner(args);
+        register(runner);
+        runner.run();
+    }
+
+    /**
+     * Registers the sorting variants with the runner.
+     *
+     * @param runner The runner to register with.
+     */
+    static void register(BenchmarkRunner runner) {
+        SelectionSort_1 selectionSort = new SelectionSort_1();
+        BubbleSort_2 bubbleSort = new BubbleSort_2();
+        InsertionSort_3 insertionSort = new InsertionSort_3();
+        MergeSort_4 mergeSort = new MergeSort_4();
+        QuickSort_5 quickSort = new QuickSort_5();
+        RadixSort_6 radixSort = new RadixSort_6();
+        TimSort_7 timSort = new TimSort_7();
+
+        runner.add("SelectionSort_1.selectionSort", QUADRATIC_LIMIT, nums -> selectionSort.selectionSort(nums)[0]);
+        runner.add("BubbleSort_2.bubbleSortBrute_1", QUADRATIC_LIMIT, nums -> bubbleSort.bubbleSortBrute_1(nums)[0]);
+        runner.add("BubbleSort_2.bubbleSortBrute_2", QUADRATIC_LIMIT, nums -> bubbleSort.bubbleSortBrute_2(nums)[0]);
+        runner.add("BubbleSort_2.bubbleSortOptimal", QUADRATIC_LIMIT, nums -> bubbleSort.bubbleSortOptimal(nums)[0]);
+        runner.add("BubbleSort_2.bubbleSortLastSwap", QUADRATIC_LIMIT,
+                nums -> bubbleSort.bubbleSortLastSwap(nums)[0]);
+        runner.add("BubbleSort_2.cocktailShakerSort", QUADRATIC_LIMIT,
+                nums -> bubbleSort.cocktailShakerSort(nums)[0]);
+        runner.add("InsertionSort_3.insertionSort", QUADRATIC_LIMIT, nums -> insertionSort.insertionSort(nums)[0]);
+        runner.add("MergeSort_4.mergeSort", 10_000_000, nums -> mergeSort.mergeSort(nums)[0]);
+        runner.add("MergeSort_4.mergeSortOptimal", 100_000_000, nums -> mergeSort.mergeSortOptimal(nums)[0]);
+        int[][] mergeBuffer = { new int[0] };
+        runner.add("MergeSort_4.mergeSortOptimal (reused buffer)", 100_000_000, nums -> {
+            if (mergeBuffer[0].length < (nums.length + 1) / 2) {
+                mergeBuffer[0] = new int[(nums.length + 1) / 2];
+            }
+            return mergeSort.mergeSortOptimal(nums, mergeBuffer[0])[0];
+        });
+        ParallelMergeSort parallelMergeSort = new ParallelMergeSort();
+        runner.add("ParallelMergeSort.parallelMergeSort", 100_000_000,
+                nums -> parallelMergeSort.parallelMergeSort(nums)[0]);
+        runner.add("QuickSort_5.quickSort", 100_000_000, nums -> quickSort.quickSort(nums)[0]);
+        runner.add("QuickSort_5.introSort MEDIAN_OF_THREE", 100_000_000,
+                nums -> quickSort.introSort(nums, QuickSort_5.PivotStrategy.MEDIAN_OF_THREE)[0]);
+        runner.add("QuickSort_5.introSort NINTHER", 100_000_000,
+                nums -> quickSort.introSort(nums, QuickSort_5.PivotStrategy.NINTHER)[0]);
+        runner.add("QuickSort_5.introSort RANDOMIZED", 100_000_000,
+                nums -> quickSort.introSort(nums, QuickSort_5.PivotStrategy.RANDOMIZED)[0]);
+        runner.add("QuickSort_5.introSort FIRST (heapsort fallback)", 100_000_000,
+                nums -> quickSort.introSort(nums, QuickSort_5.PivotStrategy.FIRST)[0]);
+        runner.add("QuickSort_5.dualPivotQuickSort", 100_000_000, nums -> quickSort.dualPivotQuickSort(nums)[0]);
+        runner.add("QuickSort_5.parallelQuickSort", 100_000_000, nums -> quickSort.parallelQuickSort(nums)[0]);
+        runner.add("TimSort_7.timSort", 100_000_000, nums -> timSort.timSort(nums)[0]);
+        runner.add("RadixSort_6.lsdRadixSort", 100_000_000, nums -> radixSort.lsdRadixSort(nums)[0]);
+        runner.add("RadixSort_6.lsdRadixSort 8-bit", 100_000_000, nums -> radixSort.lsdRadixSort(nums, 8)[0]);
+        runner.add("RadixSort_6.lsdRadixSort 11-bit", 100_000_000, nums -> radixSort.lsdRadixSort(nums, 11)[0]);
+        runner.add("RadixSort_6.msdRadixSort", 100_000_000, nums -> radixSort.msdRadixSort(nums)[0]);
+        SorterRegistry sorterRegistry = new SorterRegistry();
+        runner.add("SorterRegistry.sort (engine picked per input profile)", 100_000_000, nums -> {
+            sorterRegistry.sort(nums);
+            return nums[0];
+        });
+        runner.add("java.util.Arrays.sort (baseline)", 100_000_000, nums -> {
+            Arrays.sort(nums);
+            return nums[0];
+        });
+        runner.add("java.util.Arrays.parallelSort (baseline)", 100_000_000, nums -> {
+            Arrays.parallelSort(nums);
+            return nums[0];
+        });
+
+        PartialSort partialSort = new PartialSort();
+        runner.add("PartialSort.smallestK k=10", 100_000_000, nums -> partialSort.smallestK(nums, 10)[0]);
+        runner.add("PartialSort.smallestK k=n/100", 100_000_000,
+                nums -> partialSort.smallestK(nums, Math.max(1, nums.length / 100))[0]);
+        runner.add("PartialSort.partialSort k=n/2", 100_000_000,
+                nums -> partialSort.partialSort(nums, nums.length / 2)[0]);
+        runner.add("PartialSort.largestK k=n/100", 100_000_000,
+                nums -> partialSort.largestK(nums, Math.max(1, nums.length / 100))[0]);
+
+        OrderStatistics orderStatistics = new OrderStatistics();
+        runner.add("OrderStatistics.nthElement median", 100_000_000,
+                nums -> orderStatistics.nthElement(nums, nums.length / 2));
+        runner.add("OrderStatistics.quantiles p50/p90/p99", 100_000_000,
+                nums -> orderStatistics.quantiles(nums, 0.5, 0.9, 0.99)[0]);
+        runner.add("java.util.Arrays.sort p50/p90/p99 (baseline)", 100_000_000, nums -> {
+            Arrays.sort(nums);
+            return nums[nums.length / 2] + nums[nums.length * 9 / 10] + nums[nums.length * 99 / 100];
+        });
+
+        for (int block = 8; block <= SortingNetwork.MAX_SIZE; block <<= 1) {
+            int blockSize = block;
+            runner.add("SortingNetwork.sort [blocks of " + blockSize + "]", 10_000_000, nums -> {
+                for (int from = 0; from + blockSize <= nums.length; from += blockSize) {
+                    SortingNetwork.sort(nums, from, from + blockSize);
+                }
+                return nums[0];
+            });
+            runner.add("QuickSort_5.insertionSort [blocks of " + blockSize + "]", 10_000_000, nums -> {
+                for (int from = 0; from + blockSize <= nums.length; from += blockSize) {
+                    QuickSort_5.insertionSort(nums, from, from + blockSize - 1);
+                }
+                return nums[0];
+            });
+        }
+
+        for (double percentage : DISORDER_PERCENTAGES) {
+            String disorder = " [" + percentage + "% disorder]";
+            BenchmarkRunner.InputFactory inputs = (size, distribution) -> InputGenerator.nearlySorted(size,
+                    percentage / 100, MAX_DISPLACEMENT, InputGenerator.DEFAULT_SEED);
+            runner.addFixed("TimSort_7.timSort" + disorder, 100_000_000, inputs, nums -> timSort.timSort(nums)[0]);
+            runner.addFixed("MergeSort_4.mergeSortOptimal" + disorder, 100_000_000, inputs,
+                    nums -> mergeSort.mergeSortOptimal(nums)[0]);
+            runner.addFixed("QuickSort_5.introSort" + disorder, 100_000_000, inputs,
+                    nums -> quickSort.introSort(nums)[0]);
+            runner.addFixed("BubbleSort_2.bubbleSortOptimal" + disorder, QUADRATIC_LIMIT, inputs,
+                    nums -> bubbleSort.bubbleSortOptimal(nums)[0]);
+            runner.addFixed("BubbleSort_2.bubbleSortLastSwap" + disorder, QUADRATIC_LIMIT, inputs,
+                    nums -> bubbleSort.bubbleSortLastSwap(nums)[0]);
+            runner.addFixed("BubbleSort_2.cocktailShakerSort" + disorder, QUADRATIC_LIMIT, inputs,
+                    nums -> bubbleSort.cocktailShakerSort(nums)[0]);
+            runner.addFixed("InsertionSort_3.insertionSort" + disorder, QUADRATIC_LIMIT, inputs,
+                    nums -> insertionSort.insertionSort(nums)[0]);
+            runner.addFixed("InsertionSort_3.binaryInsertionSort" + disorder, QUADRATIC_LIMIT, inputs,
+                    nums -> insertionSort.binaryInsertionSort(nums, 0, nums.length)[0]);
+            runner.addFixed("java.util.Arrays.sort" + disorder, 100_000_000, inputs, nums -> {
+                Arrays.sort(nums);
+                return nums[0];
+            });
+        }
+    }
+}
@@ -0,0 +1,149 @@
+import streaming.QuantileSketch_1;
+
+/**
+ * Benchmarks the streaming summaries in the Arrays module against the exact
+ * answer: sorting a copy with {@link QuickSort_5} and reading the quantiles by
+ * index.
+ *
+ * Before the timed runs an accuracy table is printed: for every distribution
+ * and requested size up to SORT_LIMIT it shows the normalized rank error of
+ * the sketch's p50/p90/p99, i.e. how far the true rank of the reported value
+ * is from the requested one, as a fraction of n.
+ *
+ * Example:
+ * java -Xmx8g StreamingBenchmark -sizes 1K,1M,10M -filter QuantileSketch
+ */
+public class StreamingBenchmark {
+
+    static final int LINEAR_LIMIT = 100_000_000;
+    static final int SORT_LIMIT = 10_000_000;
+
+    /**
+     * Number of per-thread sketches in the merge variant.
+     */
+    static final int SHARDS = 4;
+
+    static final double[] PERCENTILES = { 0.5, 0.9, 0.99 };
+
+    public static void main(String[] args) {
+        BenchmarkRunner runner = new BenchmarkRunner(args);
+        printAccuracy(runner.getSizes());
+        register(runner);
+        runner.run();
+    }
+
+    /**
+     * Registers the streaming variants with the runner.
+     *
+     * @param runner The runner to register with.
+     */
+    static void register(BenchmarkRunner runner) {
+        runner.add("QuantileSketch_1.update one at a time + p50/p90/p99", LINEAR_LIMIT, nums -> {
+            QuantileSketch_1 sketch = new QuantileSketch_1(QuantileSketch_1.DEFAULT_K, InputGenerator.DEFAULT_SEED);
+            for (int num : nums) {
+                sketch.update(num);
+            }
+            return sketch.quantiles(PERCENTILES)[2];
+        });
+        runner.add("QuantileSketch_1.update batch + p50/p90/p99", LINEAR_LIMIT, nums -> {
+            QuantileSketch_1 sketch = new QuantileSketch_1(QuantileSketch_1.DEFAULT_K, InputGenerator.DEFAULT_SEED);
+            sketch.update(nums);
+            return sketch.quantiles(PERCENTILES)[2];
+        });
+        runner.add("QuantileSketch_1.merge of " + SHARDS + " shard sketches + p50/p90/p99", LINEAR_LIMIT,
+                nums -> shardedSketch(nums).quantiles(PERCENTILES)[2]);
+
+        QuickSort_5 quickSort = new QuickSort_5();
+        runner.add("QuickSort_5.introSort then index p50/p90/p99 (exact)", SORT_LIMIT, nums -> {
+            quickSort.introSort(nums);
+            return nums[OrderStatistics.rankOf(PERCENTILES[2], nums.length)];
+        });
+    }
+
+    /**
+     * Builds one sketch per shard of the input, as SHARDS worker threads would,
+     * and merges them into the first.
+     */
+    static QuantileSketch_1 shardedSketch(int[] nums) {
+        QuantileSketch_1[] sketches = new QuantileSketch_1[SHARDS];
+        for (int shard = 0; shard < SHARDS; shard++) {
+            sketches[shard] = new QuantileSketch_1(QuantileSketch_1.DEFAULT_K, InputGenerator.DEFAULT_SEED + shard);
+            int from = (int) ((long) nums.length * shard / SHARDS);
+            int to = (int) ((long) nums.length * (shard + 1) / SHARDS);
+            sketches[shard].update(nums, from, to);
+        }
+        for (int shard = 1; shard < SHARDS; shard++) {
+            sketches[0].merge(sketches[shard]);
+        }
+        return sketches[0];
+    }
+
+    /**
+     * Prints the normalized rank error of the sketch estimates for every
+     * distribution and size, for a single sketch and for merged shards. Sizes
+     * above SORT_LIMIT are left out, since the exact answer sorts a copy.
+     *
+     * @param sizes The input sizes to report.
+     */
+    static void printAccuracy(int[] sizes) {
+        System.out.println("QuantileSketch_1 rank error (k = " + QuantileSketch_1.DEFAULT_K + ")");
+        System.out.printf("%-12s %12s %8s %12s %12s %10s%n", "distribution", "size", "p", "sketch err",
+                "merged err", "retained");
+        for (InputGenerator.Distribution distribution : InputGenerator.Distribution.values()) {
+            for (int size : sizes) {
+                if (size > SORT_LIMIT) {
+                    continue;
+                }
+                int[] nums = InputGenerator.generate(distribution, size, InputGenerator.DEFAULT_SEED);
+                QuantileSketch_1 single = new QuantileSketch_1(QuantileSketch_1.DEFAULT_K,
+                        InputGenerator.DEFAULT_SEED);
+                single.update(nums);
+                QuantileSketch_1 merged = shardedSketch(nums);
+
+                int[] estimates = single.quantiles(PERCENTILES);
+                int[] mergedEstimates = merged.quantiles(PERCENTILES);
+                int[] sorted = nums.clone();
+                new QuickSort_5().introSort(sorted);
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    System.out.printf("%-12s %12d %8.2f %11.3f%% %11.3f%% %10d%n", distribution, size,
+                            PERCENTILES[i], 100 * rankError(sorted, estimates[i], PERCENTILES[i]),
+                            100 * rankError(sorted, mergedEstimates[i], PERCENTILES[i]), single.getRetained());
+                }
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Returns the distance between the requested quantile p and the range of
+     * normalized ranks the value occupies in the sorted array; 0 if any copy of
+     * the value sits at rank p.
+     */
+    static double rankError(int[] sorted, int value, double p) {
+        int n = sorted.length;
+        int target = OrderStatistics.rankOf(p, n);
+        int first = lowerBound(sorted, value);
+        int last = lowerBound(sorted, value + 1L) - 1;
+        if (target < first) {
+            return (double) (first - target) / n;
+        }
+        if (target > last) {
+            return (double) (target - last) / n;
+        }
+        return 0;
+    }
+
+    private static int lowerBound(int[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -1,5 +1,7 @@
 package fundamentals;
 
+import java.util.Arrays;
+
 /**
  * This class provides two approaches to perform Binary Search on a sorted array.
  *
@@ -10,11 +12,20 @@ package fundamentals;
  * Approaches:
  * 1. Iterative Approach - Uses a while loop to perform binary search.
  * 2. Recursive Approach - Uses recursion to divide and search in the array.
+ * 3. Branchless Approach - Halves the range a fixed number of times and picks
+ *    the half with a conditional move instead of a branch, so there are no
+ *    mispredictions (see also {@link EytzingerIndex} for a cache-friendly
+ *    layout).
+ * 4. Batched Approach - searchAll runs many branchless searches in lockstep
+ *    so their cache misses overlap; searchAllSorted gallops forward from the
+ *    previous hit when the keys are ascending.
  *
  * Time Complexity: O(log n)
  * Space Complexity:
  * - Iterative Approach: O(1)
  * - Recursive Approach: O(log n) due to recursion stack
+ * - Branchless Approach: O(1)
+ * - Batched Approach: O(1) besides the output array
  *
  * Example:
  * Input: nums = [-1, 0, 3, 5, 9, 12], target = 9
@@ -22,6 +33,13 @@ package fundamentals;
  */
 public class BinarySearch_1 {
 
+    /**
+     * Number of searches searchAll keeps in flight at once. Each round issues
+     * this many independent loads, enough to cover DRAM latency with the
+     * memory-level parallelism of current CPUs.
+     */
+    static final int INTERLEAVE = 16;
+
     /**
      * Iterative approach to perform binary search.
      *
@@ -85,6 +103,136 @@ public class BinarySearch_1 {
         return binarySearchRecursive(nums, 0, n - 1, target);
     }
 
+    /**
+     * Branchless binary search. The loop keeps base, the start of the
+     * candidate range, and its length; every round it compares the middle of
+     * the range and moves base forward or not. The number of rounds depends
+     * only on n, and the comparison result feeds a select rather than a jump,
+     * which the JIT compiles to a conditional move. On large arrays the
+     * random branches of the iterative approach mispredict about half of the
+     * time; this version pays the memory latency of each probe instead.
+     *
+     * @param nums   The sorted input array
+     * @param target The value to search for
+     * @return The index of the first occurrence of target if found; otherwise, -1
+     */
+    public int binarySearchBranchless(int[] nums, int target) {
+        int n = nums.length;
+        if (n == 0) {
+            return -1;
+        }
+
+        // Invariant: every element before base is < target, and the lower
+        // bound lies in nums[base...base+length-1].
+        int base = 0;
+        int length = n;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = nums[base + half - 1] < target ? base + half : base;
+            length -= half;
+        }
+
+        return nums[base] == target ? base : -1;
+    }
+
+    /**
+     * Searches for every key. The keys are processed in groups of INTERLEAVE:
+     * the branchless search of {@link #binarySearchBranchless} takes the same
+     * number of rounds for every key, so a group advances in lockstep and the
+     * probes of one round are independent loads the CPU can have outstanding
+     * at the same time. A loop of single searches waits for each miss in turn.
+     *
+     * @param sorted The sorted input array
+     * @param keys   The values to search for, in any order
+     * @param out    Receives, for each key, the index of its first occurrence or -1
+     * @return out
+     */
+    public int[] searchAll(int[] sorted, int[] keys, int[] out) {
+        checkOutput(keys, out);
+        int n = sorted.length;
+        if (n == 0) {
+            Arrays.fill(out, 0, keys.length, -1);
+            return out;
+        }
+
+        int[] base = new int[INTERLEAVE];
+        for (int start = 0; start < keys.length; start += INTERLEAVE) {
+            int count = Math.min(INTERLEAVE, keys.length - start);
+            Arrays.fill(base, 0, count, 0);
+
+            int length = n;
+            while (length > 1) {
+                int half = length >>> 1;
+                for (int j = 0; j < count; j++) {
+                    int b = base[j];
+                    base[j] = sorted[b + half - 1] < keys[start + j] ? b + half : b;
+                }
+                length -= half;
+            }
+
+            for (int j = 0; j < count; j++) {
+                out[start + j] = sorted[base[j]] == keys[start + j] ? base[j] : -1;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Searches for every key of an ascending key array. Each search starts at
+     * the lower bound of the previous key and gallops forward (1, 2, 4, ...
+     * elements) until it passes the key, then binary searches the last step.
+     * A key d positions after the previous hit costs O(log d) probes, all
+     * close to memory that was just touched, so a sorted batch of m keys costs
+     * O(m log(n / m)) instead of O(m log n).
+     *
+     * @param sorted The sorted input array
+     * @param keys   The values to search for, in ascending order
+     * @param out    Receives, for each key, the index of its first occurrence or -1
+     * @return out
+     */
+    public int[] searchAllSorted(int[] sorted, int[] keys, int[] out) {
+        checkOutput(keys, out);
+        int n = sorted.length;
+        int position = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            int key = keys[i];
+            if (i > 0 && key < keys[i - 1]) {
+                throw new IllegalArgumentException(
+                        "Keys must be ascending, but keys[" + i + "] < keys[" + (i - 1) + "]");
+            }
+
+            // Invariant: every element before low is < key; sorted[high] >= key or high == n.
+            int low = position;
+            int high = position;
+            long step = 1;
+            while (high < n && sorted[high] < key) {
+                low = high + 1;
+                high = (int) Math.min(position + step, n);
+                step <<= 1;
+            }
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sorted[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            position = low;
+            out[i] = position < n && sorted[position] == key ? position : -1;
+        }
+        return out;
+    }
+
+    private static void checkOutput(int[] keys, int[] out) {
+        if (out.length < keys.length) {
+            throw new IllegalArgumentException("Output holds " + out.length + " results, need " + keys.length);
+        }
+    }
+
     public static void main(String[] args) {
         BinarySearch_1 binarySearch_1 = new BinarySearch_1();
         int[] nums = { -1, 0, 3, 5, 9, 12 };
@@ -92,5 +240,14 @@ public class BinarySearch_1 {
 
         System.out.println("Iterative Approach Result: " + binarySearch_1.binarySearchIterativeApproach(nums, target));
         System.out.println("Recursive Approach Result: " + binarySearch_1.binarySearchRecursiveApproach(nums, target));
+        System.out.println("Branchless Approach Result: " + binarySearch_1.binarySearchBranchless(nums, target));
+        System.out.println("Eytzinger Index Result: " + new EytzingerIndex(nums).search(target));
+
+        int[] keys = { 12, -1, 4, 9 };
+        int[] out = new int[keys.length];
+        System.out.println("Batched Results: " + Arrays.toString(binarySearch_1.searchAll(nums, keys, out)));
+        int[] sortedKeys = { -1, 3, 4, 12 };
+        System.out.println("Sorted Batch Results: "
+                + Arrays.toString(binarySearch_1.searchAllSorted(nums, sortedKeys, out)));
     }
 }
@@ -0,0 +1,165 @@
+package fundamentals;
+
+/**
+ * A static search index over a sorted array, stored in Eytzinger (breadth-first)
+ * order.
+ *
+ * Layout:
+ * The sorted values are placed as an implicit complete binary search tree:
+ * the root is at index 1 and the children of node k are at 2k and 2k + 1.
+ * A search walks down from the root, so its first probes always hit the same
+ * few cache lines at the start of the array, which stay in L1. Further down,
+ * the four generations below a node (16 nodes) are contiguous, so one cache
+ * line holds several future probes; a plain sorted array spreads the first
+ * log n probes over log n different lines.
+ *
+ * Search:
+ * Every round goes to child 2k or 2k + 1. When k falls off the tree, the lower
+ * bound is the last node where the search went left: shifting out the
+ * trailing one-bits of k and one more bit recovers it. The tree is padded with
+ * +infinity slots up to a full last level, so every descent runs the same
+ * number of rounds, and the sorted position of a node follows from its index
+ * without a lookup table.
+ *
+ * Java has no prefetch instruction, so the descent style depends on size:
+ * - Trees of up to 2^BRANCHLESS_MAX_LEVELS slots (1 MB, cache resident) use
+ *   k = 2k + (tree[k] < target), which compiles to a conditional move: no
+ *   mispredictions, and every load hits the cache.
+ * - Larger trees use an if/else. A mispredicted branch costs a pipeline
+ *   flush, but a predicted one lets the CPU issue the next level's load
+ *   speculatively, which acts as the missing prefetch; with a conditional
+ *   move every DRAM miss waits for the previous one.
+ *
+ * Time Complexity: O(n) to build, O(log n) per lookup.
+ * Space Complexity: O(n), at most 2n slots including the padding.
+ *
+ * Example:
+ * Sorted: [1, 2, 4, 4, 5, 6, 8]
+ * Tree (from index 1): [4, 2, 6, 1, 4, 5, 8]
+ */
+public class EytzingerIndex {
+
+    private final int n;
+
+    /**
+     * tree[1...size-1] holds the values in Eytzinger order; padding slots hold
+     * Integer.MAX_VALUE and are never reported.
+     */
+    private final int[] tree;
+
+    /**
+     * The largest padded tree: 2^30 slots, the biggest power of two an int[] can hold.
+     */
+    static final int MAX_SLOTS = 1 << 30;
+
+    /**
+     * Trees with more levels than this use the branching descent.
+     */
+    static final int BRANCHLESS_MAX_LEVELS = 18;
+
+    /**
+     * Number of rounds of every descent: the height of the padded tree.
+     */
+    private final int levels;
+
+    /**
+     * Builds the index from a sorted array. The array is not modified or kept.
+     *
+     * @param sorted The sorted input array, with fewer than MAX_SLOTS elements
+     */
+    public EytzingerIndex(int[] sorted) {
+        this.n = sorted.length;
+        long slots = Long.highestOneBit(Math.max(n, 1)) << 1;
+        if (slots > MAX_SLOTS) {
+            throw new IllegalArgumentException("An EytzingerIndex holds at most " + (MAX_SLOTS - 1)
+                    + " elements, got " + n);
+        }
+        int size = (int) slots;
+        this.levels = Integer.numberOfTrailingZeros(size);
+        this.tree = new int[size];
+
+        for (int k = 1; k < size; k++) {
+            int i = sortedPosition(k);
+            tree[k] = i < n ? sorted[i] : Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Returns the in-order position of node k in the full tree, which is its
+     * index in the sorted array (n or more for padding). The node at the
+     * given offset within depth d sits in the middle of the offset-th block
+     * of 2^(levels - d) in-order positions.
+     */
+    private int sortedPosition(int k) {
+        int depth = 31 - Integer.numberOfLeadingZeros(k);
+        int offset = k - (1 << depth);
+        return ((2 * offset + 1) << (levels - 1 - depth)) - 1;
+    }
+
+    /**
+     * Returns the lower bound of target: the index in the sorted array of the
+     * first element >= target, or n if there is none.
+     *
+     * @param target The value to search for
+     * @return The sorted index of the first element greater than or equal to target
+     */
+    public int lowerBound(int target) {
+        int k = descend(target);
+        return k == 0 ? n : Math.min(sortedPosition(k), n);
+    }
+
+    /**
+     * Searches for target.
+     *
+     * @param target The value to search for
+     * @return The index of the first occurrence of target in the sorted array if found; otherwise, -1
+     */
+    public int search(int target) {
+        int k = descend(target);
+        if (k == 0 || tree[k] != target) {
+            return -1;
+        }
+        int position = sortedPosition(k);
+        return position < n ? position : -1;
+    }
+
+    /**
+     * Walks from the root to a leaf and returns the tree index of the first
+     * node >= target, or 0 if every node is smaller.
+     */
+    private int descend(int target) {
+        int k = 1;
+        if (levels <= BRANCHLESS_MAX_LEVELS) {
+            for (int level = 0; level < levels; level++) {
+                k = 2 * k + (tree[k] < target ? 1 : 0);
+            }
+        } else {
+            for (int level = 0; level < levels; level++) {
+                if (tree[k] < target) {
+                    k = 2 * k + 1;
+                } else {
+                    k = 2 * k;
+                }
+            }
+        }
+        // Undo the right turns after the last left turn, then that left turn.
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    /**
+     * @return The number of elements in the index.
+     */
+    public int size() {
+        return n;
+    }
+
+    public static void main(String[] args) {
+        int[] nums = { 1, 2, 4, 4, 5, 6, 8 };
+        EytzingerIndex index = new EytzingerIndex(nums);
+
+        System.out.println("Search 5: " + index.search(5));             // Expected: 4
+        System.out.println("Search 3: " + index.search(3));             // Expected: -1
+        System.out.println("Lower bound of 4: " + index.lowerBound(4)); // Expected: 2
+        System.out.println("Lower bound of 9: " + index.lowerBound(9)); // Expected: 7
+    }
+}
@@ -0,0 +1,297 @@
+package fundamentals;
+
+import java.util.Arrays;
+
+/**
+ * A learned index over a sorted int array: a piecewise-linear model predicts
+ * where a key is, and a short search around the prediction finds the exact
+ * answer. Returns the same lower and upper bounds as
+ * {@link LowerBound_2#lowerBoundOptimal} and {@link UpperBound_3#upperBoundBinarySearch}.
+ *
+ * Model (PGM-style, one level):
+ * Every distinct key k is a point (k, lowerBound(k)). The points are split
+ * greedily into segments; each segment keeps a start point and a slope such
+ * that every point it covers is predicted within EPSILON positions. A
+ * segment grows while some slope satisfies all of its points: each point
+ * narrows the cone of feasible slopes, and when the cone is empty a new
+ * segment starts. Keys that are close to uniformly spaced (timestamps, ids)
+ * need only a handful of segments.
+ *
+ * Lookup:
+ * 1. Binary search the segment start keys (a small array that stays cached).
+ * 2. Predict a position with the segment's line.
+ * 3. Gallop from the prediction (1, 2, 4, ... positions) towards the answer
+ *    and binary search the last step. For a key in the array the prediction
+ *    is at most EPSILON off, so this takes O(log EPSILON) probes. For a
+ *    missing key the answer is the position of the next larger key, so the
+ *    error can also include the duplicates of the previous key; the gallop
+ *    makes the answer exact regardless.
+ *
+ * Interpolation search ({@link #interpolationLowerBound}) is the simpler
+ * mode without a model: it guesses the position from the values at the ends
+ * of the current range, alternating with a bisection step whenever a guess
+ * did not halve the range, so it keeps O(log n) worst-case probes.
+ *
+ * Time Complexity:
+ * - Build: O(n).
+ * - Lookup: O(log segments + log EPSILON).
+ * - Interpolation: O(log log n) probes on uniform data, O(log n) worst case.
+ *
+ * Space Complexity: O(segments); the sorted array is referenced, not copied.
+ */
+public class LearnedIndex {
+
+    public static final int DEFAULT_EPSILON = 16;
+
+    private final int[] nums;
+    private final int epsilon;
+
+    /**
+     * Segment s covers the keys >= segmentKeys[s] (and < segmentKeys[s + 1]);
+     * it predicts segmentStarts[s] + slopes[s] * (key - segmentKeys[s]).
+     */
+    private final int[] segmentKeys;
+    private final int[] segmentStarts;
+    private final double[] slopes;
+
+    /**
+     * Builds the index with the default error bound.
+     *
+     * @param nums The sorted input array; it must not change while the index is used
+     */
+    public LearnedIndex(int[] nums) {
+        this(nums, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param nums    The sorted input array; it must not change while the index is used
+     * @param epsilon The maximum prediction error for keys in the array
+     */
+    public LearnedIndex(int[] nums, int epsilon) {
+        if (epsilon < 1) {
+            throw new IllegalArgumentException("epsilon must be at least 1, got " + epsilon);
+        }
+        this.nums = nums;
+        this.epsilon = epsilon;
+
+        int n = nums.length;
+        int[] keys = new int[Math.max(n, 1)];
+        int[] starts = new int[Math.max(n, 1)];
+        double[] segmentSlopes = new double[Math.max(n, 1)];
+        int segments = 0;
+
+        int i = 0;
+        while (i < n) {
+            // Start a segment at the first occurrence of nums[i].
+            int startKey = nums[i];
+            int startPosition = i;
+            double low = 0;
+            double high = Double.POSITIVE_INFINITY;
+            i = nextDistinct(nums, i);
+
+            while (i < n) {
+                double dx = (double) nums[i] - startKey;
+                double dy = i - startPosition;
+                double pointLow = (dy - epsilon) / dx;
+                double pointHigh = (dy + epsilon) / dx;
+                if (pointLow > high || pointHigh < low) {
+                    break;
+                }
+                low = Math.max(low, pointLow);
+                high = Math.min(high, pointHigh);
+                i = nextDistinct(nums, i);
+            }
+
+            keys[segments] = startKey;
+            starts[segments] = startPosition;
+            segmentSlopes[segments] = high == Double.POSITIVE_INFINITY ? 0 : (low + high) / 2;
+            segments++;
+        }
+
+        this.segmentKeys = Arrays.copyOf(keys, segments);
+        this.segmentStarts = Arrays.copyOf(starts, segments);
+        this.slopes = Arrays.copyOf(segmentSlopes, segments);
+    }
+
+    /**
+     * Returns the index of the next element after i that differs from nums[i].
+     */
+    private static int nextDistinct(int[] nums, int i) {
+        int value = nums[i];
+        do {
+            i++;
+        } while (i < nums.length && nums[i] == value);
+        return i;
+    }
+
+    /**
+     * Returns the model's predicted position of x, clamped to [0, n].
+     *
+     * @param x The value to locate
+     * @return The predicted lower bound of x
+     */
+    public int predict(int x) {
+        int n = nums.length;
+        if (n == 0 || x <= segmentKeys[0]) {
+            return 0;
+        }
+
+        // Last segment whose start key is <= x.
+        int low = 0;
+        int high = segmentKeys.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segmentKeys[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        double position = segmentStarts[low] + slopes[low] * ((double) x - segmentKeys[low]);
+        return (int) Math.max(0, Math.min(n, Math.round(position)));
+    }
+
+    /**
+     * Finds the lower bound of x.
+     *
+     * @param x The target value
+     * @return The index of the first element greater than or equal to x; if not found, returns nums.length
+     */
+    public int lowerBound(int x) {
+        int n = nums.length;
+        int position = predict(x);
+
+        int low;
+        int high;
+        if (position < n && nums[position] < x) {
+            // The answer is to the right: gallop until an element >= x.
+            low = position + 1;
+            long step = 1;
+            high = low;
+            while (high < n && nums[high] < x) {
+                low = high + 1;
+                high = (int) Math.min(position + 2 * step, n);
+                step <<= 1;
+            }
+        } else {
+            // The answer is at position or to its left: gallop until an element < x.
+            high = position;
+            long step = 1;
+            low = high - 1;
+            while (low >= 0 && nums[low] >= x) {
+                high = low;
+                low = (int) Math.max(position - 2 * step, -1);
+                step <<= 1;
+            }
+            low++;
+        }
+
+        // Invariant: every element before low is < x; nums[high] >= x or high == n.
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (nums[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the upper bound of x.
+     *
+     * @param x The value to find the upper bound for
+     * @return The index of the first element greater than x; otherwise, -1
+     */
+    public int upperBound(int x) {
+        int index = x == Integer.MAX_VALUE ? nums.length : lowerBound(x + 1);
+        return index == nums.length ? -1 : index;
+    }
+
+    /**
+     * @return The number of linear segments in the model.
+     */
+    public int getSegmentCount() {
+        return segmentKeys.length;
+    }
+
+    /**
+     * @return The maximum prediction error for keys in the array.
+     */
+    public int getEpsilon() {
+        return epsilon;
+    }
+
+    /**
+     * Interpolation search for the lower bound of x.
+     *
+     * @param nums The sorted input array
+     * @param x    The target value
+     * @return The index of the first element greater than or equal to x; if not found, returns nums.length
+     */
+    public static int interpolationLowerBound(int[] nums, int x) {
+        // Invariant: every element before low is < x; every element from high on is >= x.
+        int low = 0;
+        int high = nums.length;
+        boolean bisect = false;
+        while (low < high) {
+            int first = nums[low];
+            int last = nums[high - 1];
+            if (x <= first) {
+                return low;
+            }
+            if (x > last) {
+                return high;
+            }
+
+            // first < x <= last, so the answer is in (low, high - 1].
+            int mid;
+            if (bisect) {
+                mid = (low + high) >>> 1;
+            } else {
+                long guess = low + ((long) x - first) * (high - 1 - low) / ((long) last - first);
+                mid = (int) Math.max(low + 1, Math.min(high - 1, guess));
+            }
+
+            int before = high - low;
+            if (nums[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+            bisect = !bisect && high - low > before / 2;
+        }
+        return low;
+    }
+
+    /**
+     * Interpolation search for the upper bound of x.
+     *
+     * @param nums The sorted input array
+     * @param x    The value to find the upper bound for
+     * @return The index of the first element greater than x; otherwise, -1
+     */
+    public static int interpolationUpperBound(int[] nums, int x) {
+        int index = x == Integer.MAX_VALUE ? nums.length : interpolationLowerBound(nums, x + 1);
+        return index == nums.length ? -1 : index;
+    }
+
+    public static void main(String[] args) {
+        int[] nums = new int[1000];
+        for (int i = 0; i < nums.length; i++) {
+            nums[i] = 1_700_000_000 + 15 * i + (i * 7919) % 5;
+        }
+        LearnedIndex index = new LearnedIndex(nums);
+
+        int x = nums[617];
+        System.out.println("Segments: " + index.getSegmentCount());
+        System.out.println("Predicted position of nums[617]: " + index.predict(x));
+        System.out.println("Lower bound: " + index.lowerBound(x));                        // Expected: 617
+        System.out.println("Upper bound: " + index.upperBound(x));                        // Expected: 618
+        System.out.println("Interpolation lower bound: " + interpolationLowerBound(nums, x)); // Expected: 617
+    }
+}
@@ -0,0 +1,257 @@
+package fundamentals;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary search, lower bound and upper bound over a sorted file of 32-bit
+ * integers, without loading the file into the heap.
+ *
+ * The file (the format ExternalMergeSort writes: raw ints, big-endian by
+ * default) is memory-mapped with FileChannel.map, so the operating system
+ * pages it in on demand and shares it between processes. A single mapping
+ * is limited to 2 GB, so the file is mapped as consecutive 1 GB chunks.
+ *
+ * Sample index:
+ * Every sampleInterval-th element is cached in a small heap array. A lookup
+ * binary searches the samples and then only the block of sampleInterval
+ * elements between two samples in the file. With the default interval of
+ * 65536 ints (256 KB) the samples of a 40 GB file take 1.25 MB of heap.
+ *
+ * Reading every sample when the file is opened would cost one page fault per
+ * block, about 160K for 40 GB, before the first lookup. Instead a sample is
+ * read from the file the first time a search visits it, so opening only maps
+ * the file, and a lookup reads at most log2(samples) samples it has not seen
+ * before; the top levels of the sample search are shared by every lookup and
+ * are cached after the first few.
+ *
+ * Indices are longs, since a file can hold more than 2^31 ints. The results
+ * follow the in-heap versions:
+ * - binarySearch as BinarySearch_1: the index of target, or -1.
+ * - lowerBound as LowerBound_2: the first index with value >= x, or size().
+ * - upperBound as UpperBound_3: the first index with value > x, or -1.
+ *
+ * The channel is closed once the file is mapped; the mapping stays valid
+ * until the object is garbage collected. The file must not be modified (or,
+ * on Windows, deleted) while it is mapped. Lookups may run concurrently.
+ *
+ * Time Complexity: O(n / 2^28) to open (one mapping per 1 GB chunk). O(log n)
+ * per lookup: at most log2(n / sampleInterval) uncached samples and
+ * log2(sampleInterval) elements are read from the file.
+ * Space Complexity: O(n / sampleInterval) heap.
+ */
+public class MappedSortedIntFile {
+
+    public static final int DEFAULT_SAMPLE_INTERVAL = 1 << 16;
+
+    /**
+     * Ints per mapped chunk: 2^28 ints = 1 GB.
+     */
+    static final int CHUNK_SHIFT = 28;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    /**
+     * Marks a cached sample; the element is in the low 32 bits.
+     */
+    private static final long SAMPLE_CACHED = 1L << 32;
+
+    /**
+     * Atomic access to the sample entries, so a concurrent lookup never sees half an entry.
+     */
+    private static final VarHandle SAMPLES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long size;
+    private final IntBuffer[] chunks;
+    private final int sampleInterval;
+
+    /**
+     * samples[j] is SAMPLE_CACHED | the element at index j * sampleInterval,
+     * or 0 until a search first needs it.
+     */
+    private final long[] samples;
+
+    /**
+     * Maps a big-endian file with the default sample interval.
+     *
+     * @param file The sorted file of ints
+     * @throws IOException If the file cannot be opened or mapped
+     */
+    public MappedSortedIntFile(Path file) throws IOException {
+        this(file, ByteOrder.BIG_ENDIAN, DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Maps a file.
+     *
+     * @param file           The sorted file of ints
+     * @param byteOrder      The byte order of the ints in the file
+     * @param sampleInterval Distance between sampled elements (a power of two)
+     * @throws IOException If the file cannot be opened or mapped
+     */
+    public MappedSortedIntFile(Path file, ByteOrder byteOrder, int sampleInterval) throws IOException {
+        if (sampleInterval < 1 || Integer.bitCount(sampleInterval) != 1) {
+            throw new IllegalArgumentException("Sample interval must be a power of two, got " + sampleInterval);
+        }
+        this.sampleInterval = sampleInterval;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes % Integer.BYTES != 0) {
+                throw new IOException(file + " is not a file of ints: " + bytes + " bytes");
+            }
+            this.size = bytes / Integer.BYTES;
+
+            int chunkCount = (int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+            this.chunks = new IntBuffer[chunkCount];
+            for (int c = 0; c < chunkCount; c++) {
+                long first = (long) c << CHUNK_SHIFT;
+                long length = Math.min(CHUNK_MASK + 1, size - first);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, first * Integer.BYTES, length * Integer.BYTES)
+                        .order(byteOrder)
+                        .asIntBuffer();
+            }
+        }
+
+        this.samples = new long[(int) ((size + sampleInterval - 1) / sampleInterval)];
+    }
+
+    /**
+     * Returns the element at index j * sampleInterval, reading it from the
+     * file and caching it on first use. Two lookups may both read a missing
+     * sample; they store the same entry.
+     */
+    private int sample(int j) {
+        long entry = (long) SAMPLES.getOpaque(samples, j);
+        if (entry == 0) {
+            entry = SAMPLE_CACHED | (get((long) j * sampleInterval) & 0xFFFFFFFFL);
+            SAMPLES.setOpaque(samples, j, entry);
+        }
+        return (int) entry;
+    }
+
+    /**
+     * @return The number of ints in the file.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the element at an index.
+     *
+     * @param index The index, between 0 and size() - 1
+     * @return The element
+     */
+    public int get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    /**
+     * Finds the lower bound of x.
+     *
+     * @param x The target value
+     * @return The index of the first element greater than or equal to x; if not found, returns size()
+     */
+    public long lowerBound(int x) {
+        // First sample >= x: the answer is after the previous sample and at or before this one.
+        int s = 0;
+        int t = samples.length;
+        while (s < t) {
+            int mid = (s + t) >>> 1;
+            if (sample(mid) < x) {
+                s = mid + 1;
+            } else {
+                t = mid;
+            }
+        }
+        long low = s == 0 ? 0 : (long) (s - 1) * sampleInterval + 1;
+        long high = Math.min((long) s * sampleInterval, size);
+
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (get(mid) < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the upper bound of x.
+     *
+     * @param x The value to find the upper bound for
+     * @return The index of the first element greater than x; otherwise, -1
+     */
+    public long upperBound(int x) {
+        long index = x == Integer.MAX_VALUE ? size : lowerBound(x + 1);
+        return index == size ? -1 : index;
+    }
+
+    /**
+     * Searches for target.
+     *
+     * @param target The value to search for
+     * @return The index of the first occurrence of target if found; otherwise, -1
+     */
+    public long binarySearch(int target) {
+        long index = lowerBound(target);
+        return index < size && get(index) == target ? index : -1;
+    }
+
+    /**
+     * @return Heap bytes used by the sample index.
+     */
+    public long getSampleBytes() {
+        return (long) samples.length * Long.BYTES;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] nums = new int[1_000_000];
+        for (int i = 0; i < nums.length; i++) {
+            nums[i] = 3 * i;
+        }
+        Path file = Files.createTempFile("sorted", ".bin");
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(nums.length * Integer.BYTES);
+                buffer.asIntBuffer().put(nums);
+                channel.write(buffer);
+            }
+
+            printLookups(file, nums);
+        } finally {
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                // Windows refuses to delete a file while it is mapped, and the mapping is
+                // only released when the garbage collector frees the buffers.
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Maps the file and prints a few lookups.
+     */
+    private static void printLookups(Path file, int[] nums) throws IOException {
+        MappedSortedIntFile mapped = new MappedSortedIntFile(file);
+        System.out.println("Ints in file: " + mapped.size() + ", sample index: " + mapped.getSampleBytes()
+                + " bytes");
+        System.out.println("binarySearch(2999997) = " + mapped.binarySearch(2_999_997)); // Expected: 999999
+        System.out.println("binarySearch(10) = " + mapped.binarySearch(10));             // Expected: -1
+        System.out.println("lowerBound(10) = " + mapped.lowerBound(10));                 // Expected: 4
+        System.out.println("upperBound(3000000) = " + mapped.upperBound(3_000_000));     // Expected: -1
+        System.out.println("Same as in heap: "
+                + (mapped.lowerBound(10) == new LowerBound_2().lowerBoundOptimal(nums, 10)));
+    }
+}
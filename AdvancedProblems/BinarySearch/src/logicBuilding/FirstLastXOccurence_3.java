@@ -10,7 +10,7 @@ package logicBuilding;
  *
  * Approaches:
  * 1. Brute Force Approach - Traverse the array to track first and last occurrences.
- * 2. Optimal Approach - Use binary search (lower bound and upper bound logic).
+ * 2. Optimal Approach - Use binary search (lower bound and upper bound logic, fused into one search).
  *
  * Time Complexity:
  * - Brute Force: O(n)
@@ -48,73 +48,18 @@ public class FirstLastXOccurence_3 {
         return new int[] { firstIndex, lastIndex };
     }
 
-    /**
-     * Finds the lower bound (first index) of the target using binary search.
-     *
-     * @param nums   The sorted input array
-     * @param target The value to search for
-     * @return The index of the first element >= target
-     */
-    private int lowerBound(int[] nums, int target) {
-        int length = nums.length;
-        int low = 0;
-        int high = length - 1;
-        int answer = length;
-
-        while (low <= high) {
-            int mid = low + (high - low) / 2;
-
-            if (nums[mid] >= target) {
-                answer = mid;
-                high = mid - 1;
-            } else {
-                low = mid + 1;
-            }
-        }
-
-        return answer;
-    }
-
-    /**
-     * Finds the upper bound (one past the last index) of the target using binary search.
-     *
-     * @param nums   The sorted input array
-     * @param target The value to search for
-     * @return The index of the first element > target
-     */
-    private int upperBound(int[] nums, int target) {
-        int length = nums.length;
-        int low = 0;
-        int high = length - 1;
-        int answer = length;
-
-        while (low <= high) {
-            int mid = low + (high - low) / 2;
-
-            if (nums[mid] > target) {
-                answer = mid;
-                high = mid - 1;
-            } else {
-                low = mid + 1;
-            }
-        }
-
-        return answer;
-    }
-
     /**
      * Optimal approach using binary search to find the first and last occurrence of the target.
+     * The lower bound (first element >= target) and upper bound (first element > target)
+     * come from one fused search in {@link SortedIntIndex#bounds}, which shares the probes
+     * both bounds have in common.
      *
      * @param nums   The sorted input array
      * @param target The value to search for
      * @return An array with the first and last occurrence index
      */
     public int[] searchRangeUsingBounds(int[] nums, int target) {
-        int firstOccurrence = lowerBound(nums, target);
-        if (firstOccurrence == nums.length || nums[firstOccurrence] != target)
-            return new int[] { -1, -1 };
-        int lastOccurrence = upperBound(nums, target) - 1;
-        return new int[] { firstOccurrence, lastOccurrence };
+        return SortedIntIndex.equalRange(nums, target);
     }
 
     public static void main(String[] args) {
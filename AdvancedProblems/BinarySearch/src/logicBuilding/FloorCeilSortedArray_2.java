@@ -9,7 +9,9 @@ package logicBuilding;
  * - Ceil: The smallest element in the array greater than or equal to the target.
  *
  * Approaches:
- * Both operations use binary search to achieve optimal performance.
+ * Both values come from one fused binary search ({@link SortedIntIndex#bounds}):
+ * the ceil is the element at the lower bound and the floor the element just
+ * before the upper bound.
  *
  * Time Complexity: O(log n) for both floor and ceil operations
  * Space Complexity: O(1)
@@ -20,72 +22,22 @@ package logicBuilding;
  */
 public class FloorCeilSortedArray_2 {
 
-    /**
-     * Finds the floor of the target value in a sorted array.
-     *
-     * @param nums   The sorted input array
-     * @param n      The length of the array
-     * @param target The target value
-     * @return The floor value, or -1 if no such value exists
-     */
-    private int findFloor(int[] nums, int n, int target) {
-        int start = 0;
-        int end = n - 1;
-        int floorValue = -1;
-
-        while (start <= end) {
-            int mid = start + (end - start) / 2;
-
-            if (nums[mid] <= target) {
-                floorValue = nums[mid];
-                start = mid + 1;
-            } else {
-                end = mid - 1;
-            }
-        }
-
-        return floorValue;
-    }
-
-    /**
-     * Finds the ceil of the target value in a sorted array.
-     *
-     * @param nums   The sorted input array
-     * @param n      The length of the array
-     * @param target The target value
-     * @return The ceil value, or -1 if no such value exists
-     */
-    private int findCeil(int[] nums, int n, int target) {
-        int start = 0;
-        int end = n - 1;
-        int ceilValue = -1;
-
-        while (start <= end) {
-            int mid = start + (end - start) / 2;
-
-            if (nums[mid] >= target) {
-                ceilValue = nums[mid];
-                end = mid - 1;
-            } else {
-                start = mid + 1;
-            }
-        }
-
-        return ceilValue;
-    }
-
     /**
      * Returns both the floor and ceil of a given target value in a sorted array.
+     * As before, -1 stands for a missing floor or ceil.
      *
      * @param sortedArray The sorted input array
      * @param targetValue The target value
      * @return An array where index 0 is the floor and index 1 is the ceil
      */
     public int[] getFloorAndCeil(int[] sortedArray, int targetValue) {
-        int arrayLength = sortedArray.length;
+        long bounds = SortedIntIndex.bounds(sortedArray, targetValue);
+        int lower = SortedIntIndex.lower(bounds);
+        int upper = SortedIntIndex.upper(bounds);
 
-        int floor = findFloor(sortedArray, arrayLength, targetValue);
-        int ceil = findCeil(sortedArray, arrayLength, targetValue);
+        // The floor is the last element <= target, the ceil the first element >= target.
+        int floor = upper > 0 ? sortedArray[upper - 1] : -1;
+        int ceil = lower < sortedArray.length ? sortedArray[lower] : -1;
 
         return new int[] { floor, ceil };
     }
@@ -0,0 +1,184 @@
+package logicBuilding;
+
+/**
+ * Rank, select and range-count queries over a sorted int array.
+ *
+ * Definitions (n elements, indices from 0):
+ * - rank(x): the number of elements < x, i.e. the lower bound of x.
+ * - select(i): the i-th smallest element, i.e. nums[i].
+ * - count(x): the number of copies of x.
+ * - countInRange(low, high): the number of elements in [low, high].
+ *
+ * Directory:
+ * A plain binary search makes every rank cost log2(n) probes, most of them
+ * cache misses on a large array. Instead the value range [min, max] is cut
+ * into a power-of-two number of equal buckets, about one per BUCKET_SIZE
+ * elements, and directory[b] stores the rank of the first value of bucket b
+ * (a sampled rank). rank(x) jumps straight to x's bucket with a shift and
+ * binary searches only between directory[b] and directory[b + 1]. On evenly
+ * spread keys a bucket holds about BUCKET_SIZE elements, so a query costs
+ * one directory read and a few probes in neighbouring cache lines; on skewed
+ * keys it never costs more than the binary search over the whole array.
+ *
+ * Time Complexity:
+ * - Build: O(n).
+ * - select: O(1).
+ * - rank, count, countInRange: O(1) directory lookups plus O(log bucket) probes.
+ *
+ * Space Complexity: O(n / BUCKET_SIZE) for the directory; the sorted array is
+ * referenced, not copied, and must not change while the structure is used.
+ *
+ * Example:
+ * nums = [1, 3, 3, 3, 7, 9]
+ * rank(3) = 1, count(3) = 3, countInRange(2, 8) = 4, select(4) = 7
+ */
+public class RankSelect {
+
+    /**
+     * Target number of elements per directory bucket.
+     */
+    static final int BUCKET_SIZE = 32;
+
+    private final int[] nums;
+    private final int min;
+    private final int max;
+
+    /**
+     * Bucket b holds the values min + (b << shift) ... min + ((b + 1) << shift) - 1.
+     */
+    private final int shift;
+
+    /**
+     * directory[b] is the rank of the first value of bucket b; the last entry is n.
+     */
+    private final int[] directory;
+
+    /**
+     * Builds the directory for a sorted array.
+     *
+     * @param nums The sorted input array
+     */
+    public RankSelect(int[] nums) {
+        this.nums = nums;
+        int n = nums.length;
+        if (n == 0) {
+            this.min = 0;
+            this.max = -1;
+            this.shift = 0;
+            this.directory = new int[] { 0, 0 };
+            return;
+        }
+        this.min = nums[0];
+        this.max = nums[n - 1];
+
+        // Smallest shift that maps the value range onto at most the wanted number of buckets.
+        long span = (long) max - min;
+        int wanted = Integer.highestOneBit(Math.max(1, n / BUCKET_SIZE));
+        int s = 0;
+        while ((span >>> s) >= wanted) {
+            s++;
+        }
+        this.shift = s;
+
+        int buckets = (int) (span >>> shift) + 1;
+        this.directory = new int[buckets + 1];
+        int i = 0;
+        for (int b = 0; b < buckets; b++) {
+            long start = min + ((long) b << shift);
+            while (i < n && nums[i] < start) {
+                i++;
+            }
+            directory[b] = i;
+        }
+        directory[buckets] = n;
+    }
+
+    /**
+     * Returns the number of elements smaller than x.
+     *
+     * @param x The value
+     * @return The rank of x, between 0 and n
+     */
+    public int rank(int x) {
+        if (x <= min) {
+            return 0;
+        }
+        if (x > max) {
+            return nums.length;
+        }
+
+        int bucket = (int) (((long) x - min) >>> shift);
+        int low = directory[bucket];
+        int high = directory[bucket + 1];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (nums[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of elements smaller than or equal to x.
+     */
+    private int rankInclusive(int x) {
+        return x == Integer.MAX_VALUE ? nums.length : rank(x + 1);
+    }
+
+    /**
+     * Returns the i-th smallest element.
+     *
+     * @param i The zero-based rank, between 0 and n - 1
+     * @return The element of rank i
+     */
+    public int select(int i) {
+        if (i < 0 || i >= nums.length) {
+            throw new IllegalArgumentException("Rank must be between 0 and " + (nums.length - 1) + ", got " + i);
+        }
+        return nums[i];
+    }
+
+    /**
+     * Returns the number of occurrences of x.
+     *
+     * @param x The value
+     * @return The count of x
+     */
+    public int count(int x) {
+        return rankInclusive(x) - rank(x);
+    }
+
+    /**
+     * Returns the number of elements between low and high, both inclusive.
+     *
+     * @param low  The smallest value to count
+     * @param high The largest value to count
+     * @return The count, or 0 if low > high
+     */
+    public int countInRange(int low, int high) {
+        if (low > high) {
+            return 0;
+        }
+        return rankInclusive(high) - rank(low);
+    }
+
+    /**
+     * @return The number of elements.
+     */
+    public int size() {
+        return nums.length;
+    }
+
+    public static void main(String[] args) {
+        int[] nums = { 1, 3, 3, 3, 7, 9 };
+        RankSelect rankSelect = new RankSelect(nums);
+
+        System.out.println("rank(3) = " + rankSelect.rank(3));                      // Expected: 1
+        System.out.println("count(3) = " + rankSelect.count(3));                    // Expected: 3
+        System.out.println("countInRange(2, 8) = " + rankSelect.countInRange(2, 8)); // Expected: 4
+        System.out.println("select(4) = " + rankSelect.select(4));                  // Expected: 7
+    }
+}
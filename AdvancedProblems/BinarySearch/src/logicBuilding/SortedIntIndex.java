@@ -0,0 +1,503 @@
+package logicBuilding;
+
+/**
+ * Bound queries on sorted arrays, computed with one fused binary search.
+ *
+ * Lower bound (first element >= x) and upper bound (first element > x) follow
+ * the same path through the array until the first probe that equals x: up to
+ * there every comparison sends both searches the same way. {@link #bounds}
+ * walks that shared prefix once, then finishes the lower bound in the left
+ * half and the upper bound in the right half. When x is absent the two bounds
+ * are equal and the search costs exactly one binary search.
+ *
+ * Everything else is derived from the pair [lower, upper):
+ * - Equal range (first and last occurrence): lower and upper - 1.
+ * - Count of x: upper - lower.
+ * - Insertion point (SearchIndexPosition_1): lower.
+ * - Ceil (smallest element >= x): nums[lower], if lower < to.
+ * - Floor (greatest element <= x): nums[upper - 1], if upper > from.
+ *
+ * FirstLastXOccurence_3 and FloorCeilSortedArray_2 used two independent
+ * searches for their pair of answers; both now use this class.
+ *
+ * Every query has a whole-array form and a form for the range
+ * nums[from...to-1], for int[], long[] and double[]. Doubles are ordered like
+ * {@link Double#compare}: -0.0 before 0.0 and NaN after everything.
+ *
+ * Time Complexity: O(log n) per query, one descent for both bounds.
+ * Space Complexity: O(1); bounds returns a packed long so it allocates nothing.
+ */
+public class SortedIntIndex {
+
+    private SortedIntIndex() {
+    }
+
+    /**
+     * Returns the lower bound from a packed result of bounds.
+     *
+     * @param bounds A value returned by bounds
+     * @return The index of the first element >= x
+     */
+    public static int lower(long bounds) {
+        return (int) (bounds >>> 32);
+    }
+
+    /**
+     * Returns the upper bound from a packed result of bounds.
+     *
+     * @param bounds A value returned by bounds
+     * @return The index of the first element > x
+     */
+    public static int upper(long bounds) {
+        return (int) bounds;
+    }
+
+    private static long pack(int lower, int upper) {
+        return ((long) lower << 32) | (upper & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Computes the lower and upper bound of x in nums[from...to-1] with one
+     * fused descent.
+     *
+     * @param nums The sorted input array
+     * @param from The first index of the range (inclusive)
+     * @param to   The end of the range (exclusive)
+     * @param x    The target value
+     * @return The bounds packed as (lower << 32) | upper; read them with lower and upper
+     */
+    public static long bounds(int[] nums, int from, int to, int x) {
+        checkRange(nums.length, from, to);
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (nums[mid] < x) {
+                low = mid + 1;
+            } else if (nums[mid] > x) {
+                high = mid;
+            } else {
+                // nums[mid] == x: the lower bound is in [low, mid], the upper bound in [mid + 1, high].
+                int lower = mid;
+                int left = low;
+                while (left < lower) {
+                    int m = (left + lower) >>> 1;
+                    if (nums[m] < x) {
+                        left = m + 1;
+                    } else {
+                        lower = m;
+                    }
+                }
+                int upper = high;
+                int right = mid + 1;
+                while (right < upper) {
+                    int m = (right + upper) >>> 1;
+                    if (nums[m] > x) {
+                        upper = m;
+                    } else {
+                        right = m + 1;
+                    }
+                }
+                return pack(lower, upper);
+            }
+        }
+        return pack(low, low);
+    }
+
+    /**
+     * Computes the lower and upper bound of x in the whole array.
+     *
+     * @param nums The sorted input array
+     * @param x    The target value
+     * @return The bounds packed as (lower << 32) | upper
+     */
+    public static long bounds(int[] nums, int x) {
+        return bounds(nums, 0, nums.length, x);
+    }
+
+    /**
+     * Finds the first and last occurrence of x in nums[from...to-1].
+     *
+     * @param nums The sorted input array
+     * @param from The first index of the range (inclusive)
+     * @param to   The end of the range (exclusive)
+     * @param x    The target value
+     * @return An array with the first and last occurrence index, or [-1, -1] if x is absent
+     */
+    public static int[] equalRange(int[] nums, int from, int to, int x) {
+        return toEqualRange(bounds(nums, from, to, x));
+    }
+
+    /**
+     * Finds the first and last occurrence of x.
+     *
+     * @param nums The sorted input array
+     * @param x    The target value
+     * @return An array with the first and last occurrence index, or [-1, -1] if x is absent
+     */
+    public static int[] equalRange(int[] nums, int x) {
+        return equalRange(nums, 0, nums.length, x);
+    }
+
+    /**
+     * Returns the index at which x is found or would be inserted in order.
+     *
+     * @param nums The sorted input array
+     * @param from The first index of the range (inclusive)
+     * @param to   The end of the range (exclusive)
+     * @param x    The target value
+     * @return The index of the first element >= x, or to if there is none
+     */
+    public static int insertionPoint(int[] nums, int from, int to, int x) {
+        checkRange(nums.length, from, to);
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (nums[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index at which x is found or would be inserted in order.
+     *
+     * @param nums The sorted input array
+     * @param x    The target value
+     * @return The index of the first element >= x, or nums.length if there is none
+     */
+    public static int insertionPoint(int[] nums, int x) {
+        return insertionPoint(nums, 0, nums.length, x);
+    }
+
+    /**
+     * Returns the index of the floor of x: the last element <= x.
+     *
+     * @param nums The sorted input array
+     * @param from The first index of the range (inclusive)
+     * @param to   The end of the range (exclusive)
+     * @param x    The target value
+     * @return The index of the floor, or -1 if every element is greater than x
+     */
+    public static int floorIndex(int[] nums, int from, int to, int x) {
+        int upper = upper(bounds(nums, from, to, x));
+        return upper > from ? upper - 1 : -1;
+    }
+
+    /**
+     * Returns the index of the floor of x: the last element <= x.
+     *
+     * @param nums The sorted input array
+     * @param x    The target value
+     * @return The index of the floor, or -1 if every element is greater than x
+     */
+    public static int floorIndex(int[] nums, int x) {
+        return floorIndex(nums, 0, nums.length, x);
+    }
+
+    /**
+     * Returns the index of the ceil of x: the first element >= x.
+     *
+     * @param nums The sorted input array
+     * @param from The first index of the range (inclusive)
+     * @param to   The end of the range (exclusive)
+     * @param x    The target value
+     * @return The index of the ceil, or -1 if every element is smaller than x
+     */
+    public static int ceilIndex(int[] nums, int from, int to, int x) {
+        int lower = insertionPoint(nums, from, to, x);
+        return lower < to ? lower : -1;
+    }
+
+    /**
+     * Returns the index of the ceil of x: the first element >= x.
+     *
+     * @param nums The sorted input array
+     * @param x    The target value
+     * @return The index of the ceil, or -1 if every element is smaller than x
+     */
+    public static int ceilIndex(int[] nums, int x) {
+        return ceilIndex(nums, 0, nums.length, x);
+    }
+
+    /**
+     * Computes the lower and upper bound of x in nums[from...to-1] with one
+     * fused descent.
+     *
+     * @param nums The sorted input array
+     * @param from The first index of the range (inclusive)
+     * @param to   The end of the range (exclusive)
+     * @param x    The target value
+     * @return The bounds packed as (lower << 32) | upper
+     */
+    public static long bounds(long[] nums, int from, int to, long x) {
+        checkRange(nums.length, from, to);
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (nums[mid] < x) {
+                low = mid + 1;
+            } else if (nums[mid] > x) {
+                high = mid;
+            } else {
+                int lower = mid;
+                int left = low;
+                while (left < lower) {
+                    int m = (left + lower) >>> 1;
+                    if (nums[m] < x) {
+                        left = m + 1;
+                    } else {
+                        lower = m;
+                    }
+                }
+                int upper = high;
+                int right = mid + 1;
+                while (right < upper) {
+                    int m = (right + upper) >>> 1;
+                    if (nums[m] > x) {
+                        upper = m;
+                    } else {
+                        right = m + 1;
+                    }
+                }
+                return pack(lower, upper);
+            }
+        }
+        return pack(low, low);
+    }
+
+    /**
+     * long[] version of {@link #bounds(int[], int)}.
+     */
+    public static long bounds(long[] nums, long x) {
+        return bounds(nums, 0, nums.length, x);
+    }
+
+    /**
+     * long[] version of {@link #equalRange(int[], int, int, int)}.
+     */
+    public static int[] equalRange(long[] nums, int from, int to, long x) {
+        return toEqualRange(bounds(nums, from, to, x));
+    }
+
+    /**
+     * long[] version of {@link #equalRange(int[], int)}.
+     */
+    public static int[] equalRange(long[] nums, long x) {
+        return equalRange(nums, 0, nums.length, x);
+    }
+
+    /**
+     * long[] version of {@link #insertionPoint(int[], int, int, int)}.
+     */
+    public static int insertionPoint(long[] nums, int from, int to, long x) {
+        checkRange(nums.length, from, to);
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (nums[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * long[] version of {@link #insertionPoint(int[], int)}.
+     */
+    public static int insertionPoint(long[] nums, long x) {
+        return insertionPoint(nums, 0, nums.length, x);
+    }
+
+    /**
+     * long[] version of {@link #floorIndex(int[], int, int, int)}.
+     */
+    public static int floorIndex(long[] nums, int from, int to, long x) {
+        int upper = upper(bounds(nums, from, to, x));
+        return upper > from ? upper - 1 : -1;
+    }
+
+    /**
+     * long[] version of {@link #floorIndex(int[], int)}.
+     */
+    public static int floorIndex(long[] nums, long x) {
+        return floorIndex(nums, 0, nums.length, x);
+    }
+
+    /**
+     * long[] version of {@link #ceilIndex(int[], int, int, int)}.
+     */
+    public static int ceilIndex(long[] nums, int from, int to, long x) {
+        int lower = insertionPoint(nums, from, to, x);
+        return lower < to ? lower : -1;
+    }
+
+    /**
+     * long[] version of {@link #ceilIndex(int[], int)}.
+     */
+    public static int ceilIndex(long[] nums, long x) {
+        return ceilIndex(nums, 0, nums.length, x);
+    }
+
+    /**
+     * Computes the lower and upper bound of x in nums[from...to-1] with one
+     * fused descent, in {@link Double#compare} order.
+     *
+     * @param nums The sorted input array
+     * @param from The first index of the range (inclusive)
+     * @param to   The end of the range (exclusive)
+     * @param x    The target value
+     * @return The bounds packed as (lower << 32) | upper
+     */
+    public static long bounds(double[] nums, int from, int to, double x) {
+        checkRange(nums.length, from, to);
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int comparison = Double.compare(nums[mid], x);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid;
+            } else {
+                int lower = mid;
+                int left = low;
+                while (left < lower) {
+                    int m = (left + lower) >>> 1;
+                    if (Double.compare(nums[m], x) < 0) {
+                        left = m + 1;
+                    } else {
+                        lower = m;
+                    }
+                }
+                int upper = high;
+                int right = mid + 1;
+                while (right < upper) {
+                    int m = (right + upper) >>> 1;
+                    if (Double.compare(nums[m], x) > 0) {
+                        upper = m;
+                    } else {
+                        right = m + 1;
+                    }
+                }
+                return pack(lower, upper);
+            }
+        }
+        return pack(low, low);
+    }
+
+    /**
+     * double[] version of {@link #bounds(int[], int)}.
+     */
+    public static long bounds(double[] nums, double x) {
+        return bounds(nums, 0, nums.length, x);
+    }
+
+    /**
+     * double[] version of {@link #equalRange(int[], int, int, int)}.
+     */
+    public static int[] equalRange(double[] nums, int from, int to, double x) {
+        return toEqualRange(bounds(nums, from, to, x));
+    }
+
+    /**
+     * double[] version of {@link #equalRange(int[], int)}.
+     */
+    public static int[] equalRange(double[] nums, double x) {
+        return equalRange(nums, 0, nums.length, x);
+    }
+
+    /**
+     * double[] version of {@link #insertionPoint(int[], int, int, int)}.
+     */
+    public static int insertionPoint(double[] nums, int from, int to, double x) {
+        checkRange(nums.length, from, to);
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(nums[mid], x) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * double[] version of {@link #insertionPoint(int[], int)}.
+     */
+    public static int insertionPoint(double[] nums, double x) {
+        return insertionPoint(nums, 0, nums.length, x);
+    }
+
+    /**
+     * double[] version of {@link #floorIndex(int[], int, int, int)}.
+     */
+    public static int floorIndex(double[] nums, int from, int to, double x) {
+        int upper = upper(bounds(nums, from, to, x));
+        return upper > from ? upper - 1 : -1;
+    }
+
+    /**
+     * double[] version of {@link #floorIndex(int[], int)}.
+     */
+    public static int floorIndex(double[] nums, double x) {
+        return floorIndex(nums, 0, nums.length, x);
+    }
+
+    /**
+     * double[] version of {@link #ceilIndex(int[], int, int, int)}.
+     */
+    public static int ceilIndex(double[] nums, int from, int to, double x) {
+        int lower = insertionPoint(nums, from, to, x);
+        return lower < to ? lower : -1;
+    }
+
+    /**
+     * double[] version of {@link #ceilIndex(int[], int)}.
+     */
+    public static int ceilIndex(double[] nums, double x) {
+        return ceilIndex(nums, 0, nums.length, x);
+    }
+
+    private static int[] toEqualRange(long bounds) {
+        int lower = lower(bounds);
+        int upper = upper(bounds);
+        return lower == upper ? new int[] { -1, -1 } : new int[] { lower, upper - 1 };
+    }
+
+    private static void checkRange(int length, int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from (" + from + ") > to (" + to + ")");
+        }
+        if (from < 0 || to > length) {
+            throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") outside [0, " + length + ")");
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] nums = { 5, 7, 7, 8, 8, 10 };
+        long bounds = SortedIntIndex.bounds(nums, 8);
+        System.out.println("Bounds of 8: [" + lower(bounds) + ", " + upper(bounds) + ")"); // Expected: [3, 5)
+
+        int[] range = equalRange(nums, 7);
+        System.out.println("First and last 7: " + range[0] + ", " + range[1]);             // Expected: 1, 2
+        System.out.println("Insertion point of 9: " + insertionPoint(nums, 9));           // Expected: 5
+        System.out.println("Floor of 9: " + nums[floorIndex(nums, 9)]);                    // Expected: 8
+        System.out.println("Ceil of 9: " + nums[ceilIndex(nums, 9)]);                      // Expected: 10
+
+        double[] prices = { 0.5, 1.25, 1.25, 3.0 };
+        System.out.println("Ceil of 1.0 among prices: " + prices[ceilIndex(prices, 1.0)]); // Expected: 1.25
+    }
+}
@@ -1,8 +1,5 @@
-import java.util.HashMap;
-import java.util.Map;
-
 /**
- * This class provides three approaches to solve the problem of counting the number of subarrays with XOR equal to a given value k.
+ * This class provides four approaches to solve the problem of counting the number of subarrays with XOR equal to a given value k.
  *
  * Problem Statement:
  * Given an array of integers and an integer k, return the total number of continuous subarrays whose XOR is equal to k.
@@ -10,17 +7,20 @@ import java.util.Map;
  * Approaches:
  * 1. Brute Force Approach - Check all subarrays and compute XOR using three nested loops
  * 2. Better Approach - Reduce one loop by maintaining a running XOR
- * 3. Optimal Approach - Use prefix XOR and HashMap to count subarrays in O(n) time
+ * 3. Optimal Approach - Use prefix XOR and a primitive hash map (IntIntMap) to count subarrays in O(n) time
+ * 4. Windowed Approach - Count only subarrays of at most W elements, evicting old prefix XORs in O(W) memory
  *
  * Time Complexities:
  * - Brute Force: O(n^3)
  * - Better Approach: O(n^2)
  * - Optimal Approach: O(n)
+ * - Windowed Approach: O(n)
  *
  * Space Complexities:
  * - Brute Force: O(1)
  * - Better Approach: O(1)
  * - Optimal Approach: O(n)
+ * - Windowed Approach: O(W)
  *
  * Example:
  * Input: nums = [4, 2, 2, 6, 4], k = 6
@@ -81,7 +81,7 @@ public class CountSubArraySumXOR_4 {
     }
 
     /**
-     * Optimal approach to count subarrays with XOR equal to k using a HashMap.
+     * Optimal approach to count subarrays with XOR equal to k using an IntIntMap.
      * Uses the concept of prefix XOR and tracks frequency of seen prefix XORs.
      *
      * @param nums The input array
@@ -91,7 +91,7 @@ public class CountSubArraySumXOR_4 {
     public int subArraysWithXorKOptimal(int[] nums, int k) {
         int xor = 0;
         int count = 0;
-        Map<Integer, Integer> prefixXorFreq = new HashMap<>();
+        IntIntMap prefixXorFreq = new IntIntMap();
 
         prefixXorFreq.put(0, 1); // base case: prefix XOR = 0 has occurred once
 
@@ -99,7 +99,55 @@ public class CountSubArraySumXOR_4 {
             xor ^= num;
             int required = xor ^ k;
             count += prefixXorFreq.getOrDefault(required, 0);
-            prefixXorFreq.put(xor, prefixXorFreq.getOrDefault(xor, 0) + 1);
+            prefixXorFreq.addTo(xor, 1);
+        }
+
+        return count;
+    }
+
+    /**
+     * Windowed approach: subArraysWithXorKOptimal restricted to subarrays of
+     * at most window elements, with the expiry scheme of
+     * {@link CountSubArraySum_3#subArraySumWindowed}. XOR is its own inverse,
+     * so a subarray ending at i has XOR k exactly when the prefix XOR before
+     * it equals prefix ^ k; the map counts only the last window prefix XORs,
+     * which are the starts that keep the subarray short enough.
+     *
+     * @param nums The input array
+     * @param k The target XOR value
+     * @param window The maximum subarray length
+     * @return The count of subarrays of at most window elements with XOR equal to k
+     */
+    public int subArraysWithXorKWindowed(int[] nums, int k, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must be at least 1, got " + window);
+        }
+        int n = nums.length;
+        int xor = 0;
+        int count = 0;
+
+        // Prefix XOR j (of the first j elements) is kept at j % ringSize.
+        int ringSize = Math.min(window, n + 1);
+        int[] recentPrefixXors = new int[ringSize];
+        IntIntMap prefixXorFreq = new IntIntMap(OpenAddressing.churnSize(ringSize));
+        prefixXorFreq.put(0, 1); // base case: prefix XOR 0 sits in slot 0
+
+        int slot = 0;
+        for (int i = 0; i < n; i++) {
+            xor ^= nums[i];
+            count += prefixXorFreq.getOrDefault(xor ^ k, 0);
+
+            // Slide the window: the oldest prefix XOR leaves the frequency map and prefix XOR i + 1
+            // takes its slot.
+            slot = slot + 1 == ringSize ? 0 : slot + 1;
+            if (i + 1 >= window) {
+                int expired = recentPrefixXors[slot];
+                if (prefixXorFreq.addTo(expired, -1) == 0) {
+                    prefixXorFreq.remove(expired);
+                }
+            }
+            recentPrefixXors[slot] = xor;
+            prefixXorFreq.addTo(xor, 1);
         }
 
         return count;
@@ -121,5 +169,8 @@ public class CountSubArraySumXOR_4 {
 
         int optimalResult = countSubArraySumXOR.subArraysWithXorKOptimal(nums, k);
         System.out.println("Optimal Approach Result: " + optimalResult);
+
+        int windowedResult = countSubArraySumXOR.subArraysWithXorKWindowed(nums, k, 2);
+        System.out.println("Windowed Approach (W = 2) Result: " + windowedResult); // Expected: 2
     }
 }
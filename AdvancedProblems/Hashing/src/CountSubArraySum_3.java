@@ -1,8 +1,5 @@
-import java.util.HashMap;
-import java.util.Map;
-
 /**
- * This class provides three approaches to solve the Subarray Sum Equals K problem.
+ * This class provides four approaches to solve the Subarray Sum Equals K problem.
  *
  * Problem Statement:
  * Given an array of integers and an integer k, return the total number of continuous subarrays whose sum equals to k.
@@ -10,17 +7,20 @@ import java.util.Map;
  * Approaches:
  * 1. Brute Force Approach - Check all subarrays and their sums using three nested loops
  * 2. Better Approach - Reduce one loop by maintaining a running sum
- * 3. Optimal Approach - Use prefix sum and hashmap to count subarrays in O(n) time
+ * 3. Optimal Approach - Use prefix sum and a primitive hash map (IntIntMap) to count subarrays in O(n) time
+ * 4. Windowed Approach - Count only subarrays of at most W elements, evicting old prefix sums in O(W) memory
  *
  * Time Complexities:
  * - Brute Force: O(n^3)
  * - Better Approach: O(n^2)
  * - Optimal Approach: O(n)
+ * - Windowed Approach: O(n)
  *
  * Space Complexities:
  * - Brute Force: O(1)
  * - Better Approach: O(1)
  * - Optimal Approach: O(n)
+ * - Windowed Approach: O(W)
  *
  * Example:
  * Input: nums = [1, 2, 3], k = 3
@@ -80,8 +80,8 @@ public class CountSubArraySum_3 {
     }
 
     /**
-     * Optimal approach using HashMap to store prefix sums and their frequencies.
-     * This method achieves linear time complexity.
+     * Optimal approach using an IntIntMap to store prefix sums and their frequencies.
+     * This method achieves linear time complexity without boxing the prefix sums.
      *
      * @param nums The input array
      * @param k The target sum
@@ -92,14 +92,63 @@ public class CountSubArraySum_3 {
         int currentPrefixSum = 0;
         int subArrayCount = 0;
 
-        Map<Integer, Integer> prefixSumMap = new HashMap<>();
+        IntIntMap prefixSumMap = new IntIntMap();
         prefixSumMap.put(0, 1); // base case for subarrays starting at index 0
 
         for (int i = 0; i < n; i++) {
             currentPrefixSum += nums[i];
             int sumToRemove = currentPrefixSum - k;
             subArrayCount += prefixSumMap.getOrDefault(sumToRemove, 0);
-            prefixSumMap.put(currentPrefixSum, prefixSumMap.getOrDefault(currentPrefixSum, 0) + 1);
+            prefixSumMap.addTo(currentPrefixSum, 1);
+        }
+
+        return subArrayCount;
+    }
+
+    /**
+     * Windowed approach: counts only the subarrays of at most window elements,
+     * which are the ones inside the last window elements when the input is a
+     * stream. The map holds just the prefix sums that can still start such
+     * a subarray. A ring buffer keeps the last window prefix sums in order,
+     * so when the window moves on, the one that expires is known and its map
+     * count is decremented (and the entry removed at zero). Map and ring stay
+     * O(window) however long the input is.
+     *
+     * @param nums The input array
+     * @param k The target sum
+     * @param window The maximum subarray length
+     * @return The count of subarrays of at most window elements with sum equal to k
+     */
+    public int subArraySumWindowed(int[] nums, int k, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must be at least 1, got " + window);
+        }
+        int n = nums.length;
+        int currentPrefixSum = 0;
+        int subArrayCount = 0;
+
+        // Prefix sum j (of the first j elements) is kept at j % ringSize.
+        int ringSize = Math.min(window, n + 1);
+        int[] recentPrefixSums = new int[ringSize];
+        IntIntMap prefixSumMap = new IntIntMap(OpenAddressing.churnSize(ringSize));
+        prefixSumMap.put(0, 1); // base case: prefix sum 0 sits in slot 0
+
+        int slot = 0;
+        for (int i = 0; i < n; i++) {
+            currentPrefixSum += nums[i];
+            subArrayCount += prefixSumMap.getOrDefault(currentPrefixSum - k, 0);
+
+            // The next subarray ends at i + 1, so starting at prefix i + 1 - window would make it
+            // window + 1 long: that prefix sum stops being counted and prefix i + 1 reuses its slot.
+            slot = slot + 1 == ringSize ? 0 : slot + 1;
+            if (i + 1 >= window) {
+                int expired = recentPrefixSums[slot];
+                if (prefixSumMap.addTo(expired, -1) == 0) {
+                    prefixSumMap.remove(expired);
+                }
+            }
+            recentPrefixSums[slot] = currentPrefixSum;
+            prefixSumMap.addTo(currentPrefixSum, 1);
         }
 
         return subArrayCount;
@@ -121,5 +170,8 @@ public class CountSubArraySum_3 {
 
         int optimalResult = countSubArraySum.subArraySumOptimal(nums, k);
         System.out.println("Optimal Approach Result: " + optimalResult);
+
+        int windowedResult = countSubArraySum.subArraySumWindowed(nums, k, 1);
+        System.out.println("Windowed Approach (W = 1) Result: " + windowedResult); // Expected: 1
     }
 }
@@ -0,0 +1,173 @@
+import java.util.Arrays;
+
+/**
+ * A hash set of ints stored in a primitive array.
+ *
+ * HashSet<Integer> is a HashMap underneath: every element is a boxed Integer
+ * plus a Node, about 48 bytes, and every contains() call follows pointers.
+ * This set is IntIntMap without the values array, which halves its memory
+ * and keeps a probe on one array: open addressing with linear probing under
+ * the shared rules of {@link OpenAddressing}. An empty slot holds 0; the
+ * element 0 is tracked by hasZero.
+ *
+ * Time Complexity: O(1) expected per operation, amortized over growth.
+ * Space Complexity: O(n), 8 to 16 bytes per element.
+ *
+ * Example:
+ * set.add(5); set.add(5); set.size() returns 1, set.contains(5) returns true.
+ */
+public class IntHashSet {
+
+    /**
+     * Marks an empty slot; the element 0 is kept separately.
+     */
+    private static final int FREE_KEY = 0;
+
+    private int[] keys;
+
+    /**
+     * capacity - 1, used to wrap probe positions.
+     */
+    private int mask;
+
+    /**
+     * 32 - log2(capacity): the hash keeps its top bits.
+     */
+    private int shift;
+
+    /**
+     * Number of elements in the table, not counting 0.
+     */
+    private int tableSize;
+
+    private boolean hasZero;
+
+    public IntHashSet() {
+        this(OpenAddressing.MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Creates a set that holds expectedSize elements without growing.
+     *
+     * @param expectedSize The number of elements expected
+     */
+    public IntHashSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative, got " + expectedSize);
+        }
+        allocate(OpenAddressing.capacityFor(expectedSize, "an IntHashSet"));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        shift = OpenAddressing.shift(capacity, Integer.SIZE);
+    }
+
+    /**
+     * Returns the slot holding value, or the free slot where it would be inserted.
+     */
+    private int find(int value) {
+        int i = OpenAddressing.slot(value, shift);
+        int k;
+        while ((k = keys[i]) != FREE_KEY && k != value) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Adds value to the set.
+     *
+     * @param value The value to add
+     * @return True if the value was added, false if it was already present
+     */
+    public boolean add(int value) {
+        if (value == FREE_KEY) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int i = find(value);
+        if (keys[i] == value) {
+            return false;
+        }
+        keys[i] = value;
+        if (++tableSize > keys.length >>> 1) {
+            rehash(OpenAddressing.grow(keys.length, tableSize, "an IntHashSet"));
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the set contains value.
+     *
+     * @param value The value to look for
+     * @return True if the value is present, otherwise false
+     */
+    public boolean contains(int value) {
+        return value == FREE_KEY ? hasZero : keys[find(value)] == value;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        allocate(capacity);
+        for (int key : oldKeys) {
+            if (key != FREE_KEY) {
+                keys[find(key)] = key;
+            }
+        }
+    }
+
+    /**
+     * @return The number of elements.
+     */
+    public int size() {
+        return tableSize + (hasZero ? 1 : 0);
+    }
+
+    /**
+     * @return True if the set has no elements.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes every element; the capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        tableSize = 0;
+        hasZero = false;
+    }
+
+    /**
+     * Returns the elements in table order (not sorted).
+     *
+     * @return A new array with every element once
+     */
+    public int[] toArray() {
+        int[] result = new int[size()];
+        int j = 0;
+        if (hasZero) {
+            result[j++] = 0;
+        }
+        for (int key : keys) {
+            if (key != FREE_KEY) {
+                result[j++] = key;
+            }
+        }
+        return result;
+    }
+
+    public static void main(String[] args) {
+        IntHashSet set = new IntHashSet();
+        System.out.println("add(5): " + set.add(5));           // Expected: true
+        System.out.println("add(5): " + set.add(5));           // Expected: false
+        System.out.println("add(0): " + set.add(0));           // Expected: true
+        System.out.println("contains(0): " + set.contains(0)); // Expected: true
+        System.out.println("contains(6): " + set.contains(6)); // Expected: false
+        System.out.println("Size: " + set.size());             // Expected: 2
+    }
+}
@@ -0,0 +1,297 @@
+import java.util.Arrays;
+
+/**
+ * A hash map from int keys to int values that stores both in primitive arrays.
+ *
+ * HashMap<Integer, Integer> boxes every key and value and allocates a Node per
+ * entry, so the prefix-sum approaches spend most of their time allocating and
+ * chasing pointers. This map keeps keys and values in two parallel int
+ * arrays and allocates only when it grows.
+ *
+ * Layout:
+ * - Open addressing with linear probing: a key lives in its home slot or in
+ *   the next free slot after it, so a lookup scans neighbouring entries of
+ *   one array instead of following a chain. Capacity, hashing and growth
+ *   follow {@link OpenAddressing}.
+ * - An empty slot holds the key 0. The key 0 itself is stored outside the
+ *   table, in hasZeroKey / zeroValue, so every int is a valid key.
+ *
+ * addTo(key, delta) finds or inserts the key with a single probe sequence,
+ * replacing the getOrDefault + put pair that costs two lookups on a HashMap.
+ * remove(key) uses backward-shift deletion, so a map that keeps a sliding
+ * window of keys stays as fast as a fresh one.
+ *
+ * Time Complexity: O(1) expected per operation, amortized over growth.
+ * Space Complexity: O(n), 16 to 32 bytes per entry (two ints per slot).
+ *
+ * Example:
+ * map.addTo(3, 1); map.addTo(3, 1); map.getOrDefault(3, 0) returns 2.
+ */
+public class IntIntMap {
+
+    /**
+     * Marks an empty slot; the entry for the key 0 is kept separately.
+     */
+    private static final int FREE_KEY = 0;
+
+    private int[] keys;
+    private int[] values;
+
+    /**
+     * capacity - 1, used to wrap probe positions.
+     */
+    private int mask;
+
+    /**
+     * 32 - log2(capacity): the hash keeps its top bits.
+     */
+    private int shift;
+
+    /**
+     * Number of entries in the table, not counting the key 0.
+     */
+    private int tableSize;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntIntMap() {
+        this(OpenAddressing.MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Creates a map that holds expectedSize entries without growing.
+     *
+     * @param expectedSize The number of entries expected
+     */
+    public IntIntMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative, got " + expectedSize);
+        }
+        allocate(OpenAddressing.capacityFor(expectedSize, "an IntIntMap"));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = OpenAddressing.shift(capacity, Integer.SIZE);
+    }
+
+    /**
+     * Returns the slot holding key, or the free slot where it would be inserted.
+     */
+    private int find(int key) {
+        int i = OpenAddressing.slot(key, shift);
+        int k;
+        while ((k = keys[i]) != FREE_KEY && k != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the value mapped to key, or defaultValue if there is none.
+     *
+     * @param key          The key
+     * @param defaultValue The value to return if the key is absent
+     * @return The mapped value or defaultValue
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int i = find(key);
+        return keys[i] == key ? values[i] : defaultValue;
+    }
+
+    /**
+     * Returns whether the map contains key.
+     *
+     * @param key The key
+     * @return True if the key is present, otherwise false
+     */
+    public boolean containsKey(int key) {
+        return key == FREE_KEY ? hasZeroKey : keys[find(key)] == key;
+    }
+
+    /**
+     * Maps key to value, replacing any previous value.
+     *
+     * @param key   The key
+     * @param value The value
+     */
+    public void put(int key, int value) {
+        if (key == FREE_KEY) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int i = find(key);
+        if (keys[i] != key) {
+            i = insertAt(i, key);
+        }
+        values[i] = value;
+    }
+
+    /**
+     * Maps key to value unless the key is already present.
+     *
+     * @param key   The key
+     * @param value The value
+     * @return The value now mapped to key: the existing one, or value if it was inserted
+     */
+    public int putIfAbsent(int key, int value) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                zeroValue = value;
+            }
+            return zeroValue;
+        }
+        int i = find(key);
+        if (keys[i] != key) {
+            i = insertAt(i, key);
+            values[i] = value;
+        }
+        return values[i];
+    }
+
+    /**
+     * Adds delta to the value of key, inserting the key with value delta if it is absent.
+     *
+     * @param key   The key
+     * @param delta The amount to add
+     * @return The new value of key
+     */
+    public int addTo(int key, int delta) {
+        if (key == FREE_KEY) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int i = find(key);
+        if (keys[i] != key) {
+            i = insertAt(i, key);
+            values[i] = 0;
+        }
+        return values[i] += delta;
+    }
+
+    /**
+     * Removes key and its value with backward-shift deletion (see
+     * {@link OpenAddressing#mayFillHole}), so a map that keeps a sliding
+     * window of keys stays as fast as a fresh one.
+     *
+     * @param key The key
+     * @return True if the key was present, otherwise false
+     */
+    public boolean remove(int key) {
+        if (key == FREE_KEY) {
+            boolean present = hasZeroKey;
+            hasZeroKey = false;
+            return present;
+        }
+        int hole = find(key);
+        if (keys[hole] != key) {
+            return false;
+        }
+
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            int k = keys[j];
+            if (k == FREE_KEY) {
+                break;
+            }
+            if (OpenAddressing.mayFillHole(hole, j, OpenAddressing.slot(k, shift), mask)) {
+                keys[hole] = k;
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = FREE_KEY;
+        tableSize--;
+        return true;
+    }
+
+    /**
+     * Stores key in the free slot i, growing the table if it is now more than
+     * half full. The caller sets the value.
+     *
+     * @return The slot that holds key afterwards
+     */
+    private int insertAt(int i, int key) {
+        keys[i] = key;
+        if (++tableSize <= keys.length >>> 1) {
+            return i;
+        }
+        rehash(OpenAddressing.grow(keys.length, tableSize, "an IntIntMap"));
+        return find(key);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key != FREE_KEY) {
+                int i = find(key);
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return tableSize + (hasZeroKey ? 1 : 0);
+    }
+
+    /**
+     * @return True if the map has no entries.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes every entry; the capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        tableSize = 0;
+        hasZeroKey = false;
+    }
+
+    /**
+     * @return The number of slots in the table.
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    public static void main(String[] args) {
+        IntIntMap map = new IntIntMap();
+        map.addTo(3, 1);
+        map.addTo(3, 1);
+        map.addTo(0, 5);
+        map.putIfAbsent(-7, 4);
+        map.putIfAbsent(-7, 9);
+
+        System.out.println("3 -> " + map.getOrDefault(3, 0));   // Expected: 2
+        System.out.println("0 -> " + map.getOrDefault(0, 0));   // Expected: 5
+        System.out.println("-7 -> " + map.getOrDefault(-7, 0)); // Expected: 4
+        System.out.println("8 -> " + map.getOrDefault(8, -1));  // Expected: -1
+        System.out.println("Size: " + map.size());              // Expected: 3
+
+        for (int key = 1; key <= 1000; key++) {
+            map.put(key, key * key);
+        }
+        System.out.println("500 -> " + map.getOrDefault(500, 0)); // Expected: 250000
+        System.out.println("Size: " + map.size());                // Expected: 1002
+    }
+}
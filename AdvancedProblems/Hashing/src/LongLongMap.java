@@ -0,0 +1,245 @@
+import java.util.Arrays;
+
+/**
+ * A hash map from long keys to long values that stores both in primitive arrays.
+ *
+ * The long counterpart of IntIntMap, for prefix sums and counts that can
+ * outgrow an int, such as those of an unbounded stream. It is a separate
+ * class because its keys and values live in long[] arrays; the probing
+ * rules are the shared ones in {@link OpenAddressing}, with the 64-bit
+ * Fibonacci constant. As in IntIntMap, an empty slot holds the key 0 and the
+ * key 0 itself is kept in hasZeroKey / zeroValue.
+ *
+ * Time Complexity: O(1) expected per operation, amortized over growth.
+ * Space Complexity: O(n), 32 to 64 bytes per entry (two longs per slot).
+ *
+ * Example:
+ * map.addTo(3L, 1); map.addTo(3L, 1); map.getOrDefault(3L, 0) returns 2.
+ */
+public class LongLongMap {
+
+    /**
+     * Marks an empty slot; the entry for the key 0 is kept separately.
+     */
+    private static final long FREE_KEY = 0;
+
+    private long[] keys;
+    private long[] values;
+
+    /**
+     * capacity - 1, used to wrap probe positions.
+     */
+    private int mask;
+
+    /**
+     * 64 - log2(capacity): the hash keeps its top bits.
+     */
+    private int shift;
+
+    /**
+     * Number of entries in the table, not counting the key 0.
+     */
+    private int tableSize;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongMap() {
+        this(OpenAddressing.MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Creates a map that holds expectedSize entries without growing.
+     *
+     * @param expectedSize The number of entries expected
+     */
+    public LongLongMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative, got " + expectedSize);
+        }
+        allocate(OpenAddressing.capacityFor(expectedSize, "a LongLongMap"));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        shift = OpenAddressing.shift(capacity, Long.SIZE);
+    }
+
+    /**
+     * Returns the slot holding key, or the free slot where it would be inserted.
+     */
+    private int find(long key) {
+        int i = OpenAddressing.slot(key, shift);
+        long k;
+        while ((k = keys[i]) != FREE_KEY && k != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the value mapped to key, or defaultValue if there is none.
+     *
+     * @param key          The key
+     * @param defaultValue The value to return if the key is absent
+     * @return The mapped value or defaultValue
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int i = find(key);
+        return keys[i] == key ? values[i] : defaultValue;
+    }
+
+    /**
+     * Returns whether the map contains key.
+     *
+     * @param key The key
+     * @return True if the key is present, otherwise false
+     */
+    public boolean containsKey(long key) {
+        return key == FREE_KEY ? hasZeroKey : keys[find(key)] == key;
+    }
+
+    /**
+     * Maps key to value, replacing any previous value.
+     *
+     * @param key   The key
+     * @param value The value
+     */
+    public void put(long key, long value) {
+        if (key == FREE_KEY) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int i = find(key);
+        if (keys[i] != key) {
+            i = insertAt(i, key);
+        }
+        values[i] = value;
+    }
+
+    /**
+     * Adds delta to the value of key, inserting the key with value delta if it is absent.
+     *
+     * @param key   The key
+     * @param delta The amount to add
+     * @return The new value of key
+     */
+    public long addTo(long key, long delta) {
+        if (key == FREE_KEY) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int i = find(key);
+        if (keys[i] != key) {
+            i = insertAt(i, key);
+            values[i] = 0;
+        }
+        return values[i] += delta;
+    }
+
+    /**
+     * Removes key and its value with backward-shift deletion.
+     *
+     * @param key The key
+     * @return True if the key was present, otherwise false
+     */
+    public boolean remove(long key) {
+        if (key == FREE_KEY) {
+            boolean present = hasZeroKey;
+            hasZeroKey = false;
+            return present;
+        }
+        int hole = find(key);
+        if (keys[hole] != key) {
+            return false;
+        }
+
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            long k = keys[j];
+            if (k == FREE_KEY) {
+                break;
+            }
+            if (OpenAddressing.mayFillHole(hole, j, OpenAddressing.slot(k, shift), mask)) {
+                keys[hole] = k;
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = FREE_KEY;
+        tableSize--;
+        return true;
+    }
+
+    /**
+     * Stores key in the free slot i, growing the table if it is now more than
+     * half full. The caller sets the value.
+     *
+     * @return The slot that holds key afterwards
+     */
+    private int insertAt(int i, long key) {
+        keys[i] = key;
+        if (++tableSize <= keys.length >>> 1) {
+            return i;
+        }
+        rehash(OpenAddressing.grow(keys.length, tableSize, "a LongLongMap"));
+        return find(key);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != FREE_KEY) {
+                int i = find(key);
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return tableSize + (hasZeroKey ? 1 : 0);
+    }
+
+    /**
+     * @return True if the map has no entries.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes every entry; the capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        tableSize = 0;
+        hasZeroKey = false;
+    }
+
+    public static void main(String[] args) {
+        LongLongMap map = new LongLongMap();
+        map.addTo(3L, 1);
+        map.addTo(3L, 1);
+        map.put(1L << 40, 7);
+
+        System.out.println("3 -> " + map.getOrDefault(3L, 0));           // Expected: 2
+        System.out.println("2^40 -> " + map.getOrDefault(1L << 40, 0));  // Expected: 7
+        System.out.println("0 -> " + map.getOrDefault(0L, -1));          // Expected: -1
+        System.out.println("Size: " + map.size());                       // Expected: 2
+    }
+}
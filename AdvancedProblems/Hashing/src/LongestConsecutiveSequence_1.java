@@ -1,6 +1,4 @@
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * This class provides three approaches to solve the Longest Consecutive Sequence problem.
@@ -12,22 +10,32 @@ import java.util.Set;
  * Approaches:
  * 1. Brute Force Approach - For each element, check if the next elements exist
  * 2. Better Approach - Sort the array and then count consecutive elements
- * 3. Optimal Approach - Use a HashSet to efficiently find consecutive sequences
+ * 3. Optimal Approach - Use a set to efficiently find consecutive sequences, in one of two modes:
+ *    - Bitmap: when max - min is small enough (the bitmap takes at most BITMAP_BITS_PER_ELEMENT
+ *      bits per element, no more than the hash set would), each value sets one bit of a long[] and
+ *      the longest run of one-bits is found 64 values at a time with Long.numberOfTrailingZeros.
+ *    - Hash set: otherwise, a primitive IntHashSet; only values without a predecessor start a scan.
  * 
  * Time Complexities:
  * - Brute: O(n^2)
  * - Better: O(n log n)
- * - Optimal: O(n)
+ * - Optimal: O(n) (bitmap: O(n + (max - min) / 64))
  * 
  * Space Complexities:
  * - Brute and Better: O(1) extra space
- * - Optimal: O(n) extra space for HashSet
+ * - Optimal: O(n) extra space; the bitmap uses (max - min) / 8 bytes, the hash set 8 to 16 bytes per element
  * 
  * Example:
  * Input: [100, 4, 200, 1, 3, 2]
  * Output: 4 (because sequence is [1, 2, 3, 4])
  */
 public class LongestConsecutiveSequence_1 {
+
+    /**
+     * The bitmap mode is used while it needs at most this many bits per
+     * element: 8 bytes, the lower end of what IntHashSet takes.
+     */
+    static final int BITMAP_BITS_PER_ELEMENT = 64;
     
     /**
      * Helper method that checks if a given target exists in the array.
@@ -110,8 +118,8 @@ public class LongestConsecutiveSequence_1 {
     }
     
     /**
-     * Optimal approach using HashSet to find the longest consecutive sequence.
-     * Only starts counting when the current number is the start of a sequence.
+     * Optimal approach: picks the bitmap mode when the value range is dense
+     * enough, otherwise the hash set mode.
      * 
      * @param nums The input array
      * @return Length of the longest consecutive sequence
@@ -122,19 +130,85 @@ public class LongestConsecutiveSequence_1 {
             return 0;
         }
 
-        Set<Integer> elements = new HashSet<>();
+        int min = nums[0];
+        int max = nums[0];
+        for (int num : nums) {
+            min = Math.min(min, num);
+            max = Math.max(max, num);
+        }
+
+        long span = (long) max - min + 1;
+        if (span <= (long) n * BITMAP_BITS_PER_ELEMENT) {
+            return longestConsecutiveBitmap(nums, min, max);
+        }
+        return longestConsecutiveHashSet(nums);
+    }
+
+    /**
+     * Bitmap mode: bit (num - min) is set for every element, so a consecutive
+     * sequence is a run of one-bits. Each word is handled at once: a full
+     * word extends the current run by 64, otherwise the runs inside it are
+     * measured with trailing-zero counts.
+     * 
+     * @param nums The non-empty input array
+     * @param min The smallest element, as found by longestConsecutiveOptimal
+     * @param max The largest element, as found by longestConsecutiveOptimal
+     * @return Length of the longest consecutive sequence
+     */
+    private int longestConsecutiveBitmap(int[] nums, int min, int max) {
+        long[] bits = new long[(int) ((((long) max - min) >>> 6) + 1)];
+        for (int num : nums) {
+            long offset = (long) num - min;
+            bits[(int) (offset >>> 6)] |= 1L << offset;
+        }
+
+        long maxLength = 0;
+        long run = 0; // length of the run that reaches the top bit of the previous word
+        for (long word : bits) {
+            if (word == -1L) {
+                run += 64;
+                continue;
+            }
+
+            // The ones at the bottom of the word finish the run from the previous words.
+            int low = Long.numberOfTrailingZeros(~word);
+            maxLength = Math.max(maxLength, run + low);
+
+            // Runs inside the word; the last one may continue into the next word.
+            long rest = word >>> low;
+            while (rest != 0) {
+                rest >>>= Long.numberOfTrailingZeros(rest);
+                int ones = Long.numberOfTrailingZeros(~rest);
+                maxLength = Math.max(maxLength, ones);
+                rest >>>= ones;
+            }
+            run = Long.numberOfLeadingZeros(~word);
+        }
+
+        return (int) Math.max(maxLength, run);
+    }
+
+    /**
+     * Hash set mode: a value starts a sequence only if value - 1 is absent,
+     * so every distinct value is visited at most twice.
+     * 
+     * @param nums The input array
+     * @return Length of the longest consecutive sequence, 0 for an empty array
+     */
+    public int longestConsecutiveHashSet(int[] nums) {
+        IntHashSet elements = new IntHashSet();
         for (int num : nums) {
             elements.add(num);
         }
 
-        int maxLength = 1;
+        int maxLength = 0;
 
-        for (int num : elements) {
-            if (!elements.contains(num - 1)) {
+        for (int num : elements.toArray()) {
+            if (num == Integer.MIN_VALUE || !elements.contains(num - 1)) {
                 int currentNum = num;
                 int currentLength = 1;
 
-                while (elements.contains(currentNum + 1)) {
+                while (currentNum != Integer.MAX_VALUE && elements.contains(currentNum + 1)) {
                     currentNum++;
                     currentLength++;
                 }
@@ -162,6 +236,12 @@ public class LongestConsecutiveSequence_1 {
         System.out.println("Better Approach (Sort + Scan) Result: " + betterResult);
 
         int optimalResult = sequenceFinder.longestConsecutiveOptimal(nums);
-        System.out.println("Optimal Approach (HashSet) Result: " + optimalResult);
+        System.out.println("Optimal Approach (Bitmap / IntHashSet) Result: " + optimalResult);
+
+        int hashSetResult = sequenceFinder.longestConsecutiveHashSet(nums);
+        System.out.println("Optimal Approach (IntHashSet only) Result: " + hashSetResult);
+
+        int emptyResult = sequenceFinder.longestConsecutiveHashSet(new int[0]);
+        System.out.println("IntHashSet only, empty array: " + emptyResult);
     }
 }
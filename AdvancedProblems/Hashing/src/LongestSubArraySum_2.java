@@ -1,26 +1,26 @@
-import java.util.HashMap;
-import java.util.Map;
-
 /**
- * This class provides three approaches to solve the Longest Subarray with Sum Equals K problem.
+ * This class provides four approaches to solve the Longest Subarray with Sum Equals K problem.
  * 
  * Problem Statement:
  * Given an array of integers and an integer k, find the length of the longest subarray whose sum equals k.
  * 
  * Approaches:
  * 1. Brute Force Approach - Check all subarrays and their sums
- * 2. Optimal Approach (Positive and Negative Elements) - Use a HashMap to store prefix sums
+ * 2. Optimal Approach (Positive and Negative Elements) - Use a primitive hash map (IntIntMap) to store prefix sums
  * 3. Optimal Approach (Only Positive Elements) - Use a two-pointer sliding window technique
+ * 4. Windowed Approach - Only subarrays of at most W elements, evicting old prefix sums in O(W) memory
  * 
  * Time Complexities:
  * - Brute Force: O(n^3)
  * - Optimal (Positive and Negative): O(n)
  * - Optimal (Positive Only): O(2n) ≈ O(n)
+ * - Windowed: O(n)
  * 
  * Space Complexities:
  * - Brute Force: O(1)
  * - Optimal (Positive and Negative): O(n)
  * - Optimal (Positive Only): O(1)
+ * - Windowed: O(W)
  * 
  * Example:
  * Input: nums = [-1, 1, 1], k = 1
@@ -57,7 +57,8 @@ public class LongestSubArraySum_2 {
 
     /**
      * Optimal approach to find the longest subarray with sum equal to k.
-     * Works for arrays with both positive and negative integers using HashMap to store prefix sums.
+     * Works for arrays with both positive and negative integers using an IntIntMap to store
+     * the first index of each prefix sum.
      *
      * @param nums The input array
      * @param k The target sum
@@ -67,7 +68,7 @@ public class LongestSubArraySum_2 {
         int n = nums.length;
         int maxLength = 0;
         int sum = 0;
-        Map<Integer, Integer> prefixSumMap = new HashMap<>();
+        IntIntMap prefixSumMap = new IntIntMap();
 
         for (int i = 0; i < n; i++) {
             sum += nums[i];
@@ -77,14 +78,13 @@ public class LongestSubArraySum_2 {
             }
 
             int remainder = sum - k;
-            if (prefixSumMap.containsKey(remainder)) {
-                int length = i - prefixSumMap.get(remainder);
+            int firstIndex = prefixSumMap.getOrDefault(remainder, -1);
+            if (firstIndex != -1) {
+                int length = i - firstIndex;
                 maxLength = Math.max(maxLength, length);
             }
 
-            if (!prefixSumMap.containsKey(sum)) {
-                prefixSumMap.put(sum, i);
-            }
+            prefixSumMap.putIfAbsent(sum, i);
         }
 
         return maxLength;
@@ -123,6 +123,79 @@ public class LongestSubArraySum_2 {
         return maxLength;
     }
 
+    /**
+     * Windowed approach: the longest subarray with sum equal to k among those
+     * of at most window elements, which are the ones inside the last window
+     * elements when the input is a stream.
+     *
+     * For every prefix sum still in the window the map holds the first index
+     * where it occurs, since that gives the longest subarray. A ring buffer
+     * keeps the last window prefix sums, and for each of them the index of the
+     * next equal prefix sum. When a prefix expires it is always the first
+     * occurrence of its sum, so its map entry moves on to that next index, or
+     * is removed if there is none. Maps and ring stay O(window).
+     *
+     * @param nums The input array
+     * @param k The target sum
+     * @param window The maximum subarray length
+     * @return Length of the longest subarray of at most window elements with sum equal to k
+     */
+    public int longestSubArrayWindowed(int[] nums, int k, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must be at least 1, got " + window);
+        }
+        int n = nums.length;
+        int maxLength = 0;
+        int sum = 0;
+
+        // Prefix sum j (of the first j elements) and the index of the next equal one are kept at j % ringSize.
+        int ringSize = Math.min(window, n + 1);
+        int[] recentPrefixSums = new int[ringSize];
+        int[] nextSameIndex = new int[ringSize];
+        IntIntMap firstIndex = new IntIntMap(OpenAddressing.churnSize(ringSize));
+        IntIntMap lastIndex = new IntIntMap(OpenAddressing.churnSize(ringSize));
+
+        // Prefix sum 0 at index 0.
+        nextSameIndex[0] = -1;
+        firstIndex.put(0, 0);
+        lastIndex.put(0, 0);
+
+        for (int i = 0; i < n; i++) {
+            sum += nums[i];
+
+            int start = firstIndex.getOrDefault(sum - k, -1);
+            if (start != -1) {
+                maxLength = Math.max(maxLength, i + 1 - start);
+            }
+
+            // Prefix i + 1 - window is the oldest one left and the first occurrence of its sum;
+            // that sum's first index moves on to the next occurrence before prefix i + 1 takes the slot.
+            int slot = (i + 1) % ringSize;
+            if (i + 1 >= window) {
+                int expired = recentPrefixSums[slot];
+                int next = nextSameIndex[slot];
+                if (next == -1) {
+                    firstIndex.remove(expired);
+                    lastIndex.remove(expired);
+                } else {
+                    firstIndex.put(expired, next);
+                }
+            }
+
+            recentPrefixSums[slot] = sum;
+            nextSameIndex[slot] = -1;
+            int previous = lastIndex.getOrDefault(sum, -1);
+            if (previous == -1) {
+                firstIndex.put(sum, i + 1);
+            } else {
+                nextSameIndex[previous % ringSize] = i + 1;
+            }
+            lastIndex.put(sum, i + 1);
+        }
+
+        return maxLength;
+    }
+
     public static void main(String[] args) {
         LongestSubArraySum_2 longestSubArraySum_2 = new LongestSubArraySum_2();
         int[] nums = { -1, 1, 1 };
@@ -139,5 +212,8 @@ public class LongestSubArraySum_2 {
 
         int optimalPosResult = longestSubArraySum_2.longestSubArrayOptimalPos(nums, k);
         System.out.println("Optimal Approach (Positive Elements) Result: " + optimalPosResult);
+
+        int windowedResult = longestSubArraySum_2.longestSubArrayWindowed(nums, k, 2);
+        System.out.println("Windowed Approach (W = 2) Result: " + windowedResult); // Expected: 1
     }
 }
@@ -0,0 +1,115 @@
+/**
+ * The sizing, hashing and deletion rules shared by IntIntMap, LongLongMap and
+ * IntHashSet.
+ *
+ * The three tables are open-addressed with linear probing over primitive
+ * arrays. Each keeps its own int[] or long[] arrays and probe loop, since
+ * generics would box every key; the rules they have in common live here:
+ * - The capacity is a power of two, at least MIN_CAPACITY, and the table
+ *   doubles once it is more than half full, which keeps probe runs short.
+ * - The home slot of a key is the top log2(capacity) bits of key times the
+ *   golden-ratio constant (Fibonacci hashing), which spreads runs of
+ *   consecutive keys such as prefix sums over the whole table.
+ * - Deletion shifts later keys of the probe run back into the hole instead of
+ *   leaving a tombstone (see mayFillHole).
+ *
+ * Tables that hold a sliding window of keys are created with churnSize.
+ */
+final class OpenAddressing {
+
+    static final int MIN_CAPACITY = 8;
+
+    /**
+     * The largest capacity: the biggest power of two an array can hold.
+     */
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private OpenAddressing() {
+    }
+
+    /**
+     * Returns the smallest capacity that keeps size keys at most half full.
+     *
+     * @param size  The number of keys
+     * @param table The table's name, for the error message
+     * @return A power of two between MIN_CAPACITY and MAX_CAPACITY
+     * @throws IllegalStateException If size keys need more than MAX_CAPACITY slots
+     */
+    static int capacityFor(int size, String table) {
+        long wanted = Math.max(MIN_CAPACITY, 2L * size);
+        if (wanted > MAX_CAPACITY) {
+            throw new IllegalStateException("Too many entries for " + table + ": " + size);
+        }
+        return Integer.highestOneBit((int) wanted - 1) << 1;
+    }
+
+    /**
+     * Returns the expected size to create a table with when it holds at most
+     * liveKeys keys at a time but removes and re-adds keys on every step, as
+     * the prefix-sum map of a sliding window does.
+     *
+     * Every removal walks and shifts the rest of its probe run, so these
+     * tables are sized for twice their live keys, which keeps them at most a
+     * quarter full. At the usual half load the churn made small windows
+     * (around 16 keys) about 1.6x slower.
+     *
+     * @param liveKeys The most keys the table holds at once
+     * @return The expected size to pass to the table's constructor
+     */
+    static int churnSize(int liveKeys) {
+        return (int) Math.min(2L * liveKeys, MAX_CAPACITY / 2);
+    }
+
+    /**
+     * Returns the capacity after a table of the given capacity doubles.
+     *
+     * @throws IllegalStateException If the table is already at MAX_CAPACITY
+     */
+    static int grow(int capacity, int size, String table) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Too many entries for " + table + ": " + size);
+        }
+        return capacity << 1;
+    }
+
+    /**
+     * Returns how far the hash is shifted so that it keeps log2(capacity) of
+     * its keyBits bits.
+     */
+    static int shift(int capacity, int keyBits) {
+        return keyBits - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * Returns the home slot of an int key for the given shift.
+     */
+    static int slot(int key, int shift) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Returns the home slot of a long key for the given shift.
+     */
+    static int slot(long key, int shift) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    /**
+     * Backward-shift deletion. Linear probing cannot simply empty a slot,
+     * since that would cut the probe run of the keys stored after it. The
+     * table walks the run after the hole, and every key that may fill the hole
+     * moves back into it, leaving a new hole where it was; the walk ends at
+     * the first free slot. No tombstones are left, so lookups stay as short
+     * as before the insertion.
+     *
+     * @param hole The empty slot
+     * @param j    The slot of a key later in the run
+     * @param home The key's home slot
+     * @param mask capacity - 1
+     * @return True unless the key's home slot lies cyclically in (hole, j],
+     *         where moving it to the hole would put it before its home
+     */
+    static boolean mayFillHole(int hole, int j, int home, int mask) {
+        return ((j - home) & mask) >= ((j - hole) & mask);
+    }
+}
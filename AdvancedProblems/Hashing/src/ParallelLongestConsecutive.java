@@ -0,0 +1,365 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A fork-join parallel Longest Consecutive Sequence built on
+ * {@link LongestConsecutiveSequence_1}. Returns the same length as
+ * {@link LongestConsecutiveSequence_1#longestConsecutiveOptimal}.
+ *
+ * Steps:
+ * 1. Min and max are found by a parallel reduction over chunks of the input.
+ * 2. The values are placed in order, in the same two modes as the sequential version:
+ *    - Dense (max - min within LongestConsecutiveSequence_1.BITMAP_BITS_PER_ELEMENT
+ *      bits per element): every input chunk sets its bits in one shared long[]
+ *      bitmap with an atomic OR, skipped when the bit is already set.
+ *    - Sparse: a copy of the input is sorted with Arrays.parallelSort, run
+ *      inside the pool.
+ * 3. Every chunk of the bitmap (or of the sorted copy) is summarized as its
+ *    value range, the run at its start, the run at its end and the longest run
+ *    inside it. Adjacent summaries merge in O(1): the run at the end of the
+ *    left chunk joins the run at the start of the right one when their values
+ *    touch, and a chunk that is one full run extends its neighbour's run. The
+ *    merges follow the fork-join tree, so no run ever has to be walked twice.
+ *
+ * Inputs at or below the sequential threshold, and pools with a single
+ * worker, use the sequential optimal approach.
+ *
+ * Time Complexity:
+ * - Work: O(n + (max - min) / 64) dense, O(n log n) sparse
+ * - Span: O(log n) merges of O(1) each, after the chunk scans
+ *
+ * Space Complexity: O((max - min) / 8) bytes dense, O(n) sparse.
+ */
+public class ParallelLongestConsecutive {
+
+    /**
+     * Chunks of at most this many elements (or bitmap words) are handled sequentially.
+     */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    /**
+     * Atomic access to the elements of the shared bitmap.
+     */
+    private static final VarHandle BITS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+    private final LongestConsecutiveSequence_1 sequential = new LongestConsecutiveSequence_1();
+
+    /**
+     * Creates a finder that runs on the common fork-join pool with the default
+     * sequential threshold.
+     */
+    public ParallelLongestConsecutive() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Creates a finder that runs on the given pool.
+     *
+     * @param pool                The pool that executes the tasks.
+     * @param sequentialThreshold Chunks at or below this size are handled sequentially.
+     */
+    public ParallelLongestConsecutive(ForkJoinPool pool, int sequentialThreshold) {
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Sequential threshold must be at least 1, got " + sequentialThreshold);
+        }
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Finds the length of the longest consecutive sequence in parallel.
+     * The input array is not modified.
+     *
+     * @param nums The input array
+     * @return Length of the longest consecutive sequence
+     */
+    public int longestConsecutive(int[] nums) {
+        int n = nums.length;
+        if (n <= sequentialThreshold || pool.getParallelism() == 1) {
+            return sequential.longestConsecutiveOptimal(nums);
+        }
+        return pool.invoke(new RecursiveTask<Integer>() {
+            @Override
+            protected Integer compute() {
+                return solve(nums);
+            }
+        });
+    }
+
+    /**
+     * Runs inside the pool, so that the nested parallel tasks use its workers.
+     */
+    private int solve(int[] nums) {
+        int n = nums.length;
+        long[] minMax = new MinMaxTask(nums, 0, n).invoke();
+        int min = (int) minMax[0];
+        int max = (int) minMax[1];
+
+        long span = (long) max - min + 1;
+        Runs runs;
+        if (span <= (long) n * LongestConsecutiveSequence_1.BITMAP_BITS_PER_ELEMENT) {
+            long[] bits = new long[(int) ((span - 1) >>> 6) + 1];
+            new FillTask(nums, bits, min, 0, n).invoke();
+            runs = new BitmapRunsTask(bits, min, 0, bits.length).invoke();
+        } else {
+            int[] sorted = nums.clone();
+            Arrays.parallelSort(sorted);
+            runs = new SortedRunsTask(sorted, 0, n).invoke();
+        }
+        return (int) runs.longest;
+    }
+
+    /**
+     * Summary of the values present in one chunk of the value range.
+     */
+    private static final class Runs {
+        /** The first and last value the chunk covers (not necessarily present for a bitmap chunk). */
+        final long first;
+        final long last;
+
+        /** Length of the run of present values starting at first, and ending at last. */
+        final long prefix;
+        final long suffix;
+
+        final long longest;
+
+        Runs(long first, long last, long prefix, long suffix, long longest) {
+            this.first = first;
+            this.last = last;
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.longest = longest;
+        }
+
+        /**
+         * @return True if every value from first to last is present.
+         */
+        boolean isFull() {
+            return prefix == last - first + 1;
+        }
+
+        /**
+         * Combines this chunk with the chunk directly after it in value order.
+         */
+        Runs merge(Runs right) {
+            long gap = right.first - last;
+            // A run that crosses the boundary; with gap 0 both chunks hold the shared value.
+            long join = gap == 1 ? suffix + right.prefix : gap == 0 ? suffix + right.prefix - 1 : 0;
+            long mergedPrefix = isFull() && join > 0 ? join : prefix;
+            long mergedSuffix = right.isFull() && join > 0 ? join : right.suffix;
+            long mergedLongest = Math.max(Math.max(longest, right.longest), join);
+            return new Runs(first, right.last, mergedPrefix, mergedSuffix, mergedLongest);
+        }
+    }
+
+    /**
+     * Finds the min and max of nums[low...high-1].
+     */
+    private class MinMaxTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] nums;
+        private final int low;
+        private final int high;
+
+        MinMaxTask(int[] nums, int low, int high) {
+            this.nums = nums;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (high - low <= sequentialThreshold) {
+                int min = nums[low];
+                int max = nums[low];
+                for (int i = low + 1; i < high; i++) {
+                    min = Math.min(min, nums[i]);
+                    max = Math.max(max, nums[i]);
+                }
+                return new long[] { min, max };
+            }
+            int mid = low + (high - low) / 2;
+            MinMaxTask left = new MinMaxTask(nums, low, mid);
+            left.fork();
+            long[] right = new MinMaxTask(nums, mid, high).compute();
+            long[] leftResult = left.join();
+            return new long[] { Math.min(leftResult[0], right[0]), Math.max(leftResult[1], right[1]) };
+        }
+    }
+
+    /**
+     * Sets the bit of every value in nums[low...high-1].
+     */
+    private class FillTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] nums;
+        private final long[] bits;
+        private final int min;
+        private final int low;
+        private final int high;
+
+        FillTask(int[] nums, long[] bits, int min, int low, int high) {
+            this.nums = nums;
+            this.bits = bits;
+            this.min = min;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= sequentialThreshold) {
+                for (int i = low; i < high; i++) {
+                    long offset = (long) nums[i] - min;
+                    int word = (int) (offset >>> 6);
+                    long mask = 1L << offset;
+                    // Bits are never cleared, so a set bit seen by a plain read is really set.
+                    if ((bits[word] & mask) == 0) {
+                        BITS.getAndBitwiseOr(bits, word, mask);
+                    }
+                }
+                return;
+            }
+            int mid = low + (high - low) / 2;
+            invokeAll(new FillTask(nums, bits, min, low, mid), new FillTask(nums, bits, min, mid, high));
+        }
+    }
+
+    /**
+     * Summarizes the runs of one-bits in bits[low...high-1]; bit j of word w stands for min + 64w + j.
+     */
+    private class BitmapRunsTask extends RecursiveTask<Runs> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] bits;
+        private final int min;
+        private final int low;
+        private final int high;
+
+        BitmapRunsTask(long[] bits, int min, int low, int high) {
+            this.bits = bits;
+            this.min = min;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected Runs compute() {
+            if (high - low <= sequentialThreshold) {
+                return scan();
+            }
+            int mid = low + (high - low) / 2;
+            BitmapRunsTask left = new BitmapRunsTask(bits, min, low, mid);
+            left.fork();
+            Runs right = new BitmapRunsTask(bits, min, mid, high).compute();
+            return left.join().merge(right);
+        }
+
+        private Runs scan() {
+            long prefix = 0;
+            boolean inPrefix = true;
+            long longest = 0;
+            long run = 0; // run reaching the top bit of the previous word
+            for (int w = low; w < high; w++) {
+                long word = bits[w];
+                if (word == -1L) {
+                    run += 64;
+                    continue;
+                }
+                int lowOnes = Long.numberOfTrailingZeros(~word);
+                if (inPrefix) {
+                    prefix = run + lowOnes;
+                    inPrefix = false;
+                }
+                longest = Math.max(longest, run + lowOnes);
+                long rest = word >>> lowOnes;
+                while (rest != 0) {
+                    rest >>>= Long.numberOfTrailingZeros(rest);
+                    int ones = Long.numberOfTrailingZeros(~rest);
+                    longest = Math.max(longest, ones);
+                    rest >>>= ones;
+                }
+                run = Long.numberOfLeadingZeros(~word);
+            }
+            if (inPrefix) {
+                prefix = run;
+            }
+            long first = (long) min + 64L * low;
+            long last = (long) min + 64L * high - 1;
+            return new Runs(first, last, prefix, run, Math.max(longest, run));
+        }
+    }
+
+    /**
+     * Summarizes the runs of consecutive values in the sorted range sorted[low...high-1].
+     */
+    private class SortedRunsTask extends RecursiveTask<Runs> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] sorted;
+        private final int low;
+        private final int high;
+
+        SortedRunsTask(int[] sorted, int low, int high) {
+            this.sorted = sorted;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected Runs compute() {
+            if (high - low <= sequentialThreshold) {
+                return scan();
+            }
+            int mid = low + (high - low) / 2;
+            SortedRunsTask left = new SortedRunsTask(sorted, low, mid);
+            left.fork();
+            Runs right = new SortedRunsTask(sorted, mid, high).compute();
+            return left.join().merge(right);
+        }
+
+        private Runs scan() {
+            long prefix = 0;
+            boolean inPrefix = true;
+            long longest = 1;
+            long run = 1;
+            for (int i = low + 1; i < high; i++) {
+                long gap = (long) sorted[i] - sorted[i - 1];
+                if (gap == 1) {
+                    run++;
+                } else if (gap > 1) {
+                    if (inPrefix) {
+                        prefix = run;
+                        inPrefix = false;
+                    }
+                    run = 1;
+                }
+                longest = Math.max(longest, run);
+            }
+            if (inPrefix) {
+                prefix = run;
+            }
+            return new Runs(sorted[low], sorted[high - 1], prefix, run, longest);
+        }
+    }
+
+    public static void main(String[] args) {
+        ParallelLongestConsecutive finder = new ParallelLongestConsecutive(new ForkJoinPool(4), 2);
+
+        int[] dense = { 100, 4, 200, 1, 3, 2, 101, 102 };
+        System.out.println("Dense input: " + Arrays.toString(dense));
+        System.out.println("Parallel Result: " + finder.longestConsecutive(dense)); // Expected: 4
+
+        int[] sparse = { Integer.MIN_VALUE, 7, Integer.MAX_VALUE, 8, 9, 9, Integer.MIN_VALUE + 1 };
+        System.out.println("Sparse input: " + Arrays.toString(sparse));
+        System.out.println("Parallel Result: " + finder.longestConsecutive(sparse)); // Expected: 3
+    }
+}
@@ -0,0 +1,221 @@
+import java.util.Arrays;
+
+/**
+ * An incremental version of {@link CountSubArraySum_3#subArraySumOptimal} for
+ * input that arrives as a stream.
+ *
+ * Values are added one at a time or in chunks, and at any point
+ * getCount(k) returns the number of contiguous subarrays of everything added
+ * so far whose sum is k. Several targets are tracked in the same pass.
+ *
+ * Approach:
+ * The counter keeps the running prefix sum P and a table of how often every
+ * earlier prefix sum has occurred (starting with the empty prefix, 0). A new
+ * value moves P to P + value; the subarrays that end at this value and sum to
+ * k are exactly the earlier prefixes equal to P - k, so each target's count
+ * grows by the frequency of P - k before P itself is recorded. This is the
+ * loop of subArraySumOptimal, with its state kept between calls.
+ *
+ * Unlike the array version, prefix sums and counts are longs: a stream can
+ * have more than 2^31 elements, and one prefix sum can recur that often. The
+ * table is a LongLongMap, so nothing is boxed. Results are exact as long as
+ * every subarray sum fits in a long.
+ *
+ * The table holds every distinct prefix sum seen, so memory grows with the
+ * stream. A counter created with {@link #windowed} only counts subarrays of
+ * at most window elements: a ring buffer keeps the last window prefix sums,
+ * and the prefix sum that falls out of the window is decremented in the
+ * table (and removed at zero), so memory stays O(window) on an unbounded
+ * stream.
+ *
+ * Time Complexity: O(t) expected per value for t targets.
+ * Space Complexity: O(d) for d distinct prefix sums, at most the number of values + 1;
+ * O(window) for a windowed counter.
+ *
+ * Example:
+ * Targets {3, 5}, values 1, 2, 3 -> count(3) = 2 ([1, 2] and [3]), count(5) = 1 ([2, 3]).
+ */
+public class SubarraySumCounter {
+
+    private final long[] targets;
+    private final long[] counts;
+
+    /**
+     * Frequency of every prefix sum seen so far (in the window, for a windowed counter).
+     */
+    private final LongLongMap prefixSumFreq;
+
+    private long prefixSum;
+    private long length;
+
+    /**
+     * For a windowed counter, prefix sum j (of the first j values) is kept at
+     * j % window until it expires; null when every prefix sum is kept.
+     */
+    private final long[] recentPrefixSums;
+
+    /**
+     * Slot of the latest prefix sum in recentPrefixSums.
+     */
+    private int ringSlot;
+
+    /**
+     * Creates a counter for one or more target sums over the whole stream.
+     *
+     * @param targets The sums to count subarrays for
+     */
+    public SubarraySumCounter(long... targets) {
+        this(targets, null);
+    }
+
+    private SubarraySumCounter(long[] targets, long[] recentPrefixSums) {
+        if (targets.length == 0) {
+            throw new IllegalArgumentException("At least one target sum is required");
+        }
+        this.targets = targets.clone();
+        this.counts = new long[targets.length];
+        this.recentPrefixSums = recentPrefixSums;
+        this.prefixSumFreq = recentPrefixSums == null
+                ? new LongLongMap()
+                : new LongLongMap(OpenAddressing.churnSize(recentPrefixSums.length));
+        prefixSumFreq.put(0, 1); // base case for subarrays starting at the first value
+    }
+
+    /**
+     * Creates a counter that only counts subarrays of at most window values,
+     * i.e. those within the last window values of the stream.
+     *
+     * @param window  The maximum subarray length
+     * @param targets The sums to count subarrays for
+     * @return A windowed counter
+     */
+    public static SubarraySumCounter windowed(int window, long... targets) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must be at least 1, got " + window);
+        }
+        return new SubarraySumCounter(targets, new long[window]);
+    }
+
+    /**
+     * Adds one value to the end of the stream.
+     *
+     * @param value The value
+     */
+    public void update(int value) {
+        prefixSum += value;
+        add(prefixSum);
+    }
+
+    /**
+     * Adds nums[from...to-1] to the end of the stream. Equivalent to calling
+     * {@link #update(int)} for every element.
+     *
+     * @param nums The values
+     * @param from The first index (inclusive)
+     * @param to   The end index (exclusive)
+     */
+    public void update(int[] nums, int from, int to) {
+        long sum = prefixSum;
+        for (int i = from; i < to; i++) {
+            sum += nums[i];
+            add(sum);
+        }
+        prefixSum = sum;
+    }
+
+    /**
+     * Counts the subarrays that end at the new value, whose prefix sum is sum,
+     * then records sum; in a windowed counter it replaces the prefix sum that
+     * is now window values back.
+     */
+    private void add(long sum) {
+        for (int t = 0; t < targets.length; t++) {
+            counts[t] += prefixSumFreq.getOrDefault(sum - targets[t], 0);
+        }
+        length++;
+
+        if (recentPrefixSums != null) {
+            ringSlot = ringSlot + 1 == recentPrefixSums.length ? 0 : ringSlot + 1;
+            if (length >= recentPrefixSums.length) {
+                long expired = recentPrefixSums[ringSlot];
+                if (prefixSumFreq.addTo(expired, -1) == 0) {
+                    prefixSumFreq.remove(expired);
+                }
+            }
+            recentPrefixSums[ringSlot] = sum;
+        }
+        prefixSumFreq.addTo(sum, 1);
+    }
+
+    /**
+     * Adds every element of the array to the end of the stream.
+     *
+     * @param nums The values
+     */
+    public void update(int[] nums) {
+        update(nums, 0, nums.length);
+    }
+
+    /**
+     * Returns the number of subarrays seen so far whose sum is target.
+     *
+     * @param target One of the target sums given to the constructor
+     * @return The count of subarrays with that sum
+     */
+    public long getCount(long target) {
+        for (int t = 0; t < targets.length; t++) {
+            if (targets[t] == target) {
+                return counts[t];
+            }
+        }
+        throw new IllegalArgumentException("Target " + target + " is not tracked, targets are "
+                + Arrays.toString(targets));
+    }
+
+    /**
+     * @return The counts for every target, in the order given to the constructor.
+     */
+    public long[] getCounts() {
+        return counts.clone();
+    }
+
+    /**
+     * @return The number of values added so far.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return The window length, or 0 if the counter covers the whole stream.
+     */
+    public int getWindow() {
+        return recentPrefixSums == null ? 0 : recentPrefixSums.length;
+    }
+
+    /**
+     * @return The number of distinct prefix sums stored, including the empty prefix.
+     */
+    public int getDistinctPrefixSums() {
+        return prefixSumFreq.size();
+    }
+
+    public static void main(String[] args) {
+        SubarraySumCounter counter = new SubarraySumCounter(3, 5);
+        counter.update(1);
+        counter.update(new int[] { 2, 3 });
+
+        System.out.println("Values seen: " + counter.getLength());            // Expected: 3
+        System.out.println("Subarrays summing to 3: " + counter.getCount(3)); // Expected: 2
+        System.out.println("Subarrays summing to 5: " + counter.getCount(5)); // Expected: 1
+
+        counter.update(-3);
+        System.out.println("After adding -3, subarrays summing to 3: " + counter.getCount(3)); // Expected: 3
+        System.out.println("Same as CountSubArraySum_3: "
+                + (counter.getCount(3) == new CountSubArraySum_3().subArraySumOptimal(new int[] { 1, 2, 3, -3 }, 3)));
+
+        SubarraySumCounter windowed = SubarraySumCounter.windowed(2, 3);
+        windowed.update(new int[] { 1, 2, 3, -3 });
+        System.out.println("Windowed (W = 2), subarrays summing to 3: " + windowed.getCount(3)); // Expected: 2
+    }
+}
@@ -12,10 +12,69 @@
  * - Average Case: O(n^2)
  *
  * Space Complexity: O(1) (in-place sorting)
+ *
+ * Variants:
+ * - bubbleSortOptimal stops after the first pass without swaps.
+ * - bubbleSortLastSwap also shrinks every pass to end at the position of the
+ *   last swap of the previous pass, since everything after it is in place.
+ * - cocktailShakerSort alternates forward and backward passes with both
+ *   bounds shrinking, so small elements near the end ("turtles") move to the
+ *   front in one backward pass instead of one position per pass.
+ *
+ * The overloads taking a {@link Metrics} object count comparisons, swaps and
+ * passes, to compare the variants on a given input.
  */
 
 public class BubbleSort_2 {
 	
+	/**
+	 * Operation counters filled in by the instrumented sort overloads.
+	 * Counts accumulate across sorts until {@link #reset()} is called.
+	 */
+	public static class Metrics {
+		private long comparisons;
+		private long swaps;
+		private long passes;
+		
+		/** @return The number of element comparisons. */
+		public long getComparisons() {
+			return comparisons;
+		}
+		
+		/** @return The number of swaps. */
+		public long getSwaps() {
+			return swaps;
+		}
+		
+		/** @return The number of passes over the array (forward or backward). */
+		public long getPasses() {
+			return passes;
+		}
+		
+		/**
+		 * Clears all counters.
+		 */
+		public void reset() {
+			comparisons = 0;
+			swaps = 0;
+			passes = 0;
+		}
+		
+		/**
+		 * Adds the counts of one pass.
+		 */
+		void addPass(long passComparisons, long passSwaps) {
+			comparisons += passComparisons;
+			swaps += passSwaps;
+			passes++;
+		}
+		
+		@Override
+		public String toString() {
+			return "comparisons=" + comparisons + ", swaps=" + swaps + ", passes=" + passes;
+		}
+	}
+	
 	/**
      * Sorts the given array in ascending order using the brute-force implementation
      * of the Bubble Sort algorithm.
@@ -27,7 +86,7 @@ public class BubbleSort_2 {
      * @param nums The array of integers to be sorted.
      * @return The sorted array in ascending order.
      */
-	private int[] bubbleSortBrute_1(int[] nums) {
+	public int[] bubbleSortBrute_1(int[] nums) {
 		int n = nums.length;
 		for(int i = 0; i < n; i++) {
 			for(int j = 0; j < n - 1 - i; j++) {
@@ -47,7 +106,7 @@ public class BubbleSort_2 {
      * @param nums The array of integers to be sorted.
      * @return The sorted array in ascending order.
      */
-	private int[] bubbleSortBrute_2(int[] nums) {
+	public int[] bubbleSortBrute_2(int[] nums) {
 		int n = nums.length;
 		for (int i = n - 1; i >= 0; i--) {  
 		    for (int j = 0; j < i; j++) {   
@@ -68,7 +127,7 @@ public class BubbleSort_2 {
      * @param nums The array of integers to be sorted.
      * @return The sorted array in ascending order.
      */
-	private int[] bubbleSortOptimal(int[] nums) {
+	public int[] bubbleSortOptimal(int[] nums) {
 		int n = nums.length;
 		for(int i = n - 1; i >= 0; i--) {
 			boolean isSwapped = false;
@@ -79,7 +138,7 @@ public class BubbleSort_2 {
 				}
 			}
 			
-			if (isSwapped) {
+			if (!isSwapped) {
 				break;
 			}
 		}
@@ -87,6 +146,157 @@ public class BubbleSort_2 {
 		return nums;
 	}
 	
+	/**
+     * Sorts the range nums[from...to-1] using Bubble Sort, stopping as soon as
+     * a pass makes no swaps.
+     *
+     * @param nums The array containing the range to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     * @return The array, with the range sorted.
+     */
+	public int[] bubbleSort(int[] nums, int from, int to) {
+		for (int i = to - 1; i > from; i--) {
+			boolean isSwapped = false;
+			for (int j = from; j < i; j++) {
+				if (nums[j] > nums[j + 1]) {
+					HelperFunctions.swap(nums, j, j + 1);
+					isSwapped = true;
+				}
+			}
+			
+			if (!isSwapped) {
+				break;
+			}
+		}
+		
+		return nums;
+	}
+	
+	/**
+     * Sorts the array like {@link #bubbleSortOptimal(int[])} and records the
+     * comparisons, swaps and passes it performs.
+     *
+     * @param nums    The array of integers to be sorted.
+     * @param metrics Receives the operation counts.
+     * @return The sorted array in ascending order.
+     */
+	public int[] bubbleSortOptimal(int[] nums, Metrics metrics) {
+		int n = nums.length;
+		for (int i = n - 1; i > 0; i--) {
+			long swaps = 0;
+			for (int j = 0; j < i; j++) {
+				if (nums[j] > nums[j + 1]) {
+					HelperFunctions.swap(nums, j, j + 1);
+					swaps++;
+				}
+			}
+			metrics.addPass(i, swaps);
+			
+			if (swaps == 0) {
+				break;
+			}
+		}
+		
+		return nums;
+	}
+	
+	/**
+     * Sorts the array using Bubble Sort with a last-swap bound: a pass ends
+     * where the previous pass made its last swap, because every element after
+     * that position is already in its final place.
+     *
+     * @param nums The array of integers to be sorted.
+     * @return The sorted array in ascending order.
+     */
+	public int[] bubbleSortLastSwap(int[] nums) {
+		return bubbleSortLastSwap(nums, new Metrics());
+	}
+	
+	/**
+     * Sorts the array like {@link #bubbleSortLastSwap(int[])} and records the
+     * comparisons, swaps and passes it performs.
+     *
+     * @param nums    The array of integers to be sorted.
+     * @param metrics Receives the operation counts.
+     * @return The sorted array in ascending order.
+     */
+	public int[] bubbleSortLastSwap(int[] nums, Metrics metrics) {
+		int bound = nums.length - 1;
+		while (bound > 0) {
+			int lastSwap = 0;
+			long swaps = 0;
+			for (int j = 0; j < bound; j++) {
+				if (nums[j] > nums[j + 1]) {
+					HelperFunctions.swap(nums, j, j + 1);
+					lastSwap = j;
+					swaps++;
+				}
+			}
+			metrics.addPass(bound, swaps);
+			bound = lastSwap;
+		}
+		
+		return nums;
+	}
+	
+	/**
+     * Sorts the array using Cocktail Shaker Sort: forward passes move the
+     * largest remaining element to the end, backward passes move the smallest
+     * remaining element to the front, and both bounds shrink to the position
+     * of the last swap.
+     *
+     * @param nums The array of integers to be sorted.
+     * @return The sorted array in ascending order.
+     */
+	public int[] cocktailShakerSort(int[] nums) {
+		return cocktailShakerSort(nums, new Metrics());
+	}
+	
+	/**
+     * Sorts the array like {@link #cocktailShakerSort(int[])} and records the
+     * comparisons, swaps and passes it performs.
+     *
+     * @param nums    The array of integers to be sorted.
+     * @param metrics Receives the operation counts.
+     * @return The sorted array in ascending order.
+     */
+	public int[] cocktailShakerSort(int[] nums, Metrics metrics) {
+		// Everything before low and after high is already in its final place.
+		int low = 0;
+		int high = nums.length - 1;
+		while (low < high) {
+			int lastSwap = low;
+			long swaps = 0;
+			for (int j = low; j < high; j++) {
+				if (nums[j] > nums[j + 1]) {
+					HelperFunctions.swap(nums, j, j + 1);
+					lastSwap = j;
+					swaps++;
+				}
+			}
+			metrics.addPass(high - low, swaps);
+			high = lastSwap;
+			if (low >= high) {
+				break;
+			}
+			
+			lastSwap = high;
+			swaps = 0;
+			for (int j = high; j > low; j--) {
+				if (nums[j - 1] > nums[j]) {
+					HelperFunctions.swap(nums, j - 1, j);
+					lastSwap = j;
+					swaps++;
+				}
+			}
+			metrics.addPass(high - low, swaps);
+			low = lastSwap;
+		}
+		
+		return nums;
+	}
+	
 	public static void main(String[] args) {
 		BubbleSort_2 bubbleSort_2 = new BubbleSort_2();
 		int[] nums = {13, 46, 24, 52, 20, 9};
@@ -99,5 +309,17 @@ public class BubbleSort_2 {
 		bubbleSort_2.bubbleSortOptimal(nums);
 		System.out.print("Sorted Array(bubbleSortOptimal): ");
 		HelperFunctions.printArray(nums);
+		
+		// A nearly sorted micro-batch with one late arrival at the end.
+		int[] batch = {2, 3, 5, 7, 11, 13, 17, 19, 23, 1};
+		Metrics metrics = new Metrics();
+		bubbleSort_2.bubbleSortOptimal(batch.clone(), metrics);
+		System.out.println("bubbleSortOptimal:  " + metrics);
+		metrics.reset();
+		bubbleSort_2.bubbleSortLastSwap(batch.clone(), metrics);
+		System.out.println("bubbleSortLastSwap: " + metrics);
+		metrics.reset();
+		bubbleSort_2.cocktailShakerSort(batch.clone(), metrics);
+		System.out.println("cocktailShakerSort: " + metrics);
 	}
 }
@@ -0,0 +1,86 @@
+/**
+ * {@link Sorter} engine wrapping {@link BubbleSort_2}.
+ *
+ * Stops after the first pass without swaps, so already sorted ranges take a
+ * single O(n) pass.
+ *
+ * Time Complexity: O(n^2), O(n) on sorted input.
+ * Space Complexity: O(1)
+ */
+public class BubbleSorter implements Sorter {
+
+    private final BubbleSort_2 bubbleSort = new BubbleSort_2();
+
+    @Override
+    public String name() {
+        return "bubble";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    @Override
+    public void sort(int[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        bubbleSort.bubbleSort(a, from, to);
+    }
+
+    @Override
+    public void sort(long[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        for (int i = to - 1; i > from; i--) {
+            boolean isSwapped = false;
+            for (int j = from; j < i; j++) {
+                if (a[j] > a[j + 1]) {
+                    long temp = a[j];
+                    a[j] = a[j + 1];
+                    a[j + 1] = temp;
+                    isSwapped = true;
+                }
+            }
+            if (!isSwapped) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void sort(double[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        for (int i = to - 1; i > from; i--) {
+            boolean isSwapped = false;
+            for (int j = from; j < i; j++) {
+                if (Double.compare(a[j], a[j + 1]) > 0) {
+                    double temp = a[j];
+                    a[j] = a[j + 1];
+                    a[j + 1] = temp;
+                    isSwapped = true;
+                }
+            }
+            if (!isSwapped) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public <T extends Comparable<? super T>> void sort(T[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        for (int i = to - 1; i > from; i--) {
+            boolean isSwapped = false;
+            for (int j = from; j < i; j++) {
+                if (a[j].compareTo(a[j + 1]) > 0) {
+                    T temp = a[j];
+                    a[j] = a[j + 1];
+                    a[j + 1] = temp;
+                    isSwapped = true;
+                }
+            }
+            if (!isSwapped) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,447 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * An external (out-of-core) Merge Sort for binary files of 32-bit integers
+ * that are larger than the heap.
+ *
+ * Phases:
+ * 1. Run generation - The input is streamed in chunks that fit the memory
+ *    budget. Each chunk is sorted in memory with
+ *    {@link QuickSort_5#introSort(int[], int, int)} (in place, so the whole
+ *    budget can hold keys, including the shorter last chunk) and spilled to a temporary run file through a FileChannel.
+ * 2. Merging - Up to fanIn runs are merged at a time with a primitive
+ *    min-heap. Each run is read through its own large buffer. Passes repeat
+ *    until at most fanIn runs remain; the last pass writes the output file.
+ *
+ * Time Complexity: O(n log n) CPU, O(n * passes) I/O where
+ * passes = 1 + ceil(log_fanIn(runs)).
+ *
+ * Space Complexity: O(memoryBudget) heap, plus temporary files of up to twice
+ * the input size on disk.
+ */
+public class ExternalMergeSort {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+    public static final int DEFAULT_FAN_IN = 64;
+
+    /**
+     * Smallest read or write buffer used for a single run.
+     */
+    static final int MIN_BUFFER_BYTES = 4 << 10;
+
+    /**
+     * Buffer used to stream the input while generating runs.
+     */
+    static final int INPUT_BUFFER_BYTES = 1 << 20;
+
+    /**
+     * Largest buffer used for a single run while merging; more does not make
+     * sequential reads any faster.
+     */
+    static final int MAX_BUFFER_BYTES = 16 << 20;
+
+    /**
+     * Progress counters, updated while a sort runs. Reads from another thread
+     * see recent values, which is enough for progress reporting.
+     */
+    public static class Progress {
+        volatile long inputInts;
+        volatile long intsRead;
+        volatile long intsWritten;
+        volatile int runsCreated;
+        volatile int mergePasses;
+        volatile long startNanos;
+        volatile long endNanos;
+
+        /** @return The number of integers in the input file. */
+        public long getInputInts() {
+            return inputInts;
+        }
+
+        /** @return Integers read so far, over all phases. */
+        public long getIntsRead() {
+            return intsRead;
+        }
+
+        /** @return Integers written so far, over all phases. */
+        public long getIntsWritten() {
+            return intsWritten;
+        }
+
+        /** @return Sorted runs spilled to disk, including intermediate merge runs. */
+        public int getRunsCreated() {
+            return runsCreated;
+        }
+
+        /** @return Completed merge passes. */
+        public int getMergePasses() {
+            return mergePasses;
+        }
+
+        /** @return Elapsed time in milliseconds, up to now if the sort is still running. */
+        public long getElapsedMillis() {
+            long end = endNanos == 0 ? System.nanoTime() : endNanos;
+            return (end - startNanos) / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            return "inputInts=" + inputInts + ", intsRead=" + intsRead + ", intsWritten=" + intsWritten
+                    + ", runsCreated=" + runsCreated + ", mergePasses=" + mergePasses
+                    + ", elapsedMillis=" + getElapsedMillis();
+        }
+    }
+
+    private final long memoryBudget;
+    private final int fanIn;
+    private final Path tempDirectory;
+    private final ByteOrder byteOrder;
+    private final QuickSort_5 chunkSort = new QuickSort_5();
+
+    /**
+     * Creates a sorter with the default memory budget and fan-in, using the
+     * system temporary directory and big-endian integers.
+     */
+    public ExternalMergeSort() {
+        this(DEFAULT_MEMORY_BUDGET, DEFAULT_FAN_IN, Path.of(System.getProperty("java.io.tmpdir")),
+                ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Creates a sorter.
+     *
+     * @param memoryBudget  Bytes of heap to use for chunks and I/O buffers.
+     * @param fanIn         The maximum number of runs merged at once (at least 2).
+     * @param tempDirectory Where run files are created.
+     * @param byteOrder     The byte order of the integers in the input and output files.
+     */
+    public ExternalMergeSort(long memoryBudget, int fanIn, Path tempDirectory, ByteOrder byteOrder) {
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("Fan-in must be at least 2, got " + fanIn);
+        }
+        if (memoryBudget < (long) (fanIn + 1) * MIN_BUFFER_BYTES) {
+            throw new IllegalArgumentException("Memory budget of " + memoryBudget + " bytes is too small for fan-in "
+                    + fanIn + ", need at least " + (long) (fanIn + 1) * MIN_BUFFER_BYTES);
+        }
+        this.memoryBudget = memoryBudget;
+        this.fanIn = fanIn;
+        this.tempDirectory = tempDirectory;
+        this.byteOrder = byteOrder;
+    }
+
+    /**
+     * Sorts the integers of the input file into the output file.
+     *
+     * @param input  The unsorted binary file; its size must be a multiple of 4.
+     * @param output The file to write; it is created or truncated.
+     * @return The progress counters of the finished sort.
+     * @throws IOException If reading, writing or creating temporary files fails.
+     */
+    public Progress sort(Path input, Path output) throws IOException {
+        return sort(input, output, new Progress());
+    }
+
+    /**
+     * Sorts the integers of the input file into the output file, updating the
+     * given progress object so another thread can monitor it.
+     *
+     * @param input    The unsorted binary file; its size must be a multiple of 4.
+     * @param output   The file to write; it is created or truncated.
+     * @param progress Receives progress updates.
+     * @return The same progress object.
+     * @throws IOException If reading, writing or creating temporary files fails.
+     */
+    public Progress sort(Path input, Path output, Progress progress) throws IOException {
+        long size = Files.size(input);
+        if (size % Integer.BYTES != 0) {
+            throw new IOException(input + " has " + size + " bytes, which is not a multiple of 4");
+        }
+        progress.inputInts = size / Integer.BYTES;
+        progress.startNanos = System.nanoTime();
+
+        // Every run file is listed here as soon as it exists, so a failure in any pass leaves none behind.
+        List<Path> temporaryFiles = new ArrayList<>();
+        try {
+            List<Path> runs = createRuns(input, temporaryFiles, progress);
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    Path run = Files.createTempFile(tempDirectory, "merge-", ".run");
+                    temporaryFiles.add(run);
+                    merged.add(run);
+                    progress.runsCreated++;
+                    merge(group, run, progress);
+                    for (Path consumed : group) {
+                        Files.deleteIfExists(consumed);
+                    }
+                }
+                runs = merged;
+                progress.mergePasses++;
+            }
+            merge(runs, output, progress);
+            progress.mergePasses++;
+        } finally {
+            for (Path file : temporaryFiles) {
+                Files.deleteIfExists(file);
+            }
+            progress.endNanos = System.nanoTime();
+        }
+        return progress;
+    }
+
+    /**
+     * Streams the input in memory-sized chunks, sorts each chunk and spills it
+     * as a run file. Every file created is also added to temporaryFiles.
+     *
+     * @return The run files, in creation order.
+     */
+    private List<Path> createRuns(Path input, List<Path> temporaryFiles, Progress progress) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        long chunkInts = Math.min((memoryBudget - 2L * INPUT_BUFFER_BYTES) / Integer.BYTES, Integer.MAX_VALUE - 8);
+        chunkInts = Math.max(chunkInts, MIN_BUFFER_BYTES / Integer.BYTES);
+        int[] chunk = new int[(int) Math.min(chunkInts, Math.max(1, progress.inputInts))];
+        ByteBuffer buffer = ByteBuffer.allocateDirect(INPUT_BUFFER_BYTES).order(byteOrder);
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            buffer.limit(0);
+            while (true) {
+                int count = 0;
+                while (count < chunk.length) {
+                    if (buffer.remaining() < Integer.BYTES && !refill(channel, buffer)) {
+                        break;
+                    }
+                    int available = Math.min(buffer.remaining() / Integer.BYTES, chunk.length - count);
+                    buffer.asIntBuffer().get(chunk, count, available);
+                    buffer.position(buffer.position() + available * Integer.BYTES);
+                    count += available;
+                }
+                if (count == 0) {
+                    return runs;
+                }
+                progress.intsRead += count;
+
+                chunkSort.introSort(chunk, 0, count);
+
+                Path run = Files.createTempFile(tempDirectory, "run-", ".run");
+                temporaryFiles.add(run);
+                runs.add(run);
+                progress.runsCreated++;
+                try (RunWriter writer = new RunWriter(run, INPUT_BUFFER_BYTES)) {
+                    for (int i = 0; i < count; i++) {
+                        writer.write(chunk[i]);
+                    }
+                }
+                progress.intsWritten += count;
+            }
+        }
+    }
+
+    /**
+     * K-way merges the given sorted runs into the target file using a
+     * primitive min-heap keyed by each run's current value.
+     */
+    private void merge(List<Path> runs, Path target, Progress progress) throws IOException {
+        int k = runs.size();
+        int bufferBytes = (int) Math.max(MIN_BUFFER_BYTES,
+                Math.min(MAX_BUFFER_BYTES, memoryBudget / (k + 1)) & ~(Integer.BYTES - 1));
+        RunReader[] readers = new RunReader[k];
+        int[] heapValues = new int[k];
+        int[] heapRuns = new int[k];
+        int heapSize = 0;
+
+        try (RunWriter writer = new RunWriter(target, bufferBytes)) {
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), bufferBytes);
+                if (readers[i].hasNext()) {
+                    heapValues[heapSize] = readers[i].next();
+                    heapRuns[heapSize] = i;
+                    heapSize++;
+                }
+            }
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDown(heapValues, heapRuns, i, heapSize);
+            }
+
+            long written = 0;
+            while (heapSize > 0) {
+                writer.write(heapValues[0]);
+                written++;
+
+                RunReader reader = readers[heapRuns[0]];
+                if (reader.hasNext()) {
+                    heapValues[0] = reader.next();
+                } else {
+                    heapSize--;
+                    heapValues[0] = heapValues[heapSize];
+                    heapRuns[0] = heapRuns[heapSize];
+                }
+                siftDown(heapValues, heapRuns, 0, heapSize);
+
+                if ((written & 0xFFFFF) == 0) {
+                    progress.intsRead += 0x100000;
+                    progress.intsWritten += 0x100000;
+                }
+            }
+            progress.intsRead += written & 0xFFFFF;
+            progress.intsWritten += written & 0xFFFFF;
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Restores the min-heap property below index i. Ties are broken by run
+     * index so equal keys leave in run order.
+     */
+    private static void siftDown(int[] values, int[] runs, int i, int size) {
+        int value = values[i];
+        int run = runs[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            int right = child + 1;
+            if (right < size && (values[right] < values[child]
+                    || (values[right] == values[child] && runs[right] < runs[child]))) {
+                child = right;
+            }
+            if (values[child] > value || (values[child] == value && runs[child] > run)) {
+                break;
+            }
+            values[i] = values[child];
+            runs[i] = runs[child];
+            i = child;
+        }
+        values[i] = value;
+        runs[i] = run;
+    }
+
+    /**
+     * Compacts the buffer and reads more bytes from the channel.
+     *
+     * @return False when the channel is exhausted and fewer than 4 bytes remain.
+     */
+    private static boolean refill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.compact();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= Integer.BYTES;
+    }
+
+    /**
+     * Sequential reader of one sorted run.
+     */
+    private class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunReader(Path path, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes).order(byteOrder);
+            this.buffer.limit(0);
+        }
+
+        boolean hasNext() throws IOException {
+            return buffer.remaining() >= Integer.BYTES || refill(channel, buffer);
+        }
+
+        int next() {
+            return buffer.getInt();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Buffered writer of one sorted run or of the output file.
+     */
+    private class RunWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunWriter(Path path, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes).order(byteOrder);
+        }
+
+        void write(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path input = Files.createTempFile("external-sort-input-", ".bin");
+        Path output = Files.createTempFile("external-sort-output-", ".bin");
+        try {
+            Random random = new Random(42);
+            ByteBuffer bytes = ByteBuffer.allocate(1_000_000 * Integer.BYTES);
+            while (bytes.hasRemaining()) {
+                bytes.putInt(random.nextInt());
+            }
+            Files.write(input, bytes.array());
+
+            // A 3 MB budget leaves 1 MB chunks: four runs, merged two at a time.
+            ExternalMergeSort externalMergeSort = new ExternalMergeSort(3L << 20, 2,
+                    Path.of(System.getProperty("java.io.tmpdir")), ByteOrder.BIG_ENDIAN);
+            Progress progress = externalMergeSort.sort(input, output);
+            System.out.println("Progress: " + progress);
+
+            ByteBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(output));
+            int previous = Integer.MIN_VALUE;
+            boolean isSorted = true;
+            while (sorted.hasRemaining()) {
+                int value = sorted.getInt();
+                isSorted &= previous <= value;
+                previous = value;
+            }
+            System.out.println("Output sorted: " + isSorted);
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+}
@@ -25,7 +25,7 @@ public class InsertionSort_3 {
      * @param nums The array of integers to be sorted.
      * @return The sorted array in ascending order.
      */
-	private int[] insertionSort(int[] nums) {
+	public int[] insertionSort(int[] nums) {
 		int n = nums.length;
 		
 		for(int i = 0; i < n; i++) {
@@ -37,6 +37,78 @@ public class InsertionSort_3 {
 		}
 		return nums;
 	}
+	
+	/**
+     * Sorts the range nums[from...to-1] using Insertion Sort.
+     *
+     * Larger elements are shifted right by one and the current element is
+     * written once, instead of being swapped step by step.
+     *
+     * @param nums The array containing the range to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     * @return The array, with the range sorted.
+     */
+	public int[] insertionSort(int[] nums, int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			int current = nums[i];
+			int j = i;
+			while (j > from && nums[j - 1] > current) {
+				nums[j] = nums[j - 1];
+				j--;
+			}
+			nums[j] = current;
+		}
+		return nums;
+	}
+	
+	/**
+     * Sorts the range nums[from...to-1] using Binary Insertion Sort.
+     *
+     * The insertion point of every element is found with a binary search over
+     * the sorted prefix, so the range needs O(n log n) comparisons; the moves
+     * are still O(n^2) but done with System.arraycopy.
+     *
+     * @param nums The array containing the range to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     * @return The array, with the range sorted.
+     */
+	public int[] binaryInsertionSort(int[] nums, int from, int to) {
+		if (to - from > 1) {
+			binaryInsertionSort(nums, from, from + 1, to);
+		}
+		return nums;
+	}
+	
+	/**
+     * Extends the sorted run nums[from...start-1] to cover nums[from...to-1]
+     * by binary-inserting each following element. Equal elements are inserted
+     * after their equals, so the sort is stable.
+     *
+     * @param nums  The array containing the range to sort.
+     * @param from  The first index of the range (inclusive).
+     * @param start The end of the already sorted prefix (exclusive, > from).
+     * @param to    The end of the range (exclusive).
+     */
+	static void binaryInsertionSort(int[] nums, int from, int start, int to) {
+		for (int i = start; i < to; i++) {
+			int current = nums[i];
+			int low = from;
+			int high = i;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (current < nums[mid]) {
+					high = mid;
+				} else {
+					low = mid + 1;
+				}
+			}
+			System.arraycopy(nums, low, nums, low + 1, i - low);
+			nums[low] = current;
+		}
+	}
+	
 	public static void main(String[] args) {
 		InsertionSort_3 insertionSort_3 = new InsertionSort_3();
 		int[] nums = {13, 46, 24, 52, 20, 9};
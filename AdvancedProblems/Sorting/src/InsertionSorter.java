@@ -0,0 +1,71 @@
+/**
+ * {@link Sorter} engine wrapping {@link InsertionSort_3}.
+ *
+ * The fastest engine for small or nearly sorted ranges: every element moves
+ * only as far as its distance from its final position.
+ *
+ * Time Complexity: O(n^2), O(n + inversions) in general.
+ * Space Complexity: O(1)
+ */
+public class InsertionSorter implements Sorter {
+
+    private final InsertionSort_3 insertionSort = new InsertionSort_3();
+
+    @Override
+    public String name() {
+        return "insertion";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    @Override
+    public void sort(int[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        insertionSort.insertionSort(a, from, to);
+    }
+
+    @Override
+    public void sort(long[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        for (int i = from + 1; i < to; i++) {
+            long current = a[i];
+            int j = i;
+            while (j > from && a[j - 1] > current) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = current;
+        }
+    }
+
+    @Override
+    public void sort(double[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        for (int i = from + 1; i < to; i++) {
+            double current = a[i];
+            int j = i;
+            while (j > from && Double.compare(a[j - 1], current) > 0) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = current;
+        }
+    }
+
+    @Override
+    public <T extends Comparable<? super T>> void sort(T[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        for (int i = from + 1; i < to; i++) {
+            T current = a[i];
+            int j = i;
+            while (j > from && a[j - 1].compareTo(current) > 0) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = current;
+        }
+    }
+}
@@ -8,13 +8,31 @@ import java.util.List;
  * into halves, recursively sorts each half, and then merges the sorted halves 
  * to produce the final sorted array.
  *
+ * Approaches:
+ * 1. mergeSort - Merges through a shared List<Integer>, boxing every element.
+ * 2. mergeSortOptimal - Merges primitives through a single int[] scratch buffer
+ *    (allocated once per sort or supplied by the caller), sorts small runs with
+ *    insertion sort and skips the merge when the two halves are already in order.
+ *    Insertion sort stays at the leaves rather than the {@link SortingNetwork}
+ *    kernel: it exits early on runs that are already in order, which merge
+ *    sort's adaptive cases depend on.
+ *
  * Time Complexity:
  * - Best, Average, Worst Case: O(n log n)
+ * - mergeSortOptimal on already sorted input: O(n)
  *
  * Space Complexity: O(n) (requires temporary storage for merging).
+ * mergeSortOptimal only needs (n + 1) / 2 scratch elements and allocates nothing
+ * when a buffer is reused across calls.
  */
 public class MergeSort_4 {
 
+    /**
+     * Runs of at most this many elements are sorted with insertion sort instead
+     * of being split further.
+     */
+    static final int INSERTION_SORT_THRESHOLD = 16;
+
     /**
      * An ArrayList to store merged elements temporarily during the merging phase.
      * Must be cleared before each merge operation.
@@ -34,7 +52,7 @@ public class MergeSort_4 {
      * @param nums The unsorted array of integers.
      * @return The sorted array.
      */
-    private int[] mergeSort(int[] nums) {
+    public int[] mergeSort(int[] nums) {
         int n = nums.length;
         mergeSortHelper(nums, 0, n - 1);
         return nums;
@@ -100,11 +118,157 @@ public class MergeSort_4 {
         }
     }
 
+    /**
+     * Sorts the given array using a primitive, allocation-light Merge Sort.
+     * A scratch buffer of (n + 1) / 2 elements is allocated once for the whole sort.
+     *
+     * @param nums The unsorted array of integers.
+     * @return The sorted array.
+     */
+    public int[] mergeSortOptimal(int[] nums) {
+        return mergeSortOptimal(nums, new int[(nums.length + 1) / 2]);
+    }
+
+    /**
+     * Sorts the given array using a caller-supplied scratch buffer, so repeated
+     * sorts can reuse the same buffer and allocate nothing.
+     *
+     * @param nums   The unsorted array of integers.
+     * @param buffer Scratch space of at least (nums.length + 1) / 2 elements.
+     * @return The sorted array.
+     */
+    public int[] mergeSortOptimal(int[] nums, int[] buffer) {
+        return mergeSortOptimal(nums, 0, nums.length, buffer);
+    }
+
+    /**
+     * Sorts the range nums[from...to-1] using a caller-supplied scratch buffer.
+     *
+     * @param nums   The array containing the range to sort.
+     * @param from   The first index of the range (inclusive).
+     * @param to     The end of the range (exclusive).
+     * @param buffer Scratch space of at least (to - from + 1) / 2 elements.
+     * @return The array, with the range sorted.
+     */
+    public int[] mergeSortOptimal(int[] nums, int from, int to, int[] buffer) {
+        return mergeSortOptimal(nums, from, to, buffer, 0);
+    }
+
+    /**
+     * Sorts the range nums[from...to-1] using the scratch space that starts at
+     * buffer[bufferOffset], so several sorts can share one buffer.
+     *
+     * @param nums         The array containing the range to sort.
+     * @param from         The first index of the range (inclusive).
+     * @param to           The end of the range (exclusive).
+     * @param buffer       Holds the scratch space.
+     * @param bufferOffset The first index of the scratch space, which needs
+     *                     (to - from + 1) / 2 elements.
+     * @return The array, with the range sorted.
+     * @throws IllegalArgumentException If the range is outside nums or the scratch space is too small.
+     */
+    public int[] mergeSortOptimal(int[] nums, int from, int to, int[] buffer, int bufferOffset) {
+        if (from < 0 || from > to || to > nums.length) {
+            throw new IllegalArgumentException("Range [" + from + ", " + to + ") is not within an array of length "
+                    + nums.length);
+        }
+        int length = to - from;
+        if (bufferOffset < 0 || buffer.length - bufferOffset < (length + 1) / 2) {
+            throw new IllegalArgumentException("Buffer needs at least " + (length + 1) / 2
+                    + " elements from index " + bufferOffset + ", got " + (buffer.length - bufferOffset));
+        }
+        mergeSortOptimalHelper(nums, from, to - 1, buffer, bufferOffset);
+        return nums;
+    }
+
+    /**
+     * Recursively sorts nums[low...high], switching to insertion sort for small
+     * runs and skipping the merge when nums[mid] <= nums[mid + 1].
+     *
+     * @param nums   The array to be sorted.
+     * @param low    The starting index of the current segment.
+     * @param high   The ending index of the current segment.
+     * @param buffer The scratch buffer.
+     * @param offset The first index of the scratch space in the buffer.
+     */
+    private void mergeSortOptimalHelper(int[] nums, int low, int high, int[] buffer, int offset) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            insertionSort(nums, low, high);
+            return;
+        }
+        int mid = low + (high - low) / 2;
+        mergeSortOptimalHelper(nums, low, mid, buffer, offset);
+        mergeSortOptimalHelper(nums, mid + 1, high, buffer, offset);
+
+        // Both halves are sorted; if they are already in order there is nothing to merge.
+        if (nums[mid] <= nums[mid + 1]) {
+            return;
+        }
+        mergeWithBuffer(nums, low, mid, high, buffer, offset);
+    }
+
+    /**
+     * Merges nums[low...mid] and nums[mid+1...high] by copying only the left run
+     * into the buffer and merging back into nums. The merge is stable.
+     *
+     * @param nums   The array containing the subarrays to merge.
+     * @param low    The starting index of the left subarray.
+     * @param mid    The ending index of the left subarray.
+     * @param high   The ending index of the right subarray.
+     * @param buffer The scratch buffer.
+     * @param offset The first index of the scratch space in the buffer.
+     */
+    private void mergeWithBuffer(int[] nums, int low, int mid, int high, int[] buffer, int offset) {
+        int leftEnd = offset + mid - low + 1;
+        System.arraycopy(nums, low, buffer, offset, leftEnd - offset);
+
+        int left = offset;
+        int right = mid + 1;
+        int index = low;
+
+        while (left < leftEnd && right <= high) {
+            if (buffer[left] <= nums[right]) {
+                nums[index++] = buffer[left++];
+            } else {
+                nums[index++] = nums[right++];
+            }
+        }
+
+        // Remaining right elements are already in place.
+        while (left < leftEnd) {
+            nums[index++] = buffer[left++];
+        }
+    }
+
+    /**
+     * Sorts nums[low...high] with insertion sort by shifting instead of swapping.
+     *
+     * @param nums The array being sorted.
+     * @param low  The starting index of the segment.
+     * @param high The ending index of the segment.
+     */
+    private void insertionSort(int[] nums, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            int current = nums[i];
+            int j = i - 1;
+            while (j >= low && nums[j] > current) {
+                nums[j + 1] = nums[j];
+                j--;
+            }
+            nums[j + 1] = current;
+        }
+    }
+
     public static void main(String[] args) {
         MergeSort_4 mergeSort_4 = new MergeSort_4();
         int[] nums = { 3, 1, 2, 4, 1, 5, 2, 6, 4 };
         mergeSort_4.mergeSort(nums);
         System.out.print("Sorted Array: ");
         HelperFunctions.printArray(nums);
+
+        int[] nums2 = { 3, 1, 2, 4, 1, 5, 2, 6, 4 };
+        mergeSort_4.mergeSortOptimal(nums2);
+        System.out.print("Sorted Array (mergeSortOptimal): ");
+        HelperFunctions.printArray(nums2);
     }
 }
@@ -0,0 +1,155 @@
+/**
+ * {@link Sorter} engine wrapping {@link MergeSort_4#mergeSortOptimal}.
+ *
+ * Every key type uses the same scheme as mergeSortOptimal: insertion sort
+ * below {@link MergeSort_4#INSERTION_SORT_THRESHOLD} elements, no merge when
+ * the two halves are already in order, and a merge that copies only the left
+ * run into a scratch buffer of (n + 1) / 2 elements allocated once per sort.
+ *
+ * Time Complexity: O(n log n), O(n) on sorted input.
+ * Space Complexity: O(n)
+ */
+public class MergeSorter implements Sorter {
+
+    private static final int INSERTION_SORT_THRESHOLD = MergeSort_4.INSERTION_SORT_THRESHOLD;
+
+    private final MergeSort_4 mergeSort = new MergeSort_4();
+
+    @Override
+    public String name() {
+        return "merge";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    @Override
+    public void sort(int[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        mergeSort.mergeSortOptimal(a, from, to, new int[(to - from + 1) / 2]);
+    }
+
+    @Override
+    public void sort(long[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        sort(a, from, to - 1, new long[(to - from + 1) / 2]);
+    }
+
+    @Override
+    public void sort(double[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        sort(a, from, to - 1, new double[(to - from + 1) / 2]);
+    }
+
+    @Override
+    public <T extends Comparable<? super T>> void sort(T[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        sort(a, from, to - 1, new Object[(to - from + 1) / 2]);
+    }
+
+    /**
+     * Sorts a[low...high] using the scratch buffer.
+     */
+    private static void sort(long[] a, int low, int high, long[] buffer) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i <= high; i++) {
+                long current = a[i];
+                int j = i;
+                while (j > low && a[j - 1] > current) {
+                    a[j] = a[j - 1];
+                    j--;
+                }
+                a[j] = current;
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        sort(a, low, mid, buffer);
+        sort(a, mid + 1, high, buffer);
+        if (a[mid] <= a[mid + 1]) {
+            return;
+        }
+
+        int leftLength = mid - low + 1;
+        System.arraycopy(a, low, buffer, 0, leftLength);
+        int left = 0;
+        int right = mid + 1;
+        int out = low;
+        while (left < leftLength && right <= high) {
+            a[out++] = buffer[left] <= a[right] ? buffer[left++] : a[right++];
+        }
+        System.arraycopy(buffer, left, a, out, leftLength - left);
+    }
+
+    /**
+     * Sorts a[low...high] using the scratch buffer.
+     */
+    private static void sort(double[] a, int low, int high, double[] buffer) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i <= high; i++) {
+                double current = a[i];
+                int j = i;
+                while (j > low && Double.compare(a[j - 1], current) > 0) {
+                    a[j] = a[j - 1];
+                    j--;
+                }
+                a[j] = current;
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        sort(a, low, mid, buffer);
+        sort(a, mid + 1, high, buffer);
+        if (Double.compare(a[mid], a[mid + 1]) <= 0) {
+            return;
+        }
+
+        int leftLength = mid - low + 1;
+        System.arraycopy(a, low, buffer, 0, leftLength);
+        int left = 0;
+        int right = mid + 1;
+        int out = low;
+        while (left < leftLength && right <= high) {
+            a[out++] = Double.compare(buffer[left], a[right]) <= 0 ? buffer[left++] : a[right++];
+        }
+        System.arraycopy(buffer, left, a, out, leftLength - left);
+    }
+
+    /**
+     * Sorts a[low...high] using the scratch buffer.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<? super T>> void sort(T[] a, int low, int high, Object[] buffer) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i <= high; i++) {
+                T current = a[i];
+                int j = i;
+                while (j > low && a[j - 1].compareTo(current) > 0) {
+                    a[j] = a[j - 1];
+                    j--;
+                }
+                a[j] = current;
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        sort(a, low, mid, buffer);
+        sort(a, mid + 1, high, buffer);
+        if (a[mid].compareTo(a[mid + 1]) <= 0) {
+            return;
+        }
+
+        int leftLength = mid - low + 1;
+        System.arraycopy(a, low, buffer, 0, leftLength);
+        int left = 0;
+        int right = mid + 1;
+        int out = low;
+        while (left < leftLength && right <= high) {
+            T candidate = (T) buffer[left];
+            a[out++] = candidate.compareTo(a[right]) <= 0 ? (T) buffer[left++] : a[right++];
+        }
+        System.arraycopy(buffer, left, a, out, leftLength - left);
+    }
+}
@@ -0,0 +1,302 @@
+/**
+ * Order statistics without sorting: the k-th smallest element of an array and
+ * several quantiles at once.
+ *
+ * nthElement is an introselect:
+ * - Normally it is a quickselect that moves a median-of-three (or ninther)
+ *   pivot to the front and splits the range with
+ *   {@link QuickSort_5#partitionIndex}, continuing only on the side that
+ *   contains k. Expected time O(n).
+ * - Every two rounds the remaining range must have halved. If it has not
+ *   (adversarial input, or many duplicates, which partitionIndex puts on one
+ *   side), the rest of the search switches to median-of-medians pivots with
+ *   a three-way partition. That pivot is always between the 30th and 70th
+ *   percentile, so the worst case is O(n).
+ *
+ * quantiles and nthElements select many ranks in one pass: every partition
+ * splits the sorted list of requested ranks as well, and only sides that
+ * still contain a requested rank are processed further. m ranks cost
+ * O(n log m) instead of the O(n log n) of a full sort.
+ *
+ * LargestElement_2 is nthElement(a, n - 1) and SecondLargestElement_3 is the
+ * next distinct value below it; both live in the Arrays module, which cannot
+ * depend on this one.
+ *
+ * Space Complexity: O(log n) stack; all methods reorder the array in place.
+ */
+public class OrderStatistics {
+
+    private final QuickSort_5 quickSort = new QuickSort_5();
+
+    /**
+     * Rearranges the array so that nums[k] holds the element that would be
+     * there if the array were sorted, every element before it is <= nums[k]
+     * and every element after it is >= nums[k].
+     *
+     * @param nums The array of integers; it is reordered.
+     * @param k    The zero-based rank to select.
+     * @return The k-th smallest element.
+     */
+    public int nthElement(int[] nums, int k) {
+        if (k < 0 || k >= nums.length) {
+            throw new IllegalArgumentException("k must be between 0 and " + (nums.length - 1) + ", got " + k);
+        }
+        select(nums, 0, nums.length - 1, k);
+        return nums[k];
+    }
+
+    /**
+     * Selects several ranks at once. Afterwards nums[k] holds its sorted-order
+     * element for every requested k.
+     *
+     * @param nums  The array of integers; it is reordered.
+     * @param ranks The zero-based ranks, in any order, duplicates allowed.
+     * @return The selected elements, in the order of ranks.
+     */
+    public int[] nthElements(int[] nums, int... ranks) {
+        int n = nums.length;
+        for (int rank : ranks) {
+            if (rank < 0 || rank >= n) {
+                throw new IllegalArgumentException("Rank must be between 0 and " + (n - 1) + ", got " + rank);
+            }
+        }
+
+        int[] sorted = ranks.clone();
+        QuickSort_5.insertionSort(sorted, 0, sorted.length - 1);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        multiSelect(nums, 0, n - 1, sorted, 0, unique, false);
+
+        int[] result = new int[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            result[i] = nums[ranks[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Computes nearest-rank quantiles in one pass: the quantile p is the
+     * element of rank ceil(p * n) - 1 (rank 0 for p = 0).
+     *
+     * @param nums        The array of integers; it is reordered.
+     * @param probability The quantiles to compute, each between 0 and 1, e.g. 0.5, 0.9, 0.99.
+     * @return The quantile values, in the order of probability.
+     */
+    public int[] quantiles(int[] nums, double... probability) {
+        if (nums.length == 0) {
+            throw new IllegalArgumentException("Quantiles of an empty array are undefined");
+        }
+        int[] ranks = new int[probability.length];
+        for (int i = 0; i < probability.length; i++) {
+            ranks[i] = rankOf(probability[i], nums.length);
+        }
+        return nthElements(nums, ranks);
+    }
+
+    /**
+     * Returns the zero-based nearest rank of quantile p among n elements.
+     *
+     * @param p The quantile, between 0 and 1.
+     * @param n The number of elements (> 0).
+     * @return max(0, ceil(p * n) - 1).
+     */
+    static int rankOf(double p, int n) {
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1, got " + p);
+        }
+        return Math.max(0, (int) Math.ceil(p * n) - 1);
+    }
+
+    /**
+     * Introselect on nums[low...high] for the single rank k.
+     *
+     * @param nums The array being reordered.
+     * @param low  The start index of the range.
+     * @param high The end index of the range.
+     * @param k    The rank to select, within the range.
+     */
+    void select(int[] nums, int low, int high, int k) {
+        boolean guaranteed = false;
+        int checkpoint = high - low + 1;
+        int rounds = 0;
+        while (high - low + 1 > QuickSort_5.SORTING_NETWORK_THRESHOLD) {
+            if (!guaranteed) {
+                if (rounds == 2) {
+                    guaranteed = high - low + 1 > checkpoint / 2;
+                    checkpoint = high - low + 1;
+                    rounds = 0;
+                }
+                rounds++;
+            }
+
+            long bounds = partition(nums, low, high, guaranteed);
+            int equalStart = (int) (bounds >>> 32);
+            int equalEnd = (int) bounds;
+            if (k < equalStart) {
+                high = equalStart - 1;
+            } else if (k > equalEnd) {
+                low = equalEnd + 1;
+            } else {
+                return;
+            }
+        }
+        SortingNetwork.sort(nums, low, high + 1);
+    }
+
+    /**
+     * Selects the sorted ranks ranks[rankFrom...rankTo-1], all within
+     * nums[low...high]. Recurses into the smaller side when both sides of a
+     * partition hold requested ranks and loops on the larger one.
+     */
+    private void multiSelect(int[] nums, int low, int high, int[] ranks, int rankFrom, int rankTo,
+            boolean guaranteed) {
+        int checkpoint = high - low + 1;
+        int rounds = 0;
+        while (rankFrom < rankTo) {
+            if (high - low + 1 <= QuickSort_5.SORTING_NETWORK_THRESHOLD) {
+                SortingNetwork.sort(nums, low, high + 1);
+                return;
+            }
+            if (!guaranteed) {
+                if (rounds == 2) {
+                    guaranteed = high - low + 1 > checkpoint / 2;
+                    checkpoint = high - low + 1;
+                    rounds = 0;
+                }
+                rounds++;
+            }
+
+            long bounds = partition(nums, low, high, guaranteed);
+            int equalStart = (int) (bounds >>> 32);
+            int equalEnd = (int) bounds;
+
+            // Ranks inside [equalStart, equalEnd] are already in place.
+            int leftTo = firstAtLeast(ranks, rankFrom, rankTo, equalStart);
+            int rightFrom = firstAtLeast(ranks, leftTo, rankTo, equalEnd + 1);
+
+            boolean hasLeft = rankFrom < leftTo;
+            boolean hasRight = rightFrom < rankTo;
+            if (hasLeft && hasRight) {
+                if (equalStart - low < high - equalEnd) {
+                    multiSelect(nums, low, equalStart - 1, ranks, rankFrom, leftTo, guaranteed);
+                    low = equalEnd + 1;
+                    rankFrom = rightFrom;
+                } else {
+                    multiSelect(nums, equalEnd + 1, high, ranks, rightFrom, rankTo, guaranteed);
+                    high = equalStart - 1;
+                    rankTo = leftTo;
+                }
+            } else if (hasLeft) {
+                high = equalStart - 1;
+                rankTo = leftTo;
+            } else if (hasRight) {
+                low = equalEnd + 1;
+                rankFrom = rightFrom;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Partitions nums[low...high] and returns the range of positions holding
+     * the pivot value, packed as (equalStart << 32) | equalEnd.
+     *
+     * Without the guarantee the pivot is moved to nums[low] and partitionIndex
+     * places it, so the range is a single position. With the guarantee the
+     * median-of-medians is used with a three-way partition, so all copies of
+     * the pivot are grouped and excluded from further work.
+     */
+    private long partition(int[] nums, int low, int high, boolean guaranteed) {
+        if (!guaranteed) {
+            int pivotIndex = high - low + 1 >= QuickSort_5.NINTHER_THRESHOLD
+                    ? QuickSort_5.ninther(nums, low, high)
+                    : QuickSort_5.medianOfThree(nums, low, low + (high - low) / 2, high);
+            HelperFunctions.swap(nums, low, pivotIndex);
+            int partitionIndex = quickSort.partitionIndex(nums, low, high);
+            return ((long) partitionIndex << 32) | partitionIndex;
+        }
+
+        int pivot = nums[medianOfMedians(nums, low, high)];
+        int lessEnd = low;
+        int i = low;
+        int greaterStart = high;
+        while (i <= greaterStart) {
+            if (nums[i] < pivot) {
+                HelperFunctions.swap(nums, lessEnd++, i++);
+            } else if (nums[i] > pivot) {
+                HelperFunctions.swap(nums, i, greaterStart--);
+            } else {
+                i++;
+            }
+        }
+        return ((long) lessEnd << 32) | greaterStart;
+    }
+
+    /**
+     * Returns the index of the median of the medians of groups of five in
+     * nums[low...high]. The group medians are gathered at the front of the
+     * range and their median is found with the guaranteed selection.
+     */
+    private int medianOfMedians(int[] nums, int low, int high) {
+        int groups = 0;
+        for (int start = low; start <= high; start += 5) {
+            int end = Math.min(start + 4, high);
+            QuickSort_5.insertionSort(nums, start, end);
+            // low + groups never passes start, so unprocessed groups stay intact.
+            HelperFunctions.swap(nums, low + groups, (start + end) >>> 1);
+            groups++;
+        }
+
+        int mid = low + (groups - 1) / 2;
+        int medianLow = low;
+        int medianHigh = low + groups - 1;
+        while (medianHigh - medianLow + 1 > QuickSort_5.SORTING_NETWORK_THRESHOLD) {
+            long bounds = partition(nums, medianLow, medianHigh, true);
+            int equalStart = (int) (bounds >>> 32);
+            int equalEnd = (int) bounds;
+            if (mid < equalStart) {
+                medianHigh = equalStart - 1;
+            } else if (mid > equalEnd) {
+                medianLow = equalEnd + 1;
+            } else {
+                return mid;
+            }
+        }
+        SortingNetwork.sort(nums, medianLow, medianHigh + 1);
+        return mid;
+    }
+
+    /**
+     * Returns the first index in ranks[from...to-1] whose value is >= x.
+     */
+    private static int firstAtLeast(int[] ranks, int from, int to, int x) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (ranks[mid] < x) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    public static void main(String[] args) {
+        OrderStatistics orderStatistics = new OrderStatistics();
+        int[] nums = { 13, 46, 24, 52, 20, 9, 7, 31, 5, 88, 1, 64 };
+        System.out.println("3rd smallest: " + orderStatistics.nthElement(nums, 2));
+        System.out.println("Largest: " + orderStatistics.nthElement(nums, nums.length - 1));
+
+        int[] latencies = new int[1000];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = (i * 7919) % 1000 + 1;
+        }
+        int[] percentiles = orderStatistics.quantiles(latencies, 0.5, 0.9, 0.99);
+        System.out.println("p50 = " + percentiles[0] + ", p90 = " + percentiles[1] + ", p99 = " + percentiles[2]);
+    }
+}
@@ -0,0 +1,246 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A fork-join parallel Merge Sort built on {@link MergeSort_4}.
+ *
+ * The array is split recursively; both halves are sorted as separate tasks and
+ * then merged in parallel. The merge splits the larger run at its middle
+ * element, binary-searches the matching split point in the other run, and
+ * merges the two resulting pairs as independent tasks. Ranges at or below the
+ * sequential threshold fall back to {@link MergeSort_4#mergeSortOptimal} and a
+ * sequential merge.
+ *
+ * Results and tie order are identical to the sequential version: every merge
+ * takes from the left run first on ties, and the split points are chosen so
+ * that equal elements never cross between left and right.
+ *
+ * To avoid copying back after each level, the sort ping-pongs between the
+ * input array and one scratch array of n elements. A sequential leaf borrows
+ * its own range of the other array as the merge buffer, which is free until
+ * the leaf's result is written there.
+ *
+ * Time Complexity:
+ * - Work: O(n log n)
+ * - Span: O(log^3 n) (parallel recursion over a parallel merge)
+ *
+ * Space Complexity: O(n) (one scratch array for the whole sort).
+ */
+public class ParallelMergeSort {
+
+    /**
+     * Ranges of at most this many elements are sorted or merged sequentially.
+     */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+    private final MergeSort_4 sequentialSort = new MergeSort_4();
+
+    /**
+     * Creates a sorter that runs on the common fork-join pool with the default
+     * sequential threshold.
+     */
+    public ParallelMergeSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Creates a sorter that runs on the given pool.
+     *
+     * @param pool                The pool that executes the sort tasks.
+     * @param sequentialThreshold Ranges at or below this size are handled sequentially.
+     */
+    public ParallelMergeSort(ForkJoinPool pool, int sequentialThreshold) {
+        if (sequentialThreshold < 2) {
+            throw new IllegalArgumentException("Sequential threshold must be at least 2, got " + sequentialThreshold);
+        }
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Picks a pool for the given input size: the common pool when the input is
+     * large enough to keep every core busy, otherwise a dedicated pool with only
+     * as many workers as there are sequential chunks. Dedicated pools must be
+     * shut down by the caller.
+     *
+     * @param n                   The number of elements to sort.
+     * @param sequentialThreshold The sequential threshold that will be used.
+     * @return A pool sized for the input.
+     */
+    public static ForkJoinPool poolFor(int n, int sequentialThreshold) {
+        int chunks = Math.max(1, n / sequentialThreshold);
+        int cores = ForkJoinPool.getCommonPoolParallelism();
+        if (chunks >= cores) {
+            return ForkJoinPool.commonPool();
+        }
+        return new ForkJoinPool(chunks);
+    }
+
+    /**
+     * Sorts the given array in parallel.
+     *
+     * @param nums The unsorted array of integers.
+     * @return The sorted array.
+     */
+    public int[] parallelMergeSort(int[] nums) {
+        int n = nums.length;
+        if (n <= sequentialThreshold || pool.getParallelism() == 1) {
+            return sequentialSort.mergeSortOptimal(nums);
+        }
+        int[] buffer = new int[n];
+        pool.invoke(new SortTask(nums, buffer, 0, n, false));
+        return nums;
+    }
+
+    /**
+     * Sorts src[low...high-1]; the result ends up in dst when intoDst is set,
+     * otherwise in src. The other array is used as scratch space.
+     */
+    private class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] dst;
+        private final int low;
+        private final int high;
+        private final boolean intoDst;
+
+        SortTask(int[] src, int[] dst, int low, int high, boolean intoDst) {
+            this.src = src;
+            this.dst = dst;
+            this.low = low;
+            this.high = high;
+            this.intoDst = intoDst;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= sequentialThreshold) {
+                sequentialSort.mergeSortOptimal(src, low, high, dst, low);
+                if (intoDst) {
+                    System.arraycopy(src, low, dst, low, high - low);
+                }
+                return;
+            }
+
+            int mid = low + (high - low) / 2;
+            // Sort both halves into the opposite array, then merge them back into the target.
+            invokeAll(new SortTask(src, dst, low, mid, !intoDst), new SortTask(src, dst, mid, high, !intoDst));
+
+            int[] from = intoDst ? src : dst;
+            int[] to = intoDst ? dst : src;
+            new MergeTask(from, to, low, mid, mid, high, low).compute();
+        }
+    }
+
+    /**
+     * Merges the sorted runs from[leftLow...leftHigh-1] and
+     * from[rightLow...rightHigh-1] into to[], starting at index out.
+     */
+    private class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] from;
+        private final int[] to;
+        private final int leftLow;
+        private final int leftHigh;
+        private final int rightLow;
+        private final int rightHigh;
+        private final int out;
+
+        MergeTask(int[] from, int[] to, int leftLow, int leftHigh, int rightLow, int rightHigh, int out) {
+            this.from = from;
+            this.to = to;
+            this.leftLow = leftLow;
+            this.leftHigh = leftHigh;
+            this.rightLow = rightLow;
+            this.rightHigh = rightHigh;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = leftHigh - leftLow;
+            int rightLength = rightHigh - rightLow;
+            if (leftLength + rightLength <= sequentialThreshold) {
+                mergeSequential(from, to, leftLow, leftHigh, rightLow, rightHigh, out);
+                return;
+            }
+
+            int leftSplit;
+            int rightSplit;
+            if (leftLength >= rightLength) {
+                // Right elements strictly smaller than the pivot go before it.
+                leftSplit = leftLow + leftLength / 2;
+                rightSplit = lowerBound(from, rightLow, rightHigh, from[leftSplit]);
+            } else {
+                // Left elements smaller than or equal to the pivot go before it.
+                rightSplit = rightLow + rightLength / 2;
+                leftSplit = upperBound(from, leftLow, leftHigh, from[rightSplit]);
+            }
+
+            int outSplit = out + (leftSplit - leftLow) + (rightSplit - rightLow);
+            invokeAll(new MergeTask(from, to, leftLow, leftSplit, rightLow, rightSplit, out),
+                    new MergeTask(from, to, leftSplit, leftHigh, rightSplit, rightHigh, outSplit));
+        }
+    }
+
+    /**
+     * Stable sequential merge of two runs of from[] into to[].
+     */
+    private static void mergeSequential(int[] from, int[] to, int leftLow, int leftHigh, int rightLow, int rightHigh,
+            int out) {
+        int left = leftLow;
+        int right = rightLow;
+        while (left < leftHigh && right < rightHigh) {
+            if (from[left] <= from[right]) {
+                to[out++] = from[left++];
+            } else {
+                to[out++] = from[right++];
+            }
+        }
+        System.arraycopy(from, left, to, out, leftHigh - left);
+        out += leftHigh - left;
+        System.arraycopy(from, right, to, out, rightHigh - right);
+    }
+
+    /**
+     * Returns the first index in nums[low...high-1] whose value is >= x.
+     */
+    private static int lowerBound(int[] nums, int low, int high, int x) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (nums[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the first index in nums[low...high-1] whose value is > x.
+     */
+    private static int upperBound(int[] nums, int low, int high, int x) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (nums[mid] <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static void main(String[] args) {
+        ParallelMergeSort parallelMergeSort = new ParallelMergeSort(ForkJoinPool.commonPool(), 2);
+        int[] nums = { 3, 1, 2, 4, 1, 5, 2, 6, 4 };
+        parallelMergeSort.parallelMergeSort(nums);
+        System.out.print("Sorted Array: ");
+        HelperFunctions.printArray(nums);
+    }
+}
@@ -0,0 +1,211 @@
+import java.util.Arrays;
+
+/**
+ * Partial sorting and top-K selection: finds the k smallest (or largest)
+ * elements in sorted order without sorting the whole array.
+ *
+ * The algorithm is chosen from k and n:
+ * 1. k <= {@link #SELECTION_LIMIT} - The first k iterations of
+ *    {@link SelectionSort_1}: O(n * k) with no extra memory, fastest for
+ *    very small k.
+ * 2. k <= n / {@link #HEAP_FRACTION} - A bounded max-heap of the k best
+ *    elements seen so far. Every element costs one comparison against the
+ *    heap top and only better elements pay O(log k) to enter: O(n log k).
+ * 3. Larger k - {@link OrderStatistics} introselect (quickselect on
+ *    {@link QuickSort_5#partitionIndex} with a median-of-medians fallback)
+ *    moves the k smallest elements to the front in O(n), then only those k
+ *    are sorted: O(n + k log k).
+ *
+ * largestK maps every key through x -> ~x, which reverses the order of all
+ * ints without overflow, and reuses the smallest-k machinery.
+ */
+public class PartialSort {
+
+    /**
+     * Values of k up to this use partial selection sort.
+     */
+    static final int SELECTION_LIMIT = 8;
+
+    /**
+     * Values of k up to n / HEAP_FRACTION use the bounded heap.
+     */
+    static final int HEAP_FRACTION = 16;
+
+    private final SelectionSort_1 selectionSort = new SelectionSort_1();
+    private final QuickSort_5 quickSort = new QuickSort_5();
+    private final OrderStatistics orderStatistics = new OrderStatistics();
+
+    /**
+     * Rearranges the array in place so that nums[0...k-1] holds its k smallest
+     * elements in ascending order. The order of the remaining elements is
+     * unspecified.
+     *
+     * @param nums The array of integers.
+     * @param k    The number of smallest elements to sort to the front.
+     * @return The array, with its first k positions sorted.
+     */
+    public int[] partialSort(int[] nums, int k) {
+        int n = nums.length;
+        checkK(n, k);
+        if (k == 0) {
+            return nums;
+        }
+        if (k <= SELECTION_LIMIT) {
+            return selectionSort.partialSelectionSort(nums, k);
+        }
+        if (k <= n / HEAP_FRACTION) {
+            heapSelectInPlace(nums, k);
+            return nums;
+        }
+        orderStatistics.select(nums, 0, n - 1, k - 1);
+        return quickSort.introSort(nums, 0, k);
+    }
+
+    /**
+     * Returns the k smallest elements of the array in ascending order. The
+     * input is not modified.
+     *
+     * @param nums The array of integers.
+     * @param k    The number of elements to return.
+     * @return A new array of length k.
+     */
+    public int[] smallestK(int[] nums, int k) {
+        return topK(nums, k, 0);
+    }
+
+    /**
+     * Returns the k largest elements of the array in descending order. The
+     * input is not modified.
+     *
+     * @param nums The array of integers.
+     * @param k    The number of elements to return.
+     * @return A new array of length k.
+     */
+    public int[] largestK(int[] nums, int k) {
+        return topK(nums, k, -1);
+    }
+
+    /**
+     * Returns the k smallest keys nums[i] ^ mask in ascending key order, mapped
+     * back to their values. A mask of 0 selects the smallest values, a mask of
+     * -1 (bitwise not) the largest.
+     */
+    private int[] topK(int[] nums, int k, int mask) {
+        int n = nums.length;
+        checkK(n, k);
+        if (k <= n / HEAP_FRACTION) {
+            // No copy of the input: only k elements are ever held.
+            return heapSelect(nums, k, mask);
+        }
+
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = nums[i] ^ mask;
+        }
+        partialSort(keys, k);
+        int[] result = Arrays.copyOf(keys, k);
+        for (int i = 0; i < k; i++) {
+            result[i] ^= mask;
+        }
+        return result;
+    }
+
+    /**
+     * Collects the k smallest keys in a separate max-heap and returns them
+     * sorted and unmasked.
+     */
+    private static int[] heapSelect(int[] nums, int k, int mask) {
+        int[] heap = new int[k];
+        if (k == 0) {
+            return heap;
+        }
+        for (int i = 0; i < k; i++) {
+            heap[i] = nums[i] ^ mask;
+        }
+        buildMaxHeap(heap, k);
+        for (int i = k; i < nums.length; i++) {
+            int key = nums[i] ^ mask;
+            if (key < heap[0]) {
+                heap[0] = key;
+                siftDown(heap, 0, k);
+            }
+        }
+        sortMaxHeap(heap, k);
+        for (int i = 0; i < k; i++) {
+            heap[i] ^= mask;
+        }
+        return heap;
+    }
+
+    /**
+     * Uses nums[0...k-1] as the max-heap, swapping better elements in from the
+     * rest of the array, then heap-sorts the prefix.
+     */
+    private static void heapSelectInPlace(int[] nums, int k) {
+        buildMaxHeap(nums, k);
+        for (int i = k; i < nums.length; i++) {
+            if (nums[i] < nums[0]) {
+                HelperFunctions.swap(nums, 0, i);
+                siftDown(nums, 0, k);
+            }
+        }
+        sortMaxHeap(nums, k);
+    }
+
+    private static void buildMaxHeap(int[] heap, int size) {
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(heap, i, size);
+        }
+    }
+
+    /**
+     * Turns the max-heap heap[0...size-1] into an ascending array.
+     */
+    private static void sortMaxHeap(int[] heap, int size) {
+        for (int end = size - 1; end > 0; end--) {
+            HelperFunctions.swap(heap, 0, end);
+            siftDown(heap, 0, end);
+        }
+    }
+
+    /**
+     * Restores the max-heap property below index root.
+     */
+    private static void siftDown(int[] heap, int root, int size) {
+        int value = heap[root];
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (heap[child] <= value) {
+                break;
+            }
+            heap[root] = heap[child];
+            root = child;
+        }
+        heap[root] = value;
+    }
+
+    private static void checkK(int n, int k) {
+        if (k < 0 || k > n) {
+            throw new IllegalArgumentException("k must be between 0 and " + n + ", got " + k);
+        }
+    }
+
+    public static void main(String[] args) {
+        PartialSort partialSort = new PartialSort();
+        int[] nums = { 13, 46, 24, 52, 20, 9, 7, 31, 5, 88, 1, 64 };
+        System.out.print("3 smallest: ");
+        HelperFunctions.printArray(partialSort.smallestK(nums, 3));
+        System.out.print("3 largest: ");
+        HelperFunctions.printArray(partialSort.largestK(nums, 3));
+
+        partialSort.partialSort(nums, 10);
+        System.out.print("Partially sorted (k = 10): ");
+        HelperFunctions.printArray(nums);
+    }
+}
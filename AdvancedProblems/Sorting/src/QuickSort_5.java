@@ -1,3 +1,7 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * QuickSort_5 demonstrates the Quick Sort algorithm.
  * 
@@ -10,16 +14,70 @@
  * Time Complexity:
  * Best / Average: O(n log n)  
  * Worst: O(n^2) when the array is already sorted (or pivot selection is poor).
+ *
+ * introSort is the production variant:
+ * - A pluggable {@link PivotStrategy} (median-of-three, ninther, randomized).
+ * - A three-way (Dutch national flag) partition, so runs of equal keys are
+ *   finished in one pass instead of degrading to O(n^2).
+ * - Recursion only on the smaller side and a loop on the larger side, which
+ *   bounds the stack depth to O(log n).
+ * - A heapsort fallback once the depth exceeds 2 * log2(n), which bounds the
+ *   worst case to O(n log n).
+ * - A branchless {@link SortingNetwork} for ranges of up to 32 elements.
+ *
+ * dualPivotQuickSort partitions around two pivots p <= q into three ranges
+ * (< p, between, > q), which performs fewer memory passes than a single-pivot
+ * partition. parallelQuickSort runs the three ranges of every dual-pivot
+ * partition as separate fork-join tasks above a size threshold. Both are
+ * in place (no O(n) scratch array) and keep the introsort depth limit and
+ * heapsort fallback.
  */
 public class QuickSort_5 {
 
+    /**
+     * Ranges of at most this many elements are finished with the
+     * {@link SortingNetwork} kernel.
+     */
+    static final int SORTING_NETWORK_THRESHOLD = SortingNetwork.MAX_SIZE;
+
+    /**
+     * Ranges with at least this many elements use the ninther instead of a
+     * plain median-of-three when {@link PivotStrategy#NINTHER} is selected.
+     */
+    static final int NINTHER_THRESHOLD = 40;
+
+    /**
+     * Ranges with at most this many elements are sorted sequentially by
+     * parallelQuickSort.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * Chooses the index of the pivot element for the range nums[low...high].
+     */
+    public interface PivotStrategy {
+        int pivotIndex(int[] nums, int low, int high);
+
+        /** The first element, as in {@link QuickSort_5#partitionIndex}. */
+        PivotStrategy FIRST = (nums, low, high) -> low;
+
+        /** Median of the first, middle and last elements. */
+        PivotStrategy MEDIAN_OF_THREE = (nums, low, high) -> medianOfThree(nums, low, low + (high - low) / 2, high);
+
+        /** Tukey's ninther: the median of three medians-of-three, for large ranges. */
+        PivotStrategy NINTHER = QuickSort_5::ninther;
+
+        /** A uniformly random element. */
+        PivotStrategy RANDOMIZED = (nums, low, high) -> ThreadLocalRandom.current().nextInt(low, high + 1);
+    }
+
     /**
      * Method to sort an array using Quick Sort.
      * 
      * @param nums The unsorted integer array.
      * @return The sorted integer array.
      */
-    private int[] quickSort(int[] nums) {
+    public int[] quickSort(int[] nums) {
         int n = nums.length;
         quickSortHelper(nums, 0, n - 1);
         return nums;
@@ -45,14 +103,15 @@ public class QuickSort_5 {
      * - Elements <= pivot are moved to the left.
      * - Elements > pivot are moved to the right.
      * 
-     * The pivot is chosen as the first element of the subarray.
+     * The pivot is chosen as the first element of the subarray; callers that
+     * want another pivot swap it into nums[low] first.
      * 
      * @param nums The array being sorted.
      * @param low  The start index of the subarray.
      * @param high The end index of the subarray.
      * @return The final index of the pivot element after partition.
      */
-    private int partitionIndex(int[] nums, int low, int high) {
+    int partitionIndex(int[] nums, int low, int high) {
         int pivot = nums[low];
         int i = low;
         int j = high;
@@ -72,6 +131,349 @@ public class QuickSort_5 {
         return j;
     }
 
+    /**
+     * Sorts the array with introsort using the ninther pivot strategy.
+     *
+     * @param nums The unsorted integer array.
+     * @return The sorted integer array.
+     */
+    public int[] introSort(int[] nums) {
+        return introSort(nums, PivotStrategy.NINTHER);
+    }
+
+    /**
+     * Sorts the array with introsort using the given pivot strategy.
+     *
+     * @param nums     The unsorted integer array.
+     * @param strategy Chooses the pivot of each partition.
+     * @return The sorted integer array.
+     */
+    public int[] introSort(int[] nums, PivotStrategy strategy) {
+        int n = nums.length;
+        if (n > 1) {
+            introSortHelper(nums, 0, n - 1, depthLimit(n), strategy);
+        }
+        return nums;
+    }
+
+    /**
+     * Sorts the range nums[from...to-1] with introsort using the ninther pivot
+     * strategy.
+     *
+     * @param nums The array containing the range to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     * @return The array, with the range sorted.
+     */
+    public int[] introSort(int[] nums, int from, int to) {
+        if (to - from > 1) {
+            introSortHelper(nums, from, to - 1, depthLimit(to - from), PivotStrategy.NINTHER);
+        }
+        return nums;
+    }
+
+    /**
+     * Returns the recursion depth after which introsort switches to heapsort.
+     *
+     * @param n The number of elements.
+     * @return 2 * floor(log2(n)).
+     */
+    static int depthLimit(int n) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(n));
+    }
+
+    /**
+     * Sorts nums[low...high]. Recurses into the smaller side of each partition
+     * and loops on the larger one, falling back to heapsort when the depth
+     * budget runs out.
+     *
+     * @param nums       The array being sorted.
+     * @param low        The starting index of the subarray.
+     * @param high       The ending index of the subarray.
+     * @param depthLimit The remaining partitioning depth.
+     * @param strategy   Chooses the pivot of each partition.
+     */
+    private void introSortHelper(int[] nums, int low, int high, int depthLimit, PivotStrategy strategy) {
+        while (high - low + 1 > SORTING_NETWORK_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(nums, low, high);
+                return;
+            }
+            depthLimit--;
+
+            int pivot = nums[strategy.pivotIndex(nums, low, high)];
+
+            // Three-way partition:
+            // nums[low...lessEnd-1] < pivot, nums[lessEnd...greaterStart] == pivot,
+            // nums[greaterStart+1...high] > pivot.
+            int lessEnd = low;
+            int i = low;
+            int greaterStart = high;
+            while (i <= greaterStart) {
+                if (nums[i] < pivot) {
+                    HelperFunctions.swap(nums, lessEnd++, i++);
+                } else if (nums[i] > pivot) {
+                    HelperFunctions.swap(nums, i, greaterStart--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (lessEnd - low < high - greaterStart) {
+                introSortHelper(nums, low, lessEnd - 1, depthLimit, strategy);
+                low = greaterStart + 1;
+            } else {
+                introSortHelper(nums, greaterStart + 1, high, depthLimit, strategy);
+                high = lessEnd - 1;
+            }
+        }
+        SortingNetwork.sort(nums, low, high + 1);
+    }
+
+    /**
+     * Sorts the array with a dual-pivot quicksort.
+     *
+     * @param nums The unsorted integer array.
+     * @return The sorted integer array.
+     */
+    public int[] dualPivotQuickSort(int[] nums) {
+        int n = nums.length;
+        if (n > 1) {
+            dualPivotHelper(nums, 0, n - 1, depthLimit(n));
+        }
+        return nums;
+    }
+
+    /**
+     * Sorts the array in place with a parallel dual-pivot quicksort on the
+     * common fork-join pool.
+     *
+     * @param nums The unsorted integer array.
+     * @return The sorted integer array.
+     */
+    public int[] parallelQuickSort(int[] nums) {
+        return parallelQuickSort(nums, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Sorts the array in place with a parallel dual-pivot quicksort.
+     *
+     * @param nums                The unsorted integer array.
+     * @param pool                The pool that executes the partition tasks.
+     * @param sequentialThreshold Ranges at or below this size are sorted sequentially.
+     * @return The sorted integer array.
+     */
+    public int[] parallelQuickSort(int[] nums, ForkJoinPool pool, int sequentialThreshold) {
+        int n = nums.length;
+        if (n <= sequentialThreshold || pool.getParallelism() == 1) {
+            return dualPivotQuickSort(nums);
+        }
+        pool.invoke(new DualPivotTask(nums, 0, n - 1, depthLimit(n), sequentialThreshold));
+        return nums;
+    }
+
+    /**
+     * Sorts nums[low...high] with dual-pivot partitions. Recurses into the left
+     * and middle ranges and loops on the right one; the depth limit bounds the
+     * recursion and switches to heapsort when exhausted.
+     *
+     * @param nums       The array being sorted.
+     * @param low        The starting index of the subarray.
+     * @param high       The ending index of the subarray.
+     * @param depthLimit The remaining partitioning depth.
+     */
+    private void dualPivotHelper(int[] nums, int low, int high, int depthLimit) {
+        while (high - low + 1 > SORTING_NETWORK_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(nums, low, high);
+                return;
+            }
+            depthLimit--;
+
+            long pivots = dualPivotPartition(nums, low, high);
+            int lessEnd = (int) (pivots >>> 32);
+            int greaterStart = (int) pivots;
+
+            dualPivotHelper(nums, low, lessEnd - 1, depthLimit);
+            // With equal pivots the middle range only holds copies of the pivot.
+            if (nums[lessEnd] != nums[greaterStart]) {
+                dualPivotHelper(nums, lessEnd + 1, greaterStart - 1, depthLimit);
+            }
+            low = greaterStart + 1;
+        }
+        SortingNetwork.sort(nums, low, high + 1);
+    }
+
+    /**
+     * Partitions nums[low...high] around two pivots p <= q taken from the
+     * first and second tertiles, so that:
+     * - nums[low...lessEnd-1] < p
+     * - nums[lessEnd] == p
+     * - p <= nums[lessEnd+1...greaterStart-1] <= q
+     * - nums[greaterStart] == q
+     * - nums[greaterStart+1...high] > q
+     *
+     * @param nums The array being sorted.
+     * @param low  The start index of the subarray (at least 2 elements).
+     * @param high The end index of the subarray.
+     * @return The final pivot positions, packed as (lessEnd << 32) | greaterStart.
+     */
+    static long dualPivotPartition(int[] nums, int low, int high) {
+        int third = (high - low + 1) / 3;
+        HelperFunctions.swap(nums, low, low + third);
+        HelperFunctions.swap(nums, high, high - third);
+        if (nums[low] > nums[high]) {
+            HelperFunctions.swap(nums, low, high);
+        }
+        int p = nums[low];
+        int q = nums[high];
+
+        int lessEnd = low + 1;
+        int greaterStart = high - 1;
+        int i = low + 1;
+        while (i <= greaterStart) {
+            if (nums[i] < p) {
+                HelperFunctions.swap(nums, i++, lessEnd++);
+            } else if (nums[i] > q) {
+                HelperFunctions.swap(nums, i, greaterStart--);
+            } else {
+                i++;
+            }
+        }
+
+        HelperFunctions.swap(nums, low, --lessEnd);
+        HelperFunctions.swap(nums, high, ++greaterStart);
+        return ((long) lessEnd << 32) | (greaterStart & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Sorts nums[low...high], running the three ranges of each dual-pivot
+     * partition as separate tasks while they are above the threshold.
+     */
+    private class DualPivotTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] nums;
+        private final int low;
+        private final int high;
+        private final int depthLimit;
+        private final int sequentialThreshold;
+
+        DualPivotTask(int[] nums, int low, int high, int depthLimit, int sequentialThreshold) {
+            this.nums = nums;
+            this.low = low;
+            this.high = high;
+            this.depthLimit = depthLimit;
+            this.sequentialThreshold = sequentialThreshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low + 1 <= sequentialThreshold || depthLimit == 0) {
+                dualPivotHelper(nums, low, high, depthLimit);
+                return;
+            }
+
+            long pivots = dualPivotPartition(nums, low, high);
+            int lessEnd = (int) (pivots >>> 32);
+            int greaterStart = (int) pivots;
+
+            DualPivotTask left = new DualPivotTask(nums, low, lessEnd - 1, depthLimit - 1, sequentialThreshold);
+            DualPivotTask right = new DualPivotTask(nums, greaterStart + 1, high, depthLimit - 1,
+                    sequentialThreshold);
+            if (nums[lessEnd] != nums[greaterStart]) {
+                DualPivotTask middle = new DualPivotTask(nums, lessEnd + 1, greaterStart - 1, depthLimit - 1,
+                        sequentialThreshold);
+                invokeAll(left, middle, right);
+            } else {
+                invokeAll(left, right);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the median of nums[a], nums[b] and nums[c].
+     */
+    static int medianOfThree(int[] nums, int a, int b, int c) {
+        if (nums[a] < nums[b]) {
+            if (nums[b] < nums[c]) {
+                return b;
+            }
+            return nums[a] < nums[c] ? c : a;
+        }
+        if (nums[a] < nums[c]) {
+            return a;
+        }
+        return nums[b] < nums[c] ? c : b;
+    }
+
+    /**
+     * Returns the index of Tukey's ninther for nums[low...high], or the plain
+     * median-of-three for small ranges.
+     */
+    static int ninther(int[] nums, int low, int high) {
+        int mid = low + (high - low) / 2;
+        if (high - low + 1 < NINTHER_THRESHOLD) {
+            return medianOfThree(nums, low, mid, high);
+        }
+        int step = (high - low + 1) / 8;
+        int first = medianOfThree(nums, low, low + step, low + 2 * step);
+        int second = medianOfThree(nums, mid - step, mid, mid + step);
+        int third = medianOfThree(nums, high - 2 * step, high - step, high);
+        return medianOfThree(nums, first, second, third);
+    }
+
+    /**
+     * Sorts nums[low...high] with insertion sort by shifting instead of swapping.
+     */
+    static void insertionSort(int[] nums, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            int current = nums[i];
+            int j = i - 1;
+            while (j >= low && nums[j] > current) {
+                nums[j + 1] = nums[j];
+                j--;
+            }
+            nums[j + 1] = current;
+        }
+    }
+
+    /**
+     * Sorts nums[low...high] with heapsort: O(n log n) worst case, O(1) space.
+     */
+    static void heapSort(int[] nums, int low, int high) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(nums, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            HelperFunctions.swap(nums, low, low + end);
+            siftDown(nums, low, 0, end);
+        }
+    }
+
+    /**
+     * Restores the max-heap property for the heap rooted at offset + root
+     * holding size elements starting at offset.
+     */
+    private static void siftDown(int[] nums, int offset, int root, int size) {
+        int value = nums[offset + root];
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && nums[offset + child + 1] > nums[offset + child]) {
+                child++;
+            }
+            if (nums[offset + child] <= value) {
+                break;
+            }
+            nums[offset + root] = nums[offset + child];
+            root = child;
+        }
+        nums[offset + root] = value;
+    }
 
     public static void main(String[] args) {
         QuickSort_5 quickSort_5 = new QuickSort_5();
@@ -79,5 +481,15 @@ public class QuickSort_5 {
         quickSort_5.quickSort(nums);
         System.out.print("Sorted Array: ");
         HelperFunctions.printArray(nums);
+
+        int[] nums2 = { 3, 1, 2, 4, 1, 5, 2, 6, 4 };
+        quickSort_5.introSort(nums2, PivotStrategy.MEDIAN_OF_THREE);
+        System.out.print("Sorted Array (introSort): ");
+        HelperFunctions.printArray(nums2);
+
+        int[] nums3 = { 3, 1, 2, 4, 1, 5, 2, 6, 4 };
+        quickSort_5.dualPivotQuickSort(nums3);
+        System.out.print("Sorted Array (dualPivotQuickSort): ");
+        HelperFunctions.printArray(nums3);
     }
 }
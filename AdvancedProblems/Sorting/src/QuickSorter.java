@@ -0,0 +1,333 @@
+/**
+ * {@link Sorter} engine wrapping {@link QuickSort_5#introSort}.
+ *
+ * The long[], double[] and Comparable[] paths follow the introsort scheme of
+ * QuickSort_5: a median-of-three pivot, a three-way partition so runs of
+ * equal keys cost one pass, recursion on the smaller side only, a heapsort
+ * fallback once the depth exceeds {@link QuickSort_5#depthLimit}, and
+ * insertion sort for small ranges.
+ *
+ * Time Complexity: O(n log n) worst case.
+ * Space Complexity: O(log n) stack.
+ */
+public class QuickSorter implements Sorter {
+
+    /**
+     * Ranges with at most this many elements are finished with insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final QuickSort_5 quickSort = new QuickSort_5();
+
+    @Override
+    public String name() {
+        return "quick";
+    }
+
+    @Override
+    public boolean isStable() {
+        return false;
+    }
+
+    @Override
+    public void sort(int[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        quickSort.introSort(a, from, to);
+    }
+
+    @Override
+    public void sort(long[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        if (to - from > 1) {
+            introSort(a, from, to - 1, QuickSort_5.depthLimit(to - from));
+        }
+    }
+
+    @Override
+    public void sort(double[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        if (to - from > 1) {
+            introSort(a, from, to - 1, QuickSort_5.depthLimit(to - from));
+        }
+    }
+
+    @Override
+    public <T extends Comparable<? super T>> void sort(T[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        if (to - from > 1) {
+            introSort(a, from, to - 1, QuickSort_5.depthLimit(to - from));
+        }
+    }
+
+    /**
+     * Sorts a[low...high], mirroring QuickSort_5.introSortHelper.
+     */
+    private static void introSort(long[] a, int low, int high, int depthLimit) {
+        while (high - low + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(a, low, high);
+                return;
+            }
+            depthLimit--;
+
+            int mid = (low + high) >>> 1;
+            long pivot = medianOfThree(a[low], a[mid], a[high]);
+
+            int lessEnd = low;
+            int i = low;
+            int greaterStart = high;
+            while (i <= greaterStart) {
+                long current = a[i];
+                if (current < pivot) {
+                    a[i++] = a[lessEnd];
+                    a[lessEnd++] = current;
+                } else if (current > pivot) {
+                    a[i] = a[greaterStart];
+                    a[greaterStart--] = current;
+                } else {
+                    i++;
+                }
+            }
+
+            if (lessEnd - low < high - greaterStart) {
+                introSort(a, low, lessEnd - 1, depthLimit);
+                low = greaterStart + 1;
+            } else {
+                introSort(a, greaterStart + 1, high, depthLimit);
+                high = lessEnd - 1;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            long current = a[i];
+            int j = i;
+            while (j > low && a[j - 1] > current) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = current;
+        }
+    }
+
+    private static long medianOfThree(long x, long y, long z) {
+        if (x > y) {
+            long temp = x;
+            x = y;
+            y = temp;
+        }
+        if (y <= z) {
+            return y;
+        }
+        return x > z ? x : z;
+    }
+
+    private static void heapSort(long[] a, int low, int high) {
+        int size = high - low + 1;
+        for (int root = size / 2 - 1; root >= 0; root--) {
+            siftDown(a, low, root, size);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            long temp = a[low];
+            a[low] = a[low + end];
+            a[low + end] = temp;
+            siftDown(a, low, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] a, int offset, int root, int size) {
+        long value = a[offset + root];
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size && a[offset + child + 1] > a[offset + child]) {
+                child++;
+            }
+            if (a[offset + child] <= value) {
+                break;
+            }
+            a[offset + root] = a[offset + child];
+            root = child;
+        }
+        a[offset + root] = value;
+    }
+
+    /**
+     * Sorts a[low...high], mirroring QuickSort_5.introSortHelper.
+     */
+    private static void introSort(double[] a, int low, int high, int depthLimit) {
+        while (high - low + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(a, low, high);
+                return;
+            }
+            depthLimit--;
+
+            int mid = (low + high) >>> 1;
+            double pivot = medianOfThree(a[low], a[mid], a[high]);
+
+            int lessEnd = low;
+            int i = low;
+            int greaterStart = high;
+            while (i <= greaterStart) {
+                double current = a[i];
+                int cmp = Double.compare(current, pivot);
+                if (cmp < 0) {
+                    a[i++] = a[lessEnd];
+                    a[lessEnd++] = current;
+                } else if (cmp > 0) {
+                    a[i] = a[greaterStart];
+                    a[greaterStart--] = current;
+                } else {
+                    i++;
+                }
+            }
+
+            if (lessEnd - low < high - greaterStart) {
+                introSort(a, low, lessEnd - 1, depthLimit);
+                low = greaterStart + 1;
+            } else {
+                introSort(a, greaterStart + 1, high, depthLimit);
+                high = lessEnd - 1;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            double current = a[i];
+            int j = i;
+            while (j > low && Double.compare(a[j - 1], current) > 0) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = current;
+        }
+    }
+
+    private static double medianOfThree(double x, double y, double z) {
+        if (Double.compare(x, y) > 0) {
+            double temp = x;
+            x = y;
+            y = temp;
+        }
+        if (Double.compare(y, z) <= 0) {
+            return y;
+        }
+        return Double.compare(x, z) > 0 ? x : z;
+    }
+
+    private static void heapSort(double[] a, int low, int high) {
+        int size = high - low + 1;
+        for (int root = size / 2 - 1; root >= 0; root--) {
+            siftDown(a, low, root, size);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            double temp = a[low];
+            a[low] = a[low + end];
+            a[low + end] = temp;
+            siftDown(a, low, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] a, int offset, int root, int size) {
+        double value = a[offset + root];
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size && Double.compare(a[offset + child + 1], a[offset + child]) > 0) {
+                child++;
+            }
+            if (Double.compare(a[offset + child], value) <= 0) {
+                break;
+            }
+            a[offset + root] = a[offset + child];
+            root = child;
+        }
+        a[offset + root] = value;
+    }
+
+    /**
+     * Sorts a[low...high], mirroring QuickSort_5.introSortHelper.
+     */
+    private static <T extends Comparable<? super T>> void introSort(T[] a, int low, int high, int depthLimit) {
+        while (high - low + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(a, low, high);
+                return;
+            }
+            depthLimit--;
+
+            int mid = (low + high) >>> 1;
+            T pivot = medianOfThree(a[low], a[mid], a[high]);
+
+            int lessEnd = low;
+            int i = low;
+            int greaterStart = high;
+            while (i <= greaterStart) {
+                T current = a[i];
+                int cmp = current.compareTo(pivot);
+                if (cmp < 0) {
+                    a[i++] = a[lessEnd];
+                    a[lessEnd++] = current;
+                } else if (cmp > 0) {
+                    a[i] = a[greaterStart];
+                    a[greaterStart--] = current;
+                } else {
+                    i++;
+                }
+            }
+
+            if (lessEnd - low < high - greaterStart) {
+                introSort(a, low, lessEnd - 1, depthLimit);
+                low = greaterStart + 1;
+            } else {
+                introSort(a, greaterStart + 1, high, depthLimit);
+                high = lessEnd - 1;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            T current = a[i];
+            int j = i;
+            while (j > low && a[j - 1].compareTo(current) > 0) {
+                a[j] = a[j - 1];
+                j--;
+            }
+            a[j] = current;
+        }
+    }
+
+    private static <T extends Comparable<? super T>> T medianOfThree(T x, T y, T z) {
+        if (x.compareTo(y) > 0) {
+            T temp = x;
+            x = y;
+            y = temp;
+        }
+        if (y.compareTo(z) <= 0) {
+            return y;
+        }
+        return x.compareTo(z) > 0 ? x : z;
+    }
+
+    private static <T extends Comparable<? super T>> void heapSort(T[] a, int low, int high) {
+        int size = high - low + 1;
+        for (int root = size / 2 - 1; root >= 0; root--) {
+            siftDown(a, low, root, size);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            T temp = a[low];
+            a[low] = a[low + end];
+            a[low + end] = temp;
+            siftDown(a, low, 0, end);
+        }
+    }
+
+    private static <T extends Comparable<? super T>> void siftDown(T[] a, int offset, int root, int size) {
+        T value = a[offset + root];
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size && a[offset + child + 1].compareTo(a[offset + child]) > 0) {
+                child++;
+            }
+            if (a[offset + child].compareTo(value) <= 0) {
+                break;
+            }
+            a[offset + root] = a[offset + child];
+            root = child;
+        }
+        a[offset + root] = value;
+    }
+}
@@ -0,0 +1,269 @@
+import java.util.Arrays;
+
+/**
+ * A Java program to demonstrate Radix Sort on 32-bit integers.
+ *
+ * Radix Sort is not comparison-based: it distributes the keys by their digits
+ * (groups of bits) instead of comparing them, so its cost grows with the key
+ * width rather than with log n.
+ *
+ * Signed integers are handled by flipping the sign bit before extracting
+ * digits, which maps Integer.MIN_VALUE...Integer.MAX_VALUE onto an unsigned
+ * range with the same order.
+ *
+ * Approaches:
+ * 1. lsdRadixSort - Least significant digit first, stable, using 8- or 11-bit
+ *    digits and one scratch array. A single histogram pre-pass counts every
+ *    digit at once, and digits on which all keys agree are skipped entirely.
+ * 2. msdRadixSort - Most significant digit first, in-place American flag sort
+ *    with 8-bit digits. Each bucket is recursed into independently and small
+ *    buckets are finished with insertion sort. Not stable.
+ *
+ * Time Complexity:
+ * - lsdRadixSort: O(d * (n + 2^b)) where d = ceil(32 / b) digits of b bits.
+ * - msdRadixSort: O(n * 4) in the worst case, usually less since recursion
+ *   stops as soon as a bucket is small.
+ *
+ * Space Complexity:
+ * - lsdRadixSort: O(n + d * 2^b)
+ * - msdRadixSort: O(2^b) per level (in place).
+ */
+public class RadixSort_6 {
+
+    /**
+     * Arrays (or MSD buckets) smaller than this are finished with insertion sort.
+     */
+    static final int INSERTION_SORT_THRESHOLD = 64;
+
+    /**
+     * Inputs with at least this many elements use 11-bit digits (3 passes);
+     * smaller ones use 8-bit digits (4 passes) so the histograms stay in cache.
+     */
+    static final int WIDE_DIGIT_THRESHOLD = 1 << 16;
+
+    private static final int MSD_DIGIT_BITS = 8;
+    private static final int MSD_RADIX = 1 << MSD_DIGIT_BITS;
+    private static final int MSD_LEVELS = Integer.SIZE / MSD_DIGIT_BITS;
+
+    /**
+     * Sorts the array using LSD Radix Sort, choosing the digit width from the
+     * input size.
+     *
+     * @param nums The unsorted array of integers.
+     * @return The sorted array.
+     */
+    public int[] lsdRadixSort(int[] nums) {
+        return lsdRadixSort(nums, 0, nums.length);
+    }
+
+    /**
+     * Sorts the array using LSD Radix Sort with digits of the given width.
+     *
+     * @param nums      The unsorted array of integers.
+     * @param digitBits The digit width in bits, between 1 and 16.
+     * @return The sorted array.
+     */
+    public int[] lsdRadixSort(int[] nums, int digitBits) {
+        return lsdRadixSort(nums, 0, nums.length, digitBits);
+    }
+
+    /**
+     * Sorts the range nums[from...to-1] using LSD Radix Sort, choosing the
+     * digit width from the range length.
+     *
+     * @param nums The array containing the range to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     * @return The array, with the range sorted.
+     */
+    public int[] lsdRadixSort(int[] nums, int from, int to) {
+        return lsdRadixSort(nums, from, to, to - from >= WIDE_DIGIT_THRESHOLD ? 11 : 8);
+    }
+
+    /**
+     * Sorts the range nums[from...to-1] using LSD Radix Sort with digits of
+     * the given width. The scratch array only covers the range.
+     *
+     * @param nums      The array containing the range to sort.
+     * @param from      The first index of the range (inclusive).
+     * @param to        The end of the range (exclusive).
+     * @param digitBits The digit width in bits, between 1 and 16.
+     * @return The array, with the range sorted.
+     */
+    public int[] lsdRadixSort(int[] nums, int from, int to, int digitBits) {
+        if (digitBits < 1 || digitBits > 16) {
+            throw new IllegalArgumentException("Digit width must be between 1 and 16 bits, got " + digitBits);
+        }
+        int n = to - from;
+        if (n < INSERTION_SORT_THRESHOLD) {
+            QuickSort_5.insertionSort(nums, from, to - 1);
+            return nums;
+        }
+
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        int digits = (Integer.SIZE + digitBits - 1) / digitBits;
+
+        // One pass over the data builds the histogram of every digit.
+        int[][] counts = new int[digits][radix];
+        for (int i = from; i < to; i++) {
+            int key = nums[i] ^ Integer.MIN_VALUE;
+            for (int d = 0; d < digits; d++) {
+                counts[d][(key >>> (d * digitBits)) & mask]++;
+            }
+        }
+
+        // The keys alternate between the range of nums and the scratch array, which starts at 0.
+        int[] source = nums;
+        int sourceFrom = from;
+        int[] target = new int[n];
+        int targetFrom = 0;
+        for (int d = 0; d < digits; d++) {
+            int[] count = counts[d];
+            int shift = d * digitBits;
+
+            // Every key has the same value for this digit: the pass would not move anything.
+            if (count[((source[sourceFrom] ^ Integer.MIN_VALUE) >>> shift) & mask] == n) {
+                continue;
+            }
+
+            // Turn counts into starting offsets.
+            int offset = targetFrom;
+            for (int v = 0; v < radix; v++) {
+                int c = count[v];
+                count[v] = offset;
+                offset += c;
+            }
+
+            for (int i = sourceFrom; i < sourceFrom + n; i++) {
+                int num = source[i];
+                target[count[((num ^ Integer.MIN_VALUE) >>> shift) & mask]++] = num;
+            }
+
+            int[] temp = source;
+            source = target;
+            target = temp;
+            int tempFrom = sourceFrom;
+            sourceFrom = targetFrom;
+            targetFrom = tempFrom;
+        }
+
+        if (source != nums) {
+            System.arraycopy(source, 0, nums, from, n);
+        }
+        return nums;
+    }
+
+    /**
+     * Sorts the array in place using MSD Radix Sort (American flag sort).
+     *
+     * @param nums The unsorted array of integers.
+     * @return The sorted array.
+     */
+    public int[] msdRadixSort(int[] nums) {
+        return msdRadixSort(nums, 0, nums.length);
+    }
+
+    /**
+     * Sorts the range nums[from...to-1] in place using MSD Radix Sort.
+     *
+     * @param nums The array containing the range to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     * @return The array, with the range sorted.
+     */
+    public int[] msdRadixSort(int[] nums, int from, int to) {
+        // Per-level scratch space, reused by every bucket on that level.
+        int[][] bucketEnds = new int[MSD_LEVELS][MSD_RADIX];
+        int[][] next = new int[MSD_LEVELS][MSD_RADIX];
+        americanFlagSort(nums, from, to, 0, bucketEnds, next);
+        return nums;
+    }
+
+    /**
+     * Sorts nums[low...high-1] by the digit at the given level (0 is the most
+     * significant byte) and recurses into each bucket.
+     *
+     * @param nums       The array being sorted.
+     * @param low        The start of the range (inclusive).
+     * @param high       The end of the range (exclusive).
+     * @param level      The digit level.
+     * @param bucketEnds Per-level bucket end offsets.
+     * @param next       Per-level next free slot of every bucket.
+     */
+    private void americanFlagSort(int[] nums, int low, int high, int level, int[][] bucketEnds, int[][] next) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            QuickSort_5.insertionSort(nums, low, high - 1);
+            return;
+        }
+
+        int shift = Integer.SIZE - MSD_DIGIT_BITS * (level + 1);
+        int[] ends = bucketEnds[level];
+        int[] slots = next[level];
+
+        // Skip levels on which every key in the range has the same digit.
+        Arrays.fill(ends, 0);
+        for (int i = low; i < high; i++) {
+            ends[msdDigit(nums[i], shift)]++;
+        }
+        if (ends[msdDigit(nums[low], shift)] == high - low) {
+            if (level + 1 < MSD_LEVELS) {
+                americanFlagSort(nums, low, high, level + 1, bucketEnds, next);
+            }
+            return;
+        }
+
+        int offset = low;
+        for (int v = 0; v < MSD_RADIX; v++) {
+            slots[v] = offset;
+            offset += ends[v];
+            ends[v] = offset;
+        }
+
+        // Permute in place: each element is swapped straight into its bucket.
+        for (int v = 0; v < MSD_RADIX; v++) {
+            while (slots[v] < ends[v]) {
+                int num = nums[slots[v]];
+                int digit = msdDigit(num, shift);
+                while (digit != v) {
+                    int displaced = nums[slots[digit]];
+                    nums[slots[digit]++] = num;
+                    num = displaced;
+                    digit = msdDigit(num, shift);
+                }
+                nums[slots[v]++] = num;
+            }
+        }
+
+        if (level + 1 < MSD_LEVELS) {
+            int start = low;
+            for (int v = 0; v < MSD_RADIX; v++) {
+                int end = ends[v];
+                if (end - start > 1) {
+                    americanFlagSort(nums, start, end, level + 1, bucketEnds, next);
+                }
+                start = end;
+            }
+        }
+    }
+
+    /**
+     * Returns the 8-bit digit of the sign-flipped key at the given shift.
+     */
+    private static int msdDigit(int num, int shift) {
+        return ((num ^ Integer.MIN_VALUE) >>> shift) & (MSD_RADIX - 1);
+    }
+
+    public static void main(String[] args) {
+        RadixSort_6 radixSort_6 = new RadixSort_6();
+        int[] nums = { 3, -1, 2, 4, Integer.MIN_VALUE, 5, 2, Integer.MAX_VALUE, -4 };
+        radixSort_6.lsdRadixSort(nums);
+        System.out.print("Sorted Array (lsdRadixSort): ");
+        HelperFunctions.printArray(nums);
+
+        int[] nums2 = { 3, -1, 2, 4, Integer.MIN_VALUE, 5, 2, Integer.MAX_VALUE, -4 };
+        radixSort_6.msdRadixSort(nums2);
+        System.out.print("Sorted Array (msdRadixSort): ");
+        HelperFunctions.printArray(nums2);
+    }
+}
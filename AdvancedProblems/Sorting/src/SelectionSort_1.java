@@ -19,7 +19,7 @@ public class SelectionSort_1 {
 	 * @param nums The array of integers to be sorted.
 	 * @return The sorted array.
 	 */
-	private int[] selectionSort(int[] nums) {
+	public int[] selectionSort(int[] nums) {
 		int n = nums.length;
 		
         // Loop through the array. No need to check the last element,
@@ -42,6 +42,61 @@ public class SelectionSort_1 {
 		return nums;
 	}
 	
+	/**
+	 * Sorts the range nums[from...to-1] using Selection Sort.
+	 * Elements outside the range are left untouched.
+	 * 
+	 * @param nums The array containing the range to sort.
+	 * @param from The first index of the range (inclusive).
+	 * @param to   The end of the range (exclusive).
+	 * @return The array, with the range sorted.
+	 */
+	public int[] selectionSort(int[] nums, int from, int to) {
+		for (int i = from; i < to - 1; i++) {
+			int minimumIndex = i;
+			for (int j = i + 1; j < to; j++) {
+				if (nums[minimumIndex] > nums[j]) {
+					minimumIndex = j;
+				}
+			}
+			
+			if (minimumIndex != i) {
+				HelperFunctions.swap(nums, i, minimumIndex);
+			}
+		}
+		
+		return nums;
+	}
+	
+	/**
+	 * Runs only the first k iterations of Selection Sort, so that nums[0...k-1]
+	 * holds the k smallest elements in ascending order. The order of the rest
+	 * is unspecified.
+	 * 
+	 * Time Complexity: O(n * k), which beats a full sort for very small k.
+	 * 
+	 * @param nums The array of integers.
+	 * @param k    The number of smallest elements to place at the front.
+	 * @return The array, with its first k positions sorted.
+	 */
+	public int[] partialSelectionSort(int[] nums, int k) {
+		int n = nums.length;
+		for (int i = 0; i < Math.min(k, n - 1); i++) {
+			int minimumIndex = i;
+			for (int j = i + 1; j < n; j++) {
+				if (nums[minimumIndex] > nums[j]) {
+					minimumIndex = j;
+				}
+			}
+			
+			if (minimumIndex != i) {
+				HelperFunctions.swap(nums, i, minimumIndex);
+			}
+		}
+		
+		return nums;
+	}
+	
 	public static void main(String[] args) {
 		SelectionSort_1 selectionSort_1 = new SelectionSort_1();
 		int[] nums = {13, 46, 24, 52, 20, 9};
@@ -0,0 +1,77 @@
+/**
+ * {@link Sorter} engine wrapping {@link SelectionSort_1}.
+ *
+ * Performs at most n - 1 swaps, which makes it a fit only when writes are far
+ * more expensive than comparisons.
+ *
+ * Time Complexity: O(n^2)
+ * Space Complexity: O(1)
+ */
+public class SelectionSorter implements Sorter {
+
+    private final SelectionSort_1 selectionSort = new SelectionSort_1();
+
+    @Override
+    public String name() {
+        return "selection";
+    }
+
+    @Override
+    public boolean isStable() {
+        return false;
+    }
+
+    @Override
+    public void sort(int[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        selectionSort.selectionSort(a, from, to);
+    }
+
+    @Override
+    public void sort(long[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        for (int i = from; i < to - 1; i++) {
+            int minimumIndex = i;
+            for (int j = i + 1; j < to; j++) {
+                if (a[minimumIndex] > a[j]) {
+                    minimumIndex = j;
+                }
+            }
+            long temp = a[i];
+            a[i] = a[minimumIndex];
+            a[minimumIndex] = temp;
+        }
+    }
+
+    @Override
+    public void sort(double[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        for (int i = from; i < to - 1; i++) {
+            int minimumIndex = i;
+            for (int j = i + 1; j < to; j++) {
+                if (Double.compare(a[minimumIndex], a[j]) > 0) {
+                    minimumIndex = j;
+                }
+            }
+            double temp = a[i];
+            a[i] = a[minimumIndex];
+            a[minimumIndex] = temp;
+        }
+    }
+
+    @Override
+    public <T extends Comparable<? super T>> void sort(T[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        for (int i = from; i < to - 1; i++) {
+            int minimumIndex = i;
+            for (int j = i + 1; j < to; j++) {
+                if (a[minimumIndex].compareTo(a[j]) > 0) {
+                    minimumIndex = j;
+                }
+            }
+            T temp = a[i];
+            a[i] = a[minimumIndex];
+            a[minimumIndex] = temp;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * A common interface over the sorting algorithms of this module, so they can
+ * be used interchangeably by callers and by the benchmark harness.
+ *
+ * Every engine sorts half-open ranges [from, to) in ascending order and has
+ * specializations for int[], long[], double[] and Comparable[] keys, so
+ * primitive arrays are never boxed. double[] keys follow the ordering of
+ * {@link Double#compare}: -0.0 sorts before 0.0 and NaN sorts last.
+ *
+ * Implementations:
+ * - {@link SelectionSorter} wraps SelectionSort_1.
+ * - {@link BubbleSorter} wraps BubbleSort_2.
+ * - {@link InsertionSorter} wraps InsertionSort_3.
+ * - {@link MergeSorter} wraps MergeSort_4 (stable).
+ * - {@link QuickSorter} wraps QuickSort_5.
+ * - {@link RadixSorter} wraps RadixSort_6 (stable).
+ * - {@link TimSorter} wraps TimSort_7 (stable).
+ *
+ * {@link SorterRegistry} looks engines up by name and picks the fastest one
+ * for an input profile.
+ */
+public interface Sorter {
+
+    /**
+     * @return A short, unique name of the engine.
+     */
+    String name();
+
+    /**
+     * @return True if equal keys keep their relative order.
+     */
+    boolean isStable();
+
+    /**
+     * Sorts the range a[from...to-1].
+     *
+     * @param a    The array containing the range to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     */
+    void sort(int[] a, int from, int to);
+
+    /**
+     * Sorts the range a[from...to-1].
+     *
+     * @param a    The array containing the range to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     */
+    void sort(long[] a, int from, int to);
+
+    /**
+     * Sorts the range a[from...to-1].
+     *
+     * @param a    The array containing the range to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     */
+    void sort(double[] a, int from, int to);
+
+    /**
+     * Sorts the range a[from...to-1] by the natural order of its elements.
+     *
+     * @param a    The array containing the range to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     */
+    <T extends Comparable<? super T>> void sort(T[] a, int from, int to);
+
+    default void sort(int[] a) {
+        sort(a, 0, a.length);
+    }
+
+    default void sort(long[] a) {
+        sort(a, 0, a.length);
+    }
+
+    default void sort(double[] a) {
+        sort(a, 0, a.length);
+    }
+
+    default <T extends Comparable<? super T>> void sort(T[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * Validates a range the same way {@link java.util.Arrays#sort(int[], int, int)} does.
+     *
+     * @param length The length of the array.
+     * @param from   The first index of the range (inclusive).
+     * @param to     The end of the range (exclusive).
+     * @throws IllegalArgumentException       If from > to.
+     * @throws ArrayIndexOutOfBoundsException If from < 0 or to > length.
+     */
+    static void checkRange(int length, int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from(" + from + ") > to(" + to + ")");
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (to > length) {
+            throw new ArrayIndexOutOfBoundsException(to);
+        }
+    }
+}
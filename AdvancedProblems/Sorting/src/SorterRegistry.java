@@ -0,0 +1,215 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Looks up {@link Sorter} engines by name and picks the fastest engine for
+ * the profile of an input.
+ *
+ * The profile is estimated from a fixed-size sample, so classifying an input
+ * costs O(1) regardless of its length:
+ * - SMALL - at most {@link #SMALL_LIMIT} elements.
+ * - NEARLY_SORTED - almost no descents between sampled neighbours.
+ * - FEW_UNIQUES - only a handful of distinct values in the sample.
+ * - RANDOM - everything else.
+ *
+ * The defaults, with SortingBenchmark figures at one million ints:
+ * - SMALL - insertion sort.
+ * - NEARLY_SORTED - TimSort, which merges the runs already in the input; 4x
+ *   to 7x faster than merge sort with up to 1% of the elements displaced.
+ * - FEW_UNIQUES - introsort, whose three-way partition settles runs of equal
+ *   keys in one pass.
+ * - RANDOM - LSD radix sort, about 8x faster than introsort.
+ * Callers that measure their own workloads can override the choice with
+ * {@link #setFastest}.
+ */
+public class SorterRegistry {
+
+    /**
+     * The shape of an input, as far as choosing a sort is concerned.
+     */
+    public enum InputProfile {
+        SMALL, NEARLY_SORTED, FEW_UNIQUES, RANDOM
+    }
+
+    /**
+     * Ranges up to this length are classified as SMALL.
+     */
+    static final int SMALL_LIMIT = 32;
+
+    /**
+     * Number of neighbouring pairs inspected to estimate the profile.
+     */
+    static final int SAMPLE_SIZE = 64;
+
+    /**
+     * At most this many descents among the sampled pairs counts as nearly sorted.
+     */
+    static final int NEARLY_SORTED_DESCENTS = SAMPLE_SIZE / 16;
+
+    /**
+     * At most this many distinct values among the sampled elements counts as
+     * few uniques.
+     */
+    static final int FEW_UNIQUES_DISTINCT = SAMPLE_SIZE / 8;
+
+    private final Map<String, Sorter> sorters = new LinkedHashMap<>();
+    private final Map<InputProfile, Sorter> fastest = new EnumMap<>(InputProfile.class);
+
+    /**
+     * Creates a registry holding every engine of the Sorting module, with the
+     * default engine for each profile.
+     */
+    public SorterRegistry() {
+        register(new SelectionSorter());
+        register(new BubbleSorter());
+        register(new InsertionSorter());
+        register(new MergeSorter());
+        register(new QuickSorter());
+        register(new RadixSorter());
+        register(new TimSorter());
+
+        setFastest(InputProfile.SMALL, "insertion");
+        setFastest(InputProfile.NEARLY_SORTED, "tim");
+        setFastest(InputProfile.FEW_UNIQUES, "quick");
+        setFastest(InputProfile.RANDOM, "radix");
+    }
+
+    /**
+     * Adds an engine, replacing any engine with the same name.
+     *
+     * @param sorter The engine to add.
+     */
+    public void register(Sorter sorter) {
+        sorters.put(sorter.name(), sorter);
+    }
+
+    /**
+     * @return Every registered engine, in registration order.
+     */
+    public Collection<Sorter> sorters() {
+        return Collections.unmodifiableCollection(sorters.values());
+    }
+
+    /**
+     * Returns the engine with the given name.
+     *
+     * @param name The engine name.
+     * @return The engine.
+     * @throws IllegalArgumentException If no engine has that name.
+     */
+    public Sorter get(String name) {
+        Sorter sorter = sorters.get(name);
+        if (sorter == null) {
+            throw new IllegalArgumentException("Unknown sorter: " + name + ", known: " + sorters.keySet());
+        }
+        return sorter;
+    }
+
+    /**
+     * Records the engine that should be used for a profile.
+     *
+     * @param profile The input profile.
+     * @param name    The name of a registered engine.
+     */
+    public void setFastest(InputProfile profile, String name) {
+        fastest.put(profile, get(name));
+    }
+
+    /**
+     * @param profile The input profile.
+     * @return The engine used for that profile.
+     */
+    public Sorter fastest(InputProfile profile) {
+        return fastest.get(profile);
+    }
+
+    /**
+     * Returns the engine to use for the range a[from...to-1].
+     *
+     * @param a    The array containing the range.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     * @return The fastest engine for the profile of the range.
+     */
+    public Sorter forInput(int[] a, int from, int to) {
+        return fastest(profile(a, from, to));
+    }
+
+    /**
+     * Sorts the whole array with the fastest engine for its profile.
+     *
+     * @param a The array to sort.
+     */
+    public void sort(int[] a) {
+        forInput(a, 0, a.length).sort(a);
+    }
+
+    /**
+     * Estimates the profile of a[from...to-1] from up to {@link #SAMPLE_SIZE}
+     * evenly spaced neighbouring pairs.
+     *
+     * @param a    The array containing the range.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     * @return The estimated profile.
+     */
+    public static InputProfile profile(int[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        int n = to - from;
+        if (n <= SMALL_LIMIT) {
+            return InputProfile.SMALL;
+        }
+
+        int step = Math.max(1, (n - 1) / SAMPLE_SIZE);
+        int[] sample = new int[SAMPLE_SIZE];
+        int samples = 0;
+        int descents = 0;
+        for (int i = from; i + 1 < to && samples < SAMPLE_SIZE; i += step) {
+            if (a[i] > a[i + 1]) {
+                descents++;
+            }
+            sample[samples++] = a[i];
+        }
+        if (descents <= NEARLY_SORTED_DESCENTS) {
+            return InputProfile.NEARLY_SORTED;
+        }
+
+        // The sample is tiny, so counting distinct values after sorting it is cheap.
+        QuickSort_5.insertionSort(sample, 0, samples - 1);
+        int distinct = 1;
+        for (int i = 1; i < samples; i++) {
+            if (sample[i] != sample[i - 1]) {
+                distinct++;
+            }
+        }
+        return distinct <= FEW_UNIQUES_DISTINCT ? InputProfile.FEW_UNIQUES : InputProfile.RANDOM;
+    }
+
+    public static void main(String[] args) {
+        SorterRegistry registry = new SorterRegistry();
+
+        long[] longs = { 5_000_000_000L, -3, 42, 7, -3 };
+        registry.get("merge").sort(longs);
+        System.out.println("Sorted longs (merge): " + Arrays.toString(longs));
+
+        double[] doubles = { 2.5, Double.NaN, -0.0, 0.0, -1.5 };
+        registry.get("quick").sort(doubles);
+        System.out.println("Sorted doubles (quick): " + Arrays.toString(doubles));
+
+        String[] words = { "pear", "apple", "fig", "banana" };
+        registry.get("insertion").sort(words, 1, 4);
+        System.out.println("Sorted words[1...3] (insertion): " + Arrays.toString(words));
+
+        int[] nums = new int[1000];
+        for (int i = 0; i < nums.length; i++) {
+            nums[i] = i % 100 == 0 ? -i : i;
+        }
+        Sorter sorter = registry.forInput(nums, 0, nums.length);
+        sorter.sort(nums);
+        System.out.println("Profile " + profile(nums, 0, nums.length) + " after sorting with " + sorter.name());
+    }
+}
@@ -0,0 +1,121 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A branchless small-array sorting kernel based on sorting networks, used as
+ * the base case of {@link QuickSort_5} and {@link MergeSort_4}.
+ *
+ * A sorting network is a fixed sequence of compare-exchange operations
+ * (i, j) that sorts any input of its size. Each compare-exchange is written
+ * as nums[i] = min(a, b), nums[j] = max(a, b), which the JIT compiles to
+ * conditional moves, so unlike insertion sort there are no data-dependent
+ * branches to mispredict on random input.
+ *
+ * The networks are Batcher's odd-even merge sort for the next power of two,
+ * generated once per size. Comparators that touch an index >= n are dropped:
+ * they would only ever compare against padding elements of +infinity, which
+ * never move.
+ *
+ * Comparators per size: 8 -> 19 (optimal), 16 -> 63, 32 -> 191.
+ *
+ * Time Complexity: O(n log^2 n) comparators, a constant for each size.
+ * Space Complexity: O(1)
+ */
+public class SortingNetwork {
+
+    /**
+     * The largest range the kernel sorts.
+     */
+    public static final int MAX_SIZE = 32;
+
+    /**
+     * NETWORKS[n] holds the comparator pairs of the network for n elements,
+     * flattened as i0, j0, i1, j1, ...
+     */
+    private static final int[][] NETWORKS = new int[MAX_SIZE + 1][];
+
+    static {
+        for (int n = 0; n <= MAX_SIZE; n++) {
+            NETWORKS[n] = oddEvenMergeNetwork(n);
+        }
+    }
+
+    /**
+     * Builds Batcher's odd-even merge sort network for n elements.
+     *
+     * @param n The number of elements.
+     * @return The comparator pairs, flattened.
+     */
+    private static int[] oddEvenMergeNetwork(int n) {
+        int size = 1;
+        while (size < n) {
+            size <<= 1;
+        }
+
+        List<Integer> pairs = new ArrayList<>();
+        for (int blockSize = 1; blockSize < size; blockSize <<= 1) {
+            for (int distance = blockSize; distance >= 1; distance >>= 1) {
+                for (int start = distance % blockSize; start < size - distance; start += 2 * distance) {
+                    for (int offset = 0; offset < Math.min(distance, size - start - distance); offset++) {
+                        int i = start + offset;
+                        int j = i + distance;
+                        // Only compare elements that belong to the same pair of merged blocks.
+                        if (i / (2 * blockSize) == j / (2 * blockSize) && j < n) {
+                            pairs.add(i);
+                            pairs.add(j);
+                        }
+                    }
+                }
+            }
+        }
+
+        int[] network = new int[pairs.size()];
+        for (int i = 0; i < network.length; i++) {
+            network[i] = pairs.get(i);
+        }
+        return network;
+    }
+
+    /**
+     * Sorts the range nums[from...to-1] with the sorting network for its size.
+     *
+     * @param nums The array containing the range to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive), at most MAX_SIZE after from.
+     */
+    public static void sort(int[] nums, int from, int to) {
+        int n = to - from;
+        if (n > MAX_SIZE) {
+            throw new IllegalArgumentException("Sorting networks cover at most " + MAX_SIZE + " elements, got " + n);
+        }
+        int[] network = NETWORKS[Math.max(n, 0)];
+        for (int c = 0; c < network.length; c += 2) {
+            int i = from + network[c];
+            int j = from + network[c + 1];
+            int a = nums[i];
+            int b = nums[j];
+            nums[i] = Math.min(a, b);
+            nums[j] = Math.max(a, b);
+        }
+    }
+
+    /**
+     * Returns the number of compare-exchange operations used for n elements.
+     *
+     * @param n The number of elements, at most MAX_SIZE.
+     * @return The size of the network.
+     */
+    public static int comparators(int n) {
+        return NETWORKS[n].length / 2;
+    }
+
+    public static void main(String[] args) {
+        int[] nums = { 13, 46, 24, 52, 20, 9, 7, 31 };
+        SortingNetwork.sort(nums, 0, nums.length);
+        System.out.print("Sorted Array: ");
+        HelperFunctions.printArray(nums);
+        for (int n = 4; n <= MAX_SIZE; n <<= 1) {
+            System.out.println("Comparators for " + n + " elements: " + comparators(n));
+        }
+    }
+}
@@ -0,0 +1,596 @@
+/**
+ * A Java program to demonstrate an adaptive, TimSort-style Merge Sort.
+ *
+ * MergeSort_4 always splits the array down to single elements, so it performs
+ * about log2(n) merge levels even when the input is already sorted. TimSort
+ * instead exploits the order that is already there:
+ * 1. Run detection - The array is scanned for natural runs: non-descending
+ *    runs are kept, strictly descending runs are reversed in place (strictness
+ *    keeps the sort stable).
+ * 2. Short runs - Runs shorter than minRun (between 16 and 32 elements) are
+ *    extended with {@link InsertionSort_3#binaryInsertionSort}.
+ * 3. Balanced merging - Runs are pushed on a stack and merged while the
+ *    stack violates runLen[i - 2] > runLen[i - 1] + runLen[i] and
+ *    runLen[i - 1] > runLen[i], so merges stay balanced.
+ * 4. Galloping - A merge first gallops to skip the prefix of the left run and
+ *    the suffix of the right run that are already in place, then copies only
+ *    the shorter remaining run into a scratch buffer. When one run keeps
+ *    winning, the merge switches from one-by-one comparisons to exponential
+ *    search and copies whole blocks at once.
+ *
+ * Time Complexity:
+ * - Best Case: O(n) when the input consists of a few long runs (sorted,
+ *   reversed, or sorted with a few late arrivals).
+ * - Worst Case: O(n log n).
+ *
+ * Space Complexity: O(n) in the worst case, usually much less since only the
+ * shorter run of each merge is buffered.
+ */
+public class TimSort_7 {
+
+    /**
+     * Ranges shorter than this are sorted with binary insertion sort alone;
+     * it is also the upper bound of minRun.
+     */
+    static final int MIN_MERGE = 32;
+
+    /**
+     * Number of consecutive wins of one run after which a merge starts
+     * galloping.
+     */
+    static final int MIN_GALLOP = 7;
+
+    /**
+     * Maximum depth of the run stack. Thanks to the stack invariant run lengths
+     * grow at least like Fibonacci numbers, so 49 runs cover any int length.
+     */
+    private static final int MAX_STACK_SIZE = 49;
+
+    /**
+     * Sorts the array using TimSort.
+     *
+     * @param nums The unsorted array of integers.
+     * @return The sorted array.
+     */
+    public int[] timSort(int[] nums) {
+        return timSort(nums, 0, nums.length);
+    }
+
+    /**
+     * Sorts the range nums[from...to-1] using TimSort.
+     *
+     * @param nums The array containing the range to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to   The end of the range (exclusive).
+     * @return The array, with the range sorted.
+     */
+    public int[] timSort(int[] nums, int from, int to) {
+        int remaining = to - from;
+        if (remaining < 2) {
+            return nums;
+        }
+
+        if (remaining < MIN_MERGE) {
+            int runLength = countRunAndMakeAscending(nums, from, to);
+            InsertionSort_3.binaryInsertionSort(nums, from, from + runLength, to);
+            return nums;
+        }
+
+        MergeState state = new MergeState(nums, remaining);
+        int minRun = minRunLength(remaining);
+        int low = from;
+        do {
+            int runLength = countRunAndMakeAscending(nums, low, to);
+            if (runLength < minRun) {
+                int forced = Math.min(remaining, minRun);
+                InsertionSort_3.binaryInsertionSort(nums, low, low + runLength, low + forced);
+                runLength = forced;
+            }
+
+            state.pushRun(low, runLength);
+            state.mergeCollapse();
+
+            low += runLength;
+            remaining -= runLength;
+        } while (remaining != 0);
+
+        state.mergeForceCollapse();
+        return nums;
+    }
+
+    /**
+     * Returns the minimum run length for an array of length n: n itself if it
+     * is below MIN_MERGE, otherwise a value k in [MIN_MERGE / 2, MIN_MERGE]
+     * such that n / k is close to, but not above, a power of two. This keeps
+     * the final merges balanced.
+     *
+     * @param n The length of the range to sort.
+     * @return The minimum run length.
+     */
+    static int minRunLength(int n) {
+        int remainder = 0;
+        while (n >= MIN_MERGE) {
+            remainder |= n & 1;
+            n >>= 1;
+        }
+        return n + remainder;
+    }
+
+    /**
+     * Returns the length of the run starting at nums[low], reversing it first
+     * if it is strictly descending.
+     *
+     * @param nums The array being sorted.
+     * @param low  The first index of the run.
+     * @param high The end of the range (exclusive, > low).
+     * @return The length of the run.
+     */
+    static int countRunAndMakeAscending(int[] nums, int low, int high) {
+        int runHigh = low + 1;
+        if (runHigh == high) {
+            return 1;
+        }
+
+        if (nums[runHigh++] < nums[low]) {
+            while (runHigh < high && nums[runHigh] < nums[runHigh - 1]) {
+                runHigh++;
+            }
+            reverseRange(nums, low, runHigh);
+        } else {
+            while (runHigh < high && nums[runHigh] >= nums[runHigh - 1]) {
+                runHigh++;
+            }
+        }
+        return runHigh - low;
+    }
+
+    /**
+     * Reverses nums[low...high-1] in place.
+     */
+    private static void reverseRange(int[] nums, int low, int high) {
+        high--;
+        while (low < high) {
+            HelperFunctions.swap(nums, low++, high--);
+        }
+    }
+
+    /**
+     * Locates the position at which to insert key into the sorted range
+     * nums[base...base+length-1]; if the range contains elements equal to key,
+     * the position of the leftmost one is returned.
+     *
+     * The search gallops from base + hint in steps of 1, 3, 7, 15... and then
+     * binary-searches the last step, so it costs O(log d) comparisons where d
+     * is the distance from the hint to the answer.
+     *
+     * @param key    The value to locate.
+     * @param nums   The array to search.
+     * @param base   The first index of the range.
+     * @param length The length of the range (> 0).
+     * @param hint   The index, relative to base, where the search starts.
+     * @return k such that nums[base+k-1] < key <= nums[base+k].
+     */
+    static int gallopLeft(int key, int[] nums, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (key > nums[base + hint]) {
+            // Gallop right until nums[base+hint+lastOffset] < key <= nums[base+hint+offset].
+            int maxOffset = length - hint;
+            while (offset < maxOffset && key > nums[base + hint + offset]) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            // Gallop left until nums[base+hint-offset] < key <= nums[base+hint-lastOffset].
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && key <= nums[base + hint - offset]) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+
+        // Now nums[base+lastOffset] < key <= nums[base+offset]; binary-search the gap.
+        lastOffset++;
+        while (lastOffset < offset) {
+            int mid = lastOffset + ((offset - lastOffset) >>> 1);
+            if (key > nums[base + mid]) {
+                lastOffset = mid + 1;
+            } else {
+                offset = mid;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Like {@link #gallopLeft}, but if the range contains elements equal to
+     * key, the position after the rightmost one is returned.
+     *
+     * @param key    The value to locate.
+     * @param nums   The array to search.
+     * @param base   The first index of the range.
+     * @param length The length of the range (> 0).
+     * @param hint   The index, relative to base, where the search starts.
+     * @return k such that nums[base+k-1] <= key < nums[base+k].
+     */
+    static int gallopRight(int key, int[] nums, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (key < nums[base + hint]) {
+            // Gallop left until nums[base+hint-offset] <= key < nums[base+hint-lastOffset].
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && key < nums[base + hint - offset]) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        } else {
+            // Gallop right until nums[base+hint+lastOffset] <= key < nums[base+hint+offset].
+            int maxOffset = length - hint;
+            while (offset < maxOffset && key >= nums[base + hint + offset]) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        }
+
+        lastOffset++;
+        while (lastOffset < offset) {
+            int mid = lastOffset + ((offset - lastOffset) >>> 1);
+            if (key < nums[base + mid]) {
+                offset = mid;
+            } else {
+                lastOffset = mid + 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * The run stack, scratch buffer and galloping threshold of one sort.
+     */
+    private static class MergeState {
+        private final int[] nums;
+        private final int length;
+        private final int[] runBase = new int[MAX_STACK_SIZE];
+        private final int[] runLength = new int[MAX_STACK_SIZE];
+        private int stackSize = 0;
+        private int[] buffer = new int[0];
+
+        /**
+         * Adapts to the data: lowered while galloping pays off, raised when it
+         * does not.
+         */
+        private int minGallop = MIN_GALLOP;
+
+        MergeState(int[] nums, int length) {
+            this.nums = nums;
+            this.length = length;
+        }
+
+        void pushRun(int base, int length) {
+            runBase[stackSize] = base;
+            runLength[stackSize] = length;
+            stackSize++;
+        }
+
+        /**
+         * Merges runs until the stack invariants hold again:
+         * runLength[i - 2] > runLength[i - 1] + runLength[i] and
+         * runLength[i - 1] > runLength[i]. Checks the top four runs, which
+         * is needed for the invariant to hold for the whole stack.
+         */
+        void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if ((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+                        || (n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1])) {
+                    if (runLength[n - 1] < runLength[n + 1]) {
+                        n--;
+                    }
+                } else if (runLength[n] > runLength[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges every remaining run; called once at the end of the sort.
+         */
+        void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges the runs at stack positions i and i + 1.
+         */
+        private void mergeAt(int i) {
+            int base1 = runBase[i];
+            int length1 = runLength[i];
+            int base2 = runBase[i + 1];
+            int length2 = runLength[i + 1];
+
+            runLength[i] = length1 + length2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLength[i + 1] = runLength[i + 2];
+            }
+            stackSize--;
+
+            // Elements of run 1 that are <= the first element of run 2 are already in place.
+            int skipped = gallopRight(nums[base2], nums, base1, length1, 0);
+            base1 += skipped;
+            length1 -= skipped;
+            if (length1 == 0) {
+                return;
+            }
+
+            // Elements of run 2 that are >= the last element of run 1 are already in place.
+            length2 = gallopLeft(nums[base1 + length1 - 1], nums, base2, length2, length2 - 1);
+            if (length2 == 0) {
+                return;
+            }
+
+            if (length1 <= length2) {
+                mergeLow(base1, length1, base2, length2);
+            } else {
+                mergeHigh(base1, length1, base2, length2);
+            }
+        }
+
+        /**
+         * Merges two adjacent runs left to right, buffering the first (shorter)
+         * one. nums[base1] is known to be greater than nums[base2], and the last
+         * element of run 1 greater than every element of run 2.
+         */
+        private void mergeLow(int base1, int length1, int base2, int length2) {
+            int[] nums = this.nums;
+            int[] buffer = ensureCapacity(length1);
+            System.arraycopy(nums, base1, buffer, 0, length1);
+            int cursor1 = 0;
+            int cursor2 = base2;
+            int dest = base1;
+
+            nums[dest++] = nums[cursor2++];
+            if (--length2 == 0) {
+                System.arraycopy(buffer, cursor1, nums, dest, length1);
+                return;
+            }
+            if (length1 == 1) {
+                System.arraycopy(nums, cursor2, nums, dest, length2);
+                nums[dest + length2] = buffer[cursor1];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0;
+                int count2 = 0;
+
+                // One element at a time until one run wins minGallop times in a row.
+                do {
+                    if (nums[cursor2] < buffer[cursor1]) {
+                        nums[dest++] = nums[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (--length2 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        nums[dest++] = buffer[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (--length1 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // Gallop while it keeps moving blocks of at least MIN_GALLOP elements.
+                do {
+                    count1 = gallopRight(nums[cursor2], buffer, cursor1, length1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(buffer, cursor1, nums, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        length1 -= count1;
+                        if (length1 <= 1) {
+                            break outer;
+                        }
+                    }
+                    nums[dest++] = nums[cursor2++];
+                    if (--length2 == 0) {
+                        break outer;
+                    }
+
+                    count2 = gallopLeft(buffer[cursor1], nums, cursor2, length2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(nums, cursor2, nums, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        length2 -= count2;
+                        if (length2 == 0) {
+                            break outer;
+                        }
+                    }
+                    nums[dest++] = buffer[cursor1++];
+                    if (--length1 == 1) {
+                        break outer;
+                    }
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+
+                // Galloping stopped paying off: make it harder to re-enter.
+                minGallop = Math.max(minGallop, 0) + 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (length1 == 1) {
+                System.arraycopy(nums, cursor2, nums, dest, length2);
+                nums[dest + length2] = buffer[cursor1];
+            } else {
+                System.arraycopy(buffer, cursor1, nums, dest, length1);
+            }
+        }
+
+        /**
+         * Merges two adjacent runs right to left, buffering the second
+         * (shorter) one. Mirror image of {@link #mergeLow}.
+         */
+        private void mergeHigh(int base1, int length1, int base2, int length2) {
+            int[] nums = this.nums;
+            int[] buffer = ensureCapacity(length2);
+            System.arraycopy(nums, base2, buffer, 0, length2);
+            int cursor1 = base1 + length1 - 1;
+            int cursor2 = length2 - 1;
+            int dest = base2 + length2 - 1;
+
+            nums[dest--] = nums[cursor1--];
+            if (--length1 == 0) {
+                System.arraycopy(buffer, 0, nums, dest - (length2 - 1), length2);
+                return;
+            }
+            if (length2 == 1) {
+                dest -= length1;
+                cursor1 -= length1;
+                System.arraycopy(nums, cursor1 + 1, nums, dest + 1, length1);
+                nums[dest] = buffer[cursor2];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0;
+                int count2 = 0;
+
+                do {
+                    if (buffer[cursor2] < nums[cursor1]) {
+                        nums[dest--] = nums[cursor1--];
+                        count1++;
+                        count2 = 0;
+                        if (--length1 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        nums[dest--] = buffer[cursor2--];
+                        count2++;
+                        count1 = 0;
+                        if (--length2 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = length1 - gallopRight(buffer[cursor2], nums, base1, length1, length1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        length1 -= count1;
+                        System.arraycopy(nums, cursor1 + 1, nums, dest + 1, count1);
+                        if (length1 == 0) {
+                            break outer;
+                        }
+                    }
+                    nums[dest--] = buffer[cursor2--];
+                    if (--length2 == 1) {
+                        break outer;
+                    }
+
+                    count2 = length2 - gallopLeft(nums[cursor1], buffer, 0, length2, length2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        length2 -= count2;
+                        System.arraycopy(buffer, cursor2 + 1, nums, dest + 1, count2);
+                        if (length2 <= 1) {
+                            break outer;
+                        }
+                    }
+                    nums[dest--] = nums[cursor1--];
+                    if (--length1 == 0) {
+                        break outer;
+                    }
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+
+                minGallop = Math.max(minGallop, 0) + 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (length2 == 1) {
+                dest -= length1;
+                cursor1 -= length1;
+                System.arraycopy(nums, cursor1 + 1, nums, dest + 1, length1);
+                nums[dest] = buffer[cursor2];
+            } else {
+                System.arraycopy(buffer, 0, nums, dest - (length2 - 1), length2);
+            }
+        }
+
+        /**
+         * Returns a scratch buffer of at least minCapacity elements, growing
+         * it geometrically (but never beyond half the range) to limit
+         * reallocations.
+         */
+        private int[] ensureCapacity(int minCapacity) {
+            if (buffer.length < minCapacity) {
+                int capacity = Integer.highestOneBit(minCapacity) << 1;
+                if (capacity < 0 || capacity > length / 2) {
+                    capacity = Math.max(minCapacity, length / 2);
+                }
+                buffer = new int[capacity];
+            }
+            return buffer;
+        }
+    }
+
+    public static void main(String[] args) {
+        TimSort_7 timSort_7 = new TimSort_7();
+        int[] nums = { 1, 2, 3, 4, 10, 5, 6, 7, 8, 9, 2, 11, 12, 13, 14, 15 };
+        timSort_7.timSort(nums);
+        System.out.print("Sorted Array: ");
+        HelperFunctions.printArray(nums);
+
+        int[] large = new int[100];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = i % 10 == 0 ? large.length - i : i;
+        }
+        timSort_7.timSort(large);
+        System.out.print("Sorted Array (late arrivals): ");
+        HelperFunctions.printArray(large);
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * {@link Sorter} engine wrapping {@link TimSort_7#timSort}.
+ *
+ * TimSort merges the natural runs already in the input, so it is the fastest
+ * engine for nearly sorted ranges: in SortingBenchmark at one million ints
+ * with up to 1% of the elements displaced it is 4x to 7x faster than
+ * mergeSortOptimal.
+ *
+ * TimSort_7 sorts int keys only. long[], double[] and Comparable[] keys are
+ * sorted by {@link MergeSorter}, which is stable too and also finishes sorted
+ * input in O(n), since it skips merges of halves that are already in order.
+ *
+ * Time Complexity: O(n log n), O(n) on input made of a few long runs.
+ * Space Complexity: O(n)
+ */
+public class TimSorter implements Sorter {
+
+    private final TimSort_7 timSort = new TimSort_7();
+    private final MergeSorter mergeSorter = new MergeSorter();
+
+    @Override
+    public String name() {
+        return "tim";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    @Override
+    public void sort(int[] a, int from, int to) {
+        Sorter.checkRange(a.length, from, to);
+        timSort.timSort(a, from, to);
+    }
+
+    @Override
+    public void sort(long[] a, int from, int to) {
+        mergeSorter.sort(a, from, to);
+    }
+
+    @Override
+    public void sort(double[] a, int from, int to) {
+        mergeSorter.sort(a, from, to);
+    }
+
+    @Override
+    public <T extends Comparable<? super T>> void sort(T[] a, int from, int to) {
+        mergeSorter.sort(a, from, to);
+    }
+}